@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Counts the exploded edges computed by the synthetic flow functions and samples the number of
+ * bytes allocated by the threads computing them. Solvers run their flow functions on worker
+ * threads that may terminate before the measurement ends, so each thread records its own
+ * allocation every few calls instead of being queried at the end. The allocation counted for
+ * a thread is therefore slightly underestimated.
+ */
+public final class EdgeStatistics {
+
+	//a thread samples its allocated bytes every SAMPLE_INTERVAL calls
+	private static final int SAMPLE_INTERVAL = 64;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static final ConcurrentLinkedQueue<ThreadStatistics> threads = new ConcurrentLinkedQueue<ThreadStatistics>();
+
+	private static final ThreadLocal<ThreadStatistics> current = new ThreadLocal<ThreadStatistics>() {
+		@Override
+		protected ThreadStatistics initialValue() {
+			return new ThreadStatistics();
+		}
+	};
+
+	private static volatile int epoch = 0;
+
+	private static class ThreadStatistics {
+		private int epoch = -1;
+		private long edges;
+		private int calls;
+		private long allocatedAtStart;
+		private long allocated;
+	}
+
+	private EdgeStatistics() {
+	}
+
+	/**
+	 * Records that the current thread computed the given number of exploded edges.
+	 */
+	public static void record(int edges) {
+		ThreadStatistics stats = current.get();
+		int currentEpoch = epoch;
+		if(stats.epoch != currentEpoch) {
+			stats.epoch = currentEpoch;
+			stats.edges = 0;
+			stats.calls = 0;
+			stats.allocatedAtStart = allocatedBytesOfCurrentThread();
+			stats.allocated = 0;
+			threads.add(stats);
+		}
+		stats.edges += edges;
+		if(++stats.calls % SAMPLE_INTERVAL == 0)
+			stats.allocated = allocatedBytesOfCurrentThread() - stats.allocatedAtStart;
+	}
+
+	private static long allocatedBytesOfCurrentThread() {
+		return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Starts a new measurement, discarding all previous records.
+	 */
+	public static void reset() {
+		threads.clear();
+		epoch++;
+	}
+
+	/**
+	 * Returns the number of exploded edges recorded since the last {@link #reset()}.
+	 * Must only be called while no solver is running.
+	 */
+	public static long edges() {
+		long edges = 0;
+		for(ThreadStatistics stats: threads)
+			edges += stats.edges;
+		return edges;
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the threads that recorded edges since the last
+	 * {@link #reset()}. Must only be called while no solver is running.
+	 */
+	public static long allocatedBytes() {
+		long allocated = 0;
+		for(ThreadStatistics stats: threads)
+			allocated += stats.allocated;
+		return allocated;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the number of bytes allocated per exploded edge, as recorded by {@link EdgeStatistics}.
+ */
+public class EdgeStatisticsProfiler implements InternalProfiler {
+
+	public String getDescription() {
+		return "Allocation per exploded edge computed by the synthetic flow functions";
+	}
+
+	public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+		EdgeStatistics.reset();
+	}
+
+	public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+		long edges = EdgeStatistics.edges();
+		double bytesPerEdge = edges == 0 ? Double.NaN : (double) EdgeStatistics.allocatedBytes() / edges;
+		return Collections.singleton(new ScalarResult("alloc.bytes/edge", bytesPerEdge, "B/edge", AggregationPolicy.AVG));
+	}
+
+}
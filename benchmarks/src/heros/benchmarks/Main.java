@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the solver benchmarks with the {@link EdgeStatisticsProfiler} enabled.
+ * Accepts the usual JMH command-line options.
+ */
+public class Main {
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder()
+				.parent(cmdOptions)
+				.addProfiler(EdgeStatisticsProfiler.class)
+				.build()).run();
+	}
+
+}
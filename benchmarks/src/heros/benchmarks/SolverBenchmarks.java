@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.InterproceduralCFG;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+import heros.fieldsens.FactMergeHandler;
+import heros.fieldsens.FieldSensitiveIFDSSolver;
+import heros.fieldsens.Scheduler;
+import heros.solver.BiDiIFDSSolver;
+import heros.solver.IDESolver;
+import heros.solver.IFDSSolver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solves synthetic problems on a {@link SyntheticICFG} with each of the solvers.
+ *
+ * Besides the number of solver runs per second, each benchmark reports the number of exploded
+ * edges computed per second (the "edges" counter) and, if run through {@link Main}, the number
+ * of bytes allocated per edge (the "alloc.bytes/edge" counter).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SolverBenchmarks {
+
+	@Param("50")
+	public int methods;
+
+	@Param("20")
+	public int stmtsPerMethod;
+
+	@Param("6")
+	public int callDepth;
+
+	@Param("3")
+	public int fanOut;
+
+	@Param("0.05")
+	public double recursion;
+
+	@Param("16")
+	public int domainSize;
+
+	@Param("8")
+	public int latticeHeight;
+
+	@Param("4")
+	public int numFields;
+
+	@Param("1")
+	public int threads;
+
+	private SyntheticICFG icfg;
+
+	private Stmt seed;
+
+	/**
+	 * Counts the exploded edges computed during the measurement.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class EdgeCounter {
+		public long edges;
+
+		private long edgesAtStart;
+
+		private void start() {
+			edgesAtStart = EdgeStatistics.edges();
+		}
+
+		private void stop() {
+			edges += EdgeStatistics.edges() - edgesAtStart;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createGraph() {
+		icfg = new SyntheticICFG(methods, stmtsPerMethod, callDepth, fanOut, recursion, 42);
+		seed = icfg.getStartPointsOf(icfg.entryMethod()).iterator().next();
+	}
+
+	@Benchmark
+	public Object ifds(EdgeCounter counter) {
+		counter.start();
+		IFDSSolver<Stmt, Integer, Method, InterproceduralCFG<Stmt, Method>> solver =
+				new IFDSSolver<Stmt, Integer, Method, InterproceduralCFG<Stmt, Method>>(new SyntheticIFDSProblem(icfg, domainSize, seed, threads, false));
+		solver.solve();
+		counter.stop();
+		return solver;
+	}
+
+	@Benchmark
+	public Object ide(EdgeCounter counter) {
+		counter.start();
+		IDESolver<Stmt, Integer, Method, Integer, InterproceduralCFG<Stmt, Method>> solver =
+				new IDESolver<Stmt, Integer, Method, Integer, InterproceduralCFG<Stmt, Method>>(new SyntheticIDEProblem(icfg, domainSize, latticeHeight, seed, threads));
+		solver.solve();
+		counter.stop();
+		return solver;
+	}
+
+	@Benchmark
+	public Object bidiIfds(EdgeCounter counter) {
+		counter.start();
+		//both directions start at the same statement in the middle of the entry method
+		Stmt middle = icfg.getSuccsOf(seed).get(0);
+		BiDiIFDSSolver<Stmt, SyntheticBiDiProblem.Fact, Method, InterproceduralCFG<Stmt, Method>> solver =
+				new BiDiIFDSSolver<Stmt, SyntheticBiDiProblem.Fact, Method, InterproceduralCFG<Stmt, Method>>(
+						new SyntheticBiDiProblem(icfg, domainSize, middle),
+						new SyntheticBiDiProblem(icfg.backward(), domainSize, middle));
+		solver.solve();
+		counter.stop();
+		return solver;
+	}
+
+	@Benchmark
+	public Object fieldSensitiveIfds(EdgeCounter counter) {
+		counter.start();
+		Scheduler scheduler = new Scheduler();
+		FieldSensitiveIFDSSolver<String, Integer, Stmt, Method, InterproceduralCFG<Stmt, Method>> solver =
+				new FieldSensitiveIFDSSolver<String, Integer, Stmt, Method, InterproceduralCFG<Stmt, Method>>(
+						new SyntheticFieldSensitiveProblem(icfg, domainSize, numFields, seed), new FactMergeHandler<Integer>() {
+							public void merge(Integer previousFact, Integer currentFact) {
+							}
+
+							public void restoreCallingContext(Integer factAtReturnSite, Integer factAtCallSite) {
+							}
+						}, null, scheduler);
+		scheduler.runAndAwaitCompletion();
+		counter.stop();
+		return solver;
+	}
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.DefaultSeeds;
+import heros.FlowFunction;
+import heros.FlowFunctions;
+import heros.InterproceduralCFG;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+import heros.solver.JoinHandlingNode;
+import heros.template.DefaultIFDSTabulationProblem;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link SyntheticIFDSProblem} for the bidirectional solver, which requires facts to
+ * implement {@link JoinHandlingNode}. The integer facts of {@link SyntheticFlowFunctions}
+ * are wrapped into canonical {@link Fact} instances that never join.
+ */
+public class SyntheticBiDiProblem extends DefaultIFDSTabulationProblem<Stmt, SyntheticBiDiProblem.Fact, Method, InterproceduralCFG<Stmt, Method>> {
+
+	public static class Fact implements JoinHandlingNode<Fact> {
+		private final int value;
+
+		private Fact(int value) {
+			this.value = value;
+		}
+
+		public boolean handleJoin(Fact joiningNode) {
+			return false;
+		}
+
+		public JoinKey createJoinKey() {
+			return new JoinKey(value);
+		}
+
+		public void setCallingContext(Fact callingContext) {
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(value);
+		}
+	}
+
+	private final Fact[] facts;
+	private final Stmt seed;
+
+	/**
+	 * @param icfg The graph to solve the problem on, possibly {@link SyntheticICFG#backward()}.
+	 * @param domainSize The number of facts, not counting the zero value.
+	 * @param seed The statement at which the analysis starts.
+	 */
+	public SyntheticBiDiProblem(InterproceduralCFG<Stmt, Method> icfg, int domainSize, Stmt seed) {
+		super(icfg);
+		this.facts = new Fact[domainSize + 1];
+		for(int i=0; i<facts.length; i++)
+			facts[i] = new Fact(i);
+		this.seed = seed;
+	}
+
+	private FlowFunction<Fact> wrap(final FlowFunction<Integer> function) {
+		return new FlowFunction<Fact>() {
+			public Set<Fact> computeTargets(Fact source) {
+				Set<Integer> targets = function.computeTargets(source.value);
+				if(targets.isEmpty())
+					return Collections.emptySet();
+				Set<Fact> res = new LinkedHashSet<Fact>();
+				for(Integer target: targets)
+					res.add(facts[target]);
+				return res;
+			}
+		};
+	}
+
+	@Override
+	protected FlowFunctions<Stmt, Fact, Method> createFlowFunctionsFactory() {
+		final SyntheticFlowFunctions delegate = new SyntheticFlowFunctions(facts.length - 1);
+		return new FlowFunctions<Stmt, Fact, Method>() {
+
+			public FlowFunction<Fact> getNormalFlowFunction(Stmt curr, Stmt succ) {
+				return wrap(delegate.getNormalFlowFunction(curr, succ));
+			}
+
+			public FlowFunction<Fact> getCallFlowFunction(Stmt callStmt, Method destinationMethod) {
+				return wrap(delegate.getCallFlowFunction(callStmt, destinationMethod));
+			}
+
+			public FlowFunction<Fact> getReturnFlowFunction(Stmt callSite, Method calleeMethod, Stmt exitStmt, Stmt returnSite) {
+				return wrap(delegate.getReturnFlowFunction(callSite, calleeMethod, exitStmt, returnSite));
+			}
+
+			public FlowFunction<Fact> getCallToReturnFlowFunction(Stmt callSite, Stmt returnSite) {
+				return wrap(delegate.getCallToReturnFlowFunction(callSite, returnSite));
+			}
+		};
+	}
+
+	@Override
+	protected Fact createZeroValue() {
+		return facts[SyntheticFlowFunctions.ZERO];
+	}
+
+	@Override
+	public Map<Stmt, Set<Fact>> initialSeeds() {
+		return DefaultSeeds.make(Collections.singleton(seed), zeroValue());
+	}
+
+	@Override
+	public boolean followReturnsPastSeeds() {
+		return true;
+	}
+
+}
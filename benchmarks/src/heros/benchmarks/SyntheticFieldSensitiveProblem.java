@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.InterproceduralCFG;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+import heros.fieldsens.AccessPath;
+import heros.fieldsens.AccessPathHandler;
+import heros.fieldsens.FlowFunction;
+import heros.fieldsens.FlowFunction.ConstrainedFact;
+import heros.fieldsens.FlowFunctions;
+import heros.fieldsens.IFDSTabulationProblem;
+import heros.fieldsens.ZeroHandler;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A field-sensitive variant of {@link SyntheticIFDSProblem}. The base facts 1..domainSize flow
+ * as defined by {@link SyntheticFlowFunctions}. In addition, some statements store a base fact
+ * into one of numFields fields of a heap fact domainSize+1..2*domainSize, and some load such a
+ * field back into the base fact.
+ */
+public class SyntheticFieldSensitiveProblem implements IFDSTabulationProblem<Stmt, String, Integer, Method, InterproceduralCFG<Stmt, Method>> {
+
+	private final InterproceduralCFG<Stmt, Method> icfg;
+	private final int domainSize;
+	private final SyntheticFlowFunctions facts;
+	private final String[] fields;
+	private final Stmt seed;
+
+	/**
+	 * @param icfg The graph to solve the problem on.
+	 * @param domainSize The number of facts, not counting the zero value.
+	 * @param numFields The number of distinct fields.
+	 * @param seed The statement at which the analysis starts.
+	 */
+	public SyntheticFieldSensitiveProblem(InterproceduralCFG<Stmt, Method> icfg, int domainSize, int numFields, Stmt seed) {
+		this.icfg = icfg;
+		this.domainSize = domainSize;
+		this.facts = new SyntheticFlowFunctions(domainSize);
+		this.fields = new String[numFields];
+		for(int i=0; i<numFields; i++)
+			fields[i] = "f" + i;
+		this.seed = seed;
+	}
+
+	private String fieldAt(Stmt stmt) {
+		return fields[(stmt.id() / 31) % fields.length];
+	}
+
+	private static Set<ConstrainedFact<String, Integer, Stmt, Method>> record(Set<ConstrainedFact<String, Integer, Stmt, Method>> targets) {
+		EdgeStatistics.record(targets.size());
+		return targets;
+	}
+
+	public FlowFunctions<Stmt, String, Integer, Method> flowFunctions() {
+		return new FlowFunctions<Stmt, String, Integer, Method>() {
+
+			public FlowFunction<String, Integer, Stmt, Method> getNormalFlowFunction(final Stmt curr) {
+				return new FlowFunction<String, Integer, Stmt, Method>() {
+					public Set<ConstrainedFact<String, Integer, Stmt, Method>> computeTargets(Integer source, AccessPathHandler<String, Integer, Stmt, Method> accPathHandler) {
+						Set<ConstrainedFact<String, Integer, Stmt, Method>> res = new LinkedHashSet<ConstrainedFact<String, Integer, Stmt, Method>>();
+						if(source.equals(zeroValue())) {
+							res.add(accPathHandler.generate(source));
+							Integer gen = facts.genFact(curr);
+							if(gen != null)
+								res.add(accPathHandler.generateWithEmptyAccessPath(gen, zeroHandler()));
+							return record(res);
+						}
+						if(source.equals(facts.killFact(curr)))
+							return record(res);
+						res.add(accPathHandler.generate(source));
+						if(source > domainSize) {
+							//a field of a heap fact is loaded into the corresponding base fact
+							if(curr.id() % 31 == 3 && accPathHandler.mayCanRead(fieldAt(curr)))
+								res.add(accPathHandler.read(fieldAt(curr)).generate(source - domainSize));
+							return record(res);
+						}
+						//a base fact is stored into a field of the corresponding heap fact; storing only facts without
+						//accesses keeps access paths short, even when stores and loads alternate in a loop
+						if(curr.id() % 31 == 1 && accPathHandler.mayBeEmpty())
+							res.add(accPathHandler.prepend(fieldAt(curr)).generate(domainSize + source));
+						Integer transferred = facts.transferredFact(curr, source);
+						if(transferred != null)
+							res.add(accPathHandler.generate(transferred));
+						return record(res);
+					}
+				};
+			}
+
+			public FlowFunction<String, Integer, Stmt, Method> getCallFlowFunction(Stmt callStmt, Method destinationMethod) {
+				return new FlowFunction<String, Integer, Stmt, Method>() {
+					public Set<ConstrainedFact<String, Integer, Stmt, Method>> computeTargets(Integer source, AccessPathHandler<String, Integer, Stmt, Method> accPathHandler) {
+						if(source.equals(zeroValue()) || SyntheticFlowFunctions.isPassedToCallees(source))
+							return record(Collections.singleton(accPathHandler.generate(source)));
+						return record(Collections.<ConstrainedFact<String, Integer, Stmt, Method>>emptySet());
+					}
+				};
+			}
+
+			public FlowFunction<String, Integer, Stmt, Method> getReturnFlowFunction(Stmt callSite, Method calleeMethod, Stmt exitStmt, Stmt returnSite) {
+				return new FlowFunction<String, Integer, Stmt, Method>() {
+					public Set<ConstrainedFact<String, Integer, Stmt, Method>> computeTargets(Integer source, AccessPathHandler<String, Integer, Stmt, Method> accPathHandler) {
+						return record(Collections.singleton(accPathHandler.generate(source)));
+					}
+				};
+			}
+
+			public FlowFunction<String, Integer, Stmt, Method> getCallToReturnFlowFunction(Stmt callSite, Stmt returnSite) {
+				return new FlowFunction<String, Integer, Stmt, Method>() {
+					public Set<ConstrainedFact<String, Integer, Stmt, Method>> computeTargets(Integer source, AccessPathHandler<String, Integer, Stmt, Method> accPathHandler) {
+						if(source.equals(zeroValue()) || !SyntheticFlowFunctions.isPassedToCallees(source))
+							return record(Collections.singleton(accPathHandler.generate(source)));
+						return record(Collections.<ConstrainedFact<String, Integer, Stmt, Method>>emptySet());
+					}
+				};
+			}
+		};
+	}
+
+	public InterproceduralCFG<Stmt, Method> interproceduralCFG() {
+		return icfg;
+	}
+
+	public Map<Stmt, Set<Integer>> initialSeeds() {
+		return Collections.singletonMap(seed, Collections.singleton(zeroValue()));
+	}
+
+	public Integer zeroValue() {
+		return SyntheticFlowFunctions.ZERO;
+	}
+
+	public ZeroHandler<String> zeroHandler() {
+		return new ZeroHandler<String>() {
+			public boolean shouldGenerateAccessPath(AccessPath<String> accPath) {
+				//only base facts are generated from zero
+				return false;
+			}
+		};
+	}
+
+	public boolean followReturnsPastSeeds() {
+		return false;
+	}
+
+	public boolean autoAddZero() {
+		return false;
+	}
+
+	public int numThreads() {
+		return 1;
+	}
+
+	public boolean computeValues() {
+		return false;
+	}
+
+	public boolean recordEdges() {
+		return false;
+	}
+
+}
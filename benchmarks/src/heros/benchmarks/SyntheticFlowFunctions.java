@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.FlowFunction;
+import heros.FlowFunctions;
+import heros.TwoElementSet;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Flow functions over the facts 1..domainSize, with 0 as zero value. Each flow function is
+ * derived deterministically from the statement it belongs to: some statements generate a fact
+ * from zero, some kill a fact, and some additionally transfer a fact into another one.
+ * Facts divisible by 3 play the role of locals; they are not passed into callees but flow
+ * along call-to-return edges instead.
+ *
+ * All flow functions report the number of computed targets to {@link EdgeStatistics}.
+ */
+public class SyntheticFlowFunctions implements FlowFunctions<Stmt, Integer, Method> {
+
+	public static final Integer ZERO = 0;
+
+	private final int domainSize;
+
+	public SyntheticFlowFunctions(int domainSize) {
+		this.domainSize = domainSize;
+	}
+
+	/**
+	 * Returns the fact generated at the given statement, or <code>null</code> if it does not generate one.
+	 */
+	public Integer genFact(Stmt stmt) {
+		return stmt.id() % 3 == 0 ? 1 + mix(stmt.id()) % domainSize : null;
+	}
+
+	/**
+	 * Returns the fact killed at the given statement, or <code>null</code> if it does not kill one.
+	 */
+	public Integer killFact(Stmt stmt) {
+		return stmt.id() % 2 == 0 ? 1 + mix(31 * stmt.id() + 7) % domainSize : null;
+	}
+
+	/**
+	 * Returns the fact into which the given fact is transferred at the given statement in addition
+	 * to flowing on, or <code>null</code> if it is not transferred.
+	 */
+	public Integer transferredFact(Stmt stmt, int fact) {
+		return (fact + stmt.id()) % 4 == 0 ? 1 + (7 * fact + stmt.id()) % domainSize : null;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given fact is passed into callees.
+	 */
+	public static boolean isPassedToCallees(int fact) {
+		return fact % 3 != 0;
+	}
+
+	private static int mix(int x) {
+		x ^= x >>> 16;
+		x *= 0x85ebca6b;
+		x ^= x >>> 13;
+		return x & Integer.MAX_VALUE;
+	}
+
+	private static Set<Integer> record(Set<Integer> targets) {
+		EdgeStatistics.record(targets.size());
+		return targets;
+	}
+
+	public FlowFunction<Integer> getNormalFlowFunction(final Stmt curr, Stmt succ) {
+		final Integer gen = genFact(curr);
+		final Integer kill = killFact(curr);
+		return new FlowFunction<Integer>() {
+			public Set<Integer> computeTargets(Integer source) {
+				if(source.equals(ZERO))
+					return record(gen == null ? Collections.singleton(source) : TwoElementSet.twoElementSet(source, gen));
+				if(source.equals(kill))
+					return record(Collections.<Integer>emptySet());
+				Integer transferred = transferredFact(curr, source);
+				if(transferred == null || transferred.equals(source))
+					return record(Collections.singleton(source));
+				return record(TwoElementSet.twoElementSet(source, transferred));
+			}
+		};
+	}
+
+	public FlowFunction<Integer> getCallFlowFunction(Stmt callStmt, Method destinationMethod) {
+		return new FlowFunction<Integer>() {
+			public Set<Integer> computeTargets(Integer source) {
+				if(source.equals(ZERO) || isPassedToCallees(source))
+					return record(Collections.singleton(source));
+				return record(Collections.<Integer>emptySet());
+			}
+		};
+	}
+
+	public FlowFunction<Integer> getReturnFlowFunction(Stmt callSite, Method calleeMethod, Stmt exitStmt, Stmt returnSite) {
+		return new FlowFunction<Integer>() {
+			public Set<Integer> computeTargets(Integer source) {
+				return record(Collections.singleton(source));
+			}
+		};
+	}
+
+	public FlowFunction<Integer> getCallToReturnFlowFunction(Stmt callSite, Stmt returnSite) {
+		return new FlowFunction<Integer>() {
+			public Set<Integer> computeTargets(Integer source) {
+				if(source.equals(ZERO) || !isPassedToCallees(source))
+					return record(Collections.singleton(source));
+				return record(Collections.<Integer>emptySet());
+			}
+		};
+	}
+
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.InterproceduralCFG;
+import heros.NumberedInterproceduralCFG;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A randomly generated, but reproducible interprocedural control-flow graph.
+ *
+ * Methods are arranged in call-depth levels. Method 0 is the only method on level 0 and
+ * serves as entry point; the remaining methods are spread evenly over the deeper levels.
+ * Each method consists of a sequence of statements with a few forward branches and one loop.
+ * Each method that is not on the deepest level contains fanOut call sites, each of which calls
+ * a method on the next level, or, with the given recursion probability, a method on the same
+ * or a higher level, which introduces recursion.
+ */
+public class SyntheticICFG implements NumberedInterproceduralCFG<SyntheticICFG.Stmt, SyntheticICFG.Method> {
+
+	public static class Method {
+		private final int index;
+		private final int level;
+		private final List<Stmt> stmts = new ArrayList<Stmt>();
+		private final Set<Stmt> callSites = new LinkedHashSet<Stmt>();
+		private final List<Stmt> callers = new ArrayList<Stmt>();
+
+		private Method(int index, int level) {
+			this.index = index;
+			this.level = level;
+		}
+
+		@Override
+		public String toString() {
+			return "m" + index;
+		}
+	}
+
+	public static class Stmt {
+		private final int id;
+		private final Method method;
+		private final int index;
+		private final List<Stmt> succs = new ArrayList<Stmt>(2);
+		private final List<Stmt> preds = new ArrayList<Stmt>(2);
+		private Method callee;
+
+		private Stmt(int id, Method method, int index) {
+			this.id = id;
+			this.method = method;
+			this.index = index;
+		}
+
+		/**
+		 * Returns the globally unique number of this statement.
+		 */
+		public int id() {
+			return id;
+		}
+
+		@Override
+		public String toString() {
+			return method + "." + index;
+		}
+	}
+
+	private final List<Method> methods = new ArrayList<Method>();
+
+	private final List<Stmt> stmts = new ArrayList<Stmt>();
+
+	/**
+	 * @param numMethods The number of methods.
+	 * @param stmtsPerMethod The number of statements per method.
+	 * @param callDepth The number of call-depth levels.
+	 * @param fanOut The number of call sites per method.
+	 * @param recursion The probability with which a call site calls a method on the same or a higher level.
+	 * @param seed The seed of the random generator.
+	 */
+	public SyntheticICFG(int numMethods, int stmtsPerMethod, int callDepth, int fanOut, double recursion, long seed) {
+		if(numMethods < 1 || callDepth < 1 || fanOut < 0)
+			throw new IllegalArgumentException("Invalid graph dimensions");
+		if(stmtsPerMethod < fanOut + 3)
+			throw new IllegalArgumentException("Each method needs at least fanOut + 3 statements");
+		Random random = new Random(seed);
+
+		List<List<Method>> levels = new ArrayList<List<Method>>();
+		for(int level=0; level<callDepth; level++)
+			levels.add(new ArrayList<Method>());
+		for(int i=0; i<numMethods; i++) {
+			int level = i==0 || callDepth==1 ? 0 : 1 + (int) ((long) (i - 1) * (callDepth - 1) / Math.max(1, numMethods - 1));
+			Method method = new Method(i, level);
+			methods.add(method);
+			levels.get(level).add(method);
+		}
+
+		for(Method method: methods)
+			createBody(method, stmtsPerMethod, fanOut, method.level < callDepth - 1 && !levels.get(method.level + 1).isEmpty());
+
+		//assign callees; callees on the next level are assigned round-robin so that all methods are reachable
+		int[] nextCallee = new int[callDepth];
+		for(Method method: methods) {
+			for(Stmt callSite: method.callSites) {
+				Method callee;
+				if(random.nextDouble() < recursion) {
+					List<Method> level = levels.get(random.nextInt(method.level + 1));
+					callee = level.get(random.nextInt(level.size()));
+				} else {
+					List<Method> level = levels.get(method.level + 1);
+					callee = level.get(nextCallee[method.level + 1]++ % level.size());
+				}
+				callSite.callee = callee;
+				callee.callers.add(callSite);
+			}
+		}
+	}
+
+	private void createBody(Method method, int numStmts, int fanOut, boolean hasCalls) {
+		for(int i=0; i<numStmts; i++) {
+			Stmt stmt = new Stmt(stmts.size(), method, i);
+			stmts.add(stmt);
+			method.stmts.add(stmt);
+		}
+		if(hasCalls) {
+			for(int k=0; k<fanOut; k++)
+				method.callSites.add(method.stmts.get(1 + k * (numStmts - 2) / fanOut));
+		}
+		for(int i=0; i<numStmts-1; i++) {
+			Stmt stmt = method.stmts.get(i);
+			addEdge(stmt, method.stmts.get(i+1));
+			//call sites only flow to their return site
+			if(method.callSites.contains(stmt))
+				continue;
+			if(i % 5 == 2 && i + 2 < numStmts)
+				addEdge(stmt, method.stmts.get(i+2));
+			if(i == numStmts - 2 && numStmts > 4)
+				addEdge(stmt, method.stmts.get(numStmts / 2));
+		}
+	}
+
+	private static void addEdge(Stmt from, Stmt to) {
+		from.succs.add(to);
+		to.preds.add(from);
+	}
+
+	/**
+	 * Returns the entry method.
+	 */
+	public Method entryMethod() {
+		return methods.get(0);
+	}
+
+	/**
+	 * Returns all statements of this graph.
+	 */
+	public List<Stmt> stmts() {
+		return Collections.unmodifiableList(stmts);
+	}
+
+	public int numberOf(Stmt stmt) {
+		return stmt.id;
+	}
+
+	public Method getMethodOf(Stmt n) {
+		return n.method;
+	}
+
+	public List<Stmt> getPredsOf(Stmt u) {
+		return u.preds;
+	}
+
+	public List<Stmt> getSuccsOf(Stmt n) {
+		return n.succs;
+	}
+
+	public Collection<Method> getCalleesOfCallAt(Stmt n) {
+		return n.callee == null ? Collections.<Method>emptySet() : Collections.singleton(n.callee);
+	}
+
+	public Collection<Stmt> getCallersOf(Method m) {
+		return m.callers;
+	}
+
+	public Set<Stmt> getCallsFromWithin(Method m) {
+		return m.callSites;
+	}
+
+	public Collection<Stmt> getStartPointsOf(Method m) {
+		return Collections.singleton(m.stmts.get(0));
+	}
+
+	public Collection<Stmt> getReturnSitesOfCallAt(Stmt n) {
+		return n.succs;
+	}
+
+	public boolean isCallStmt(Stmt stmt) {
+		return stmt.callee != null;
+	}
+
+	public boolean isExitStmt(Stmt stmt) {
+		return stmt.succs.isEmpty();
+	}
+
+	public boolean isStartPoint(Stmt stmt) {
+		return stmt.index == 0;
+	}
+
+	public Set<Stmt> allNonCallStartNodes() {
+		Set<Stmt> res = new LinkedHashSet<Stmt>();
+		for(Stmt stmt: stmts)
+			if(!isCallStmt(stmt) && !isStartPoint(stmt))
+				res.add(stmt);
+		return res;
+	}
+
+	public boolean isFallThroughSuccessor(Stmt stmt, Stmt succ) {
+		return succ.method == stmt.method && succ.index == stmt.index + 1;
+	}
+
+	public boolean isBranchTarget(Stmt stmt, Stmt succ) {
+		return stmt.succs.contains(succ) && !isFallThroughSuccessor(stmt, succ);
+	}
+
+	/**
+	 * Returns a view of this graph with all intra-procedural edges reversed, for backward problems.
+	 * The exit statement of each method becomes its start point, and the return sites of a call
+	 * are the call's predecessors.
+	 */
+	public InterproceduralCFG<Stmt, Method> backward() {
+		return new InterproceduralCFG<Stmt, Method>() {
+
+			public Method getMethodOf(Stmt n) {
+				return n.method;
+			}
+
+			public List<Stmt> getPredsOf(Stmt u) {
+				return u.succs;
+			}
+
+			public List<Stmt> getSuccsOf(Stmt n) {
+				return n.preds;
+			}
+
+			public Collection<Method> getCalleesOfCallAt(Stmt n) {
+				return SyntheticICFG.this.getCalleesOfCallAt(n);
+			}
+
+			public Collection<Stmt> getCallersOf(Method m) {
+				return m.callers;
+			}
+
+			public Set<Stmt> getCallsFromWithin(Method m) {
+				return m.callSites;
+			}
+
+			public Collection<Stmt> getStartPointsOf(Method m) {
+				return Collections.singleton(m.stmts.get(m.stmts.size() - 1));
+			}
+
+			public Collection<Stmt> getReturnSitesOfCallAt(Stmt n) {
+				return n.preds;
+			}
+
+			public boolean isCallStmt(Stmt stmt) {
+				return stmt.callee != null;
+			}
+
+			public boolean isExitStmt(Stmt stmt) {
+				return stmt.preds.isEmpty();
+			}
+
+			public boolean isStartPoint(Stmt stmt) {
+				return stmt.succs.isEmpty();
+			}
+
+			public Set<Stmt> allNonCallStartNodes() {
+				Set<Stmt> res = new LinkedHashSet<Stmt>();
+				for(Stmt stmt: stmts)
+					if(!isCallStmt(stmt) && !isStartPoint(stmt))
+						res.add(stmt);
+				return res;
+			}
+
+			public boolean isFallThroughSuccessor(Stmt stmt, Stmt succ) {
+				return SyntheticICFG.this.isFallThroughSuccessor(succ, stmt);
+			}
+
+			public boolean isBranchTarget(Stmt stmt, Stmt succ) {
+				return SyntheticICFG.this.isBranchTarget(succ, stmt);
+			}
+		};
+	}
+
+}
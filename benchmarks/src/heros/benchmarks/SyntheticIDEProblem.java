@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.DefaultSeeds;
+import heros.EdgeFunction;
+import heros.EdgeFunctions;
+import heros.FlowFunctions;
+import heros.InterproceduralCFG;
+import heros.MeetLattice;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+import heros.edgefunc.AllBottom;
+import heros.edgefunc.AllTop;
+import heros.edgefunc.EdgeIdentity;
+import heros.template.DefaultIDETabulationProblem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An IDE problem with {@link SyntheticFlowFunctions} on a synthetic graph. Values form a chain
+ * 0 &lt; 1 &lt; ... &lt; latticeHeight with an additional top element {@link #TOP}, and meet is the maximum.
+ * Generating and transferring a fact attaches a {@link MaxWith} function that depends on the
+ * statement; all other edges carry the identity. Jump functions can thus be lowered at most
+ * latticeHeight times, which bounds the number of re-propagations.
+ */
+public class SyntheticIDEProblem extends DefaultIDETabulationProblem<Stmt, Integer, Method, Integer, InterproceduralCFG<Stmt, Method>> {
+
+	public static final Integer TOP = -1;
+
+	private final SyntheticFlowFunctions flowFunctions;
+	private final int latticeHeight;
+	private final Stmt seed;
+	private final int numThreads;
+
+	/**
+	 * @param icfg The graph to solve the problem on.
+	 * @param domainSize The number of facts, not counting the zero value.
+	 * @param latticeHeight The height of the value lattice, not counting the top element.
+	 * @param seed The statement at which the analysis starts.
+	 * @param numThreads The number of threads used by the solver.
+	 */
+	public SyntheticIDEProblem(InterproceduralCFG<Stmt, Method> icfg, int domainSize, int latticeHeight, Stmt seed, int numThreads) {
+		super(icfg);
+		this.flowFunctions = new SyntheticFlowFunctions(domainSize);
+		this.latticeHeight = latticeHeight;
+		this.seed = seed;
+		this.numThreads = numThreads;
+	}
+
+	@Override
+	protected FlowFunctions<Stmt, Integer, Method> createFlowFunctionsFactory() {
+		return flowFunctions;
+	}
+
+	@Override
+	protected Integer createZeroValue() {
+		return SyntheticFlowFunctions.ZERO;
+	}
+
+	@Override
+	protected EdgeFunction<Integer> createAllTopFunction() {
+		return new AllTop<Integer>(TOP);
+	}
+
+	@Override
+	protected MeetLattice<Integer> createMeetLattice() {
+		return new MeetLattice<Integer>() {
+			public Integer topElement() {
+				return TOP;
+			}
+
+			public Integer bottomElement() {
+				return latticeHeight;
+			}
+
+			public Integer meet(Integer left, Integer right) {
+				return Math.max(left, right);
+			}
+		};
+	}
+
+	@Override
+	protected EdgeFunctions<Stmt, Integer, Method, Integer> createEdgeFunctionsFactory() {
+		return new EdgeFunctions<Stmt, Integer, Method, Integer>() {
+			public EdgeFunction<Integer> getNormalEdgeFunction(Stmt curr, Integer currNode, Stmt succ, Integer succNode) {
+				if(succNode.equals(currNode))
+					return EdgeIdentity.v();
+				//a generated or transferred fact
+				return MaxWith.v(curr.id() % (latticeHeight + 1));
+			}
+
+			public EdgeFunction<Integer> getCallEdgeFunction(Stmt callStmt, Integer srcNode, Method destinationMethod, Integer destNode) {
+				return EdgeIdentity.v();
+			}
+
+			public EdgeFunction<Integer> getReturnEdgeFunction(Stmt callSite, Method calleeMethod, Stmt exitStmt, Integer exitNode, Stmt returnSite, Integer retNode) {
+				return EdgeIdentity.v();
+			}
+
+			public EdgeFunction<Integer> getCallToReturnEdgeFunction(Stmt callStmt, Integer callNode, Stmt returnSite, Integer returnSideNode) {
+				return EdgeIdentity.v();
+			}
+		};
+	}
+
+	@Override
+	public Map<Stmt, Set<Integer>> initialSeeds() {
+		return DefaultSeeds.make(Collections.singleton(seed), zeroValue());
+	}
+
+	@Override
+	public int numThreads() {
+		return numThreads;
+	}
+
+	/**
+	 * The function v -&gt; max(v, c) for a constant c.
+	 */
+	public static class MaxWith implements EdgeFunction<Integer> {
+
+		private static final MaxWith[] cache = new MaxWith[64];
+
+		private final int c;
+
+		private MaxWith(int c) {
+			this.c = c;
+		}
+
+		public static MaxWith v(int c) {
+			if(c < cache.length) {
+				MaxWith f = cache[c];
+				if(f == null) {
+					f = new MaxWith(c);
+					cache[c] = f;
+				}
+				return f;
+			}
+			return new MaxWith(c);
+		}
+
+		public Integer computeTarget(Integer source) {
+			EdgeStatistics.record(0);
+			return Math.max(source, c);
+		}
+
+		public EdgeFunction<Integer> composeWith(EdgeFunction<Integer> secondFunction) {
+			if(secondFunction instanceof MaxWith)
+				return v(Math.max(c, ((MaxWith) secondFunction).c));
+			if(secondFunction instanceof EdgeIdentity)
+				return this;
+			//AllTop and AllBottom ignore their input
+			return secondFunction;
+		}
+
+		public EdgeFunction<Integer> meetWith(EdgeFunction<Integer> otherFunction) {
+			if(otherFunction instanceof MaxWith)
+				return v(Math.max(c, ((MaxWith) otherFunction).c));
+			if(otherFunction instanceof AllTop || otherFunction instanceof EdgeIdentity)
+				//max(v, max(v, c)) = max(v, c)
+				return this;
+			if(otherFunction instanceof AllBottom)
+				return otherFunction;
+			throw new IllegalStateException("Cannot meet with " + otherFunction);
+		}
+
+		public boolean equalTo(EdgeFunction<Integer> other) {
+			return other instanceof MaxWith && ((MaxWith) other).c == c;
+		}
+
+		@Override
+		public String toString() {
+			return "max(_," + c + ")";
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.benchmarks;
+
+import heros.DefaultSeeds;
+import heros.FlowFunctions;
+import heros.InterproceduralCFG;
+import heros.benchmarks.SyntheticICFG.Method;
+import heros.benchmarks.SyntheticICFG.Stmt;
+import heros.template.DefaultIFDSTabulationProblem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An IFDS problem with {@link SyntheticFlowFunctions} on a synthetic graph.
+ */
+public class SyntheticIFDSProblem extends DefaultIFDSTabulationProblem<Stmt, Integer, Method, InterproceduralCFG<Stmt, Method>> {
+
+	private final int domainSize;
+	private final Stmt seed;
+	private final int numThreads;
+	private final boolean followReturnsPastSeeds;
+
+	/**
+	 * @param icfg The graph to solve the problem on, possibly {@link SyntheticICFG#backward()}.
+	 * @param domainSize The number of facts, not counting the zero value.
+	 * @param seed The statement at which the analysis starts.
+	 * @param numThreads The number of threads used by the solver.
+	 * @param followReturnsPastSeeds Whether the problem is solved in a bottom-up fashion.
+	 */
+	public SyntheticIFDSProblem(InterproceduralCFG<Stmt, Method> icfg, int domainSize, Stmt seed, int numThreads, boolean followReturnsPastSeeds) {
+		super(icfg);
+		this.domainSize = domainSize;
+		this.seed = seed;
+		this.numThreads = numThreads;
+		this.followReturnsPastSeeds = followReturnsPastSeeds;
+	}
+
+	@Override
+	protected FlowFunctions<Stmt, Integer, Method> createFlowFunctionsFactory() {
+		return new SyntheticFlowFunctions(domainSize);
+	}
+
+	@Override
+	protected Integer createZeroValue() {
+		return SyntheticFlowFunctions.ZERO;
+	}
+
+	@Override
+	public Map<Stmt, Set<Integer>> initialSeeds() {
+		return DefaultSeeds.make(Collections.singleton(seed), zeroValue());
+	}
+
+	@Override
+	public int numThreads() {
+		return numThreads;
+	}
+
+	@Override
+	public boolean followReturnsPastSeeds() {
+		return followReturnsPastSeeds;
+	}
+
+}
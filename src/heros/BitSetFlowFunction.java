@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import java.util.BitSet;
+
+/**
+ * A flow function over facts that are represented by their numbers in a {@link FactDomain}.
+ * Instead of mapping one fact at a time, it maps a whole set of source facts to the set of
+ * reachable target facts, such that gen/kill style functions can be computed with a few
+ * word-wide bit operations.
+ *
+ * Just as any IFDS flow function, the function must be distributive: the targets of a set of
+ * sources must be the union of the targets of the individual sources.
+ *
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ * Hence, classes implementing this interface should synchronize accesses to
+ * any mutable shared state.
+ *
+ * @see BitSetTabulationProblem
+ */
+public interface BitSetFlowFunction {
+
+	/**
+	 * Returns the numbers of the target values reachable from the given source values.
+	 * Implementations must not modify the argument. The solver does not modify the
+	 * returned set, so implementations may return a shared instance.
+	 */
+	BitSet computeTargets(BitSet sources);
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * A factory for {@link BitSetFlowFunction}s, the bit-vector counterpart of {@link FlowFunctions}.
+ * See there for the meaning of the parameters.
+ *
+ * Functions are not cached by the solver, so implementations should cache them if they are
+ * expensive to construct.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <M> The type of objects used to represent methods.
+ */
+public interface BitSetFlowFunctions<N, M> {
+
+	public BitSetFlowFunction getNormalFlowFunction(N curr, N succ);
+
+	public BitSetFlowFunction getCallFlowFunction(N callStmt, M destinationMethod);
+
+	public BitSetFlowFunction getReturnFlowFunction(N callSite, M calleeMethod, N exitStmt, N returnSite);
+
+	public BitSetFlowFunction getCallToReturnFlowFunction(N callSite, N returnSite);
+
+}
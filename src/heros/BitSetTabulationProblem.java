@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import heros.solver.BitSetIFDSSolver;
+
+/**
+ * An {@link IFDSTabulationProblem} over a small and dense fact domain, such as the local variables
+ * of a liveness analysis or the definitions of a reaching-definitions analysis, that can be solved
+ * by the {@link BitSetIFDSSolver}. That solver represents sets of facts as bit sets and applies
+ * {@link BitSetFlowFunctions} to whole sets of facts at once.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ * @param <I> The type of inter-procedural control-flow graph being used.
+ */
+public interface BitSetTabulationProblem<N,D,M, I extends InterproceduralCFG<N,M>> extends IFDSTabulationProblem<N,D,M,I> {
+
+	/**
+	 * Returns the flow functions over fact numbers. The {@link BitSetIFDSSolver} uses these
+	 * instead of {@link #flowFunctions()}.
+	 */
+	BitSetFlowFunctions<N,M> bitSetFlowFunctions();
+
+	/**
+	 * Returns the domain that numbers the facts of this problem. Numbers should be small,
+	 * as the solver stores sets of facts as bit sets indexed by them.
+	 *
+	 * <b>NOTE:</b> The zero value must be numbered as well.
+	 */
+	FactDomain<D> factNumbering();
+
+}
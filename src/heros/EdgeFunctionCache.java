@@ -277,4 +277,11 @@ public class EdgeFunctionCache<N, D, M, V> implements EdgeFunctions<N, D, M, V>
                 normalCache.stats(), callCache.stats(),returnCache.stats(),callToReturnCache.stats());
 	}
 
+	public void invalidate() {
+		callCache.invalidateAll();
+		callToReturnCache.invalidateAll();
+		normalCache.invalidateAll();
+		returnCache.invalidateAll();
+	}
+
 }
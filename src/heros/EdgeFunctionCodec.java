@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the edge functions of end summaries, so that the summaries of an IDE problem can
+ * be persisted. See {@link SummaryCodec}.
+ * 
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ *
+ * @param <V> The type of values to be computed along flow edges.
+ * @see IDETabulationProblem#edgeFunctionCodec()
+ */
+public interface EdgeFunctionCodec<V> {
+
+	/**
+	 * Writes the given edge function.
+	 */
+	void write(EdgeFunction<V> function, DataOutput out) throws IOException;
+
+	/**
+	 * Reads an edge function that is equal to the one that was written.
+	 */
+	EdgeFunction<V> read(DataInput in) throws IOException;
+
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * A {@link Numbering} of data-flow facts that can also map numbers back to facts.
+ * Bit-vector solvers represent sets of facts as bit sets indexed by these numbers.
+ *
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ *
+ * @param <D> The type of data-flow facts.
+ * @see BitSetTabulationProblem
+ */
+public interface FactDomain<D> extends Numbering<D> {
+
+	/**
+	 * Returns the fact with the given number.
+	 */
+	D factOf(int number);
+
+}
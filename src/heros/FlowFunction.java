@@ -10,9 +10,13 @@
  ******************************************************************************/
 package heros;
 
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
 /**
  * A flow function computes which of the finitely many D-type values are reachable
  * from the current source values. Typically there will be one such function
@@ -37,4 +41,18 @@ public interface FlowFunction<D> {
 	 * Returns the target values reachable from the source.
 	 */
 	Set<D> computeTargets(D source);
+
+	/**
+	 * Returns the target values reachable from each of the given sources, keyed by source.
+	 * The solver calls this method with all facts that reach a statement together, if it processes
+	 * path edges in batches. Implementations may override it to perform work that does not depend on
+	 * the source, such as decoding the statement, only once. The default implementation calls
+	 * {@link #computeTargets(Object)} for each source.
+	 */
+	default SetMultimap<D,D> computeAllTargets(Collection<D> sources) {
+		SetMultimap<D,D> targets = LinkedHashMultimap.create();
+		for(D source: sources)
+			targets.putAll(source, computeTargets(source));
+		return targets;
+	}
 }
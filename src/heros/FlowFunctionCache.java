@@ -10,15 +10,34 @@
  ******************************************************************************/
 package heros;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Caches the flow functions of a delegate. By default, functions are kept in Guava caches
+ * configured by the given {@link CacheBuilder}. If the nodes are numbered, functions can
+ * instead be kept in rows indexed by the number of their (call) statement, so that lookups
+ * allocate no keys and take no locks. Those rows are not bounded by any {@link CacheBuilder}:
+ * they strongly reference all functions until the cache is invalidated. Concurrent misses on
+ * the same key may ask the delegate more than once, but only the first function is kept.
+ */
 public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 	
 	protected final FlowFunctions<N, D, M> delegate;
+
+	//numbering of the nodes, or null if the functions are kept in the Guava caches
+	protected final Numbering<N> nodeNumbering;
+
+	protected final NodeSlots normalSlots, callSlots, returnSlots, callToReturnSlots;
+
+	//return functions without a call site, as used for unbalanced returns, indexed by exit statement
+	protected final NodeSlots unbalancedReturnSlots;
 	
 	protected final LoadingCache<NNKey, FlowFunction<D>> normalCache;
 	
@@ -33,6 +52,8 @@ public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 	@SuppressWarnings("unchecked")
 	public FlowFunctionCache(final FlowFunctions<N, D, M> delegate, @SuppressWarnings("rawtypes") CacheBuilder builder) {
 		this.delegate = delegate;
+		this.nodeNumbering = null;
+		normalSlots = callSlots = returnSlots = callToReturnSlots = unbalancedReturnSlots = null;
 		
 		normalCache = builder.build(new CacheLoader<NNKey, FlowFunction<D>>() {
 			public FlowFunction<D> load(NNKey key) throws Exception {
@@ -59,20 +80,67 @@ public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 		});
 	}
 	
-	public FlowFunction<D> getNormalFlowFunction(N curr, N succ) {
-		return normalCache.getUnchecked(new NNKey(curr, succ));
+	/**
+	 * Creates a cache that keeps the functions in rows indexed by the given numbering of the nodes.
+	 */
+	public FlowFunctionCache(final FlowFunctions<N, D, M> delegate, Numbering<N> nodeNumbering) {
+		this.delegate = delegate;
+		this.nodeNumbering = nodeNumbering;
+		normalSlots = new NodeSlots();
+		callSlots = new NodeSlots();
+		returnSlots = new NodeSlots();
+		callToReturnSlots = new NodeSlots();
+		unbalancedReturnSlots = new NodeSlots();
+		normalCache = null;
+		callCache = null;
+		returnCache = null;
+		callToReturnCache = null;
 	}
 	
+	@SuppressWarnings("unchecked")
+	public FlowFunction<D> getNormalFlowFunction(N curr, N succ) {
+		if(nodeNumbering==null)
+			return normalCache.getUnchecked(new NNKey(curr, succ));
+		int n = nodeNumbering.numberOf(curr);
+		Object function = normalSlots.find(n, succ, null, null);
+		if(function!=null)
+			return (FlowFunction<D>) function;
+		return (FlowFunction<D>) normalSlots.putIfAbsent(n, succ, null, null, delegate.getNormalFlowFunction(curr, succ));
+	}
+
+	@SuppressWarnings("unchecked")
 	public FlowFunction<D> getCallFlowFunction(N callStmt, M destinationMethod) {
-		return callCache.getUnchecked(new CallKey(callStmt, destinationMethod));
+		if(nodeNumbering==null)
+			return callCache.getUnchecked(new CallKey(callStmt, destinationMethod));
+		int n = nodeNumbering.numberOf(callStmt);
+		Object function = callSlots.find(n, destinationMethod, null, null);
+		if(function!=null)
+			return (FlowFunction<D>) function;
+		return (FlowFunction<D>) callSlots.putIfAbsent(n, destinationMethod, null, null, delegate.getCallFlowFunction(callStmt, destinationMethod));
 	}
 
+	@SuppressWarnings("unchecked")
 	public FlowFunction<D> getReturnFlowFunction(N callSite, M calleeMethod, N exitStmt, N returnSite) {
-		return returnCache.getUnchecked(new ReturnKey(callSite, calleeMethod, exitStmt, returnSite));
+		if(nodeNumbering==null)
+			return returnCache.getUnchecked(new ReturnKey(callSite, calleeMethod, exitStmt, returnSite));
+		//call sites have fewer callees than exit statements have callers, hence the call site picks the row
+		NodeSlots slots = callSite!=null ? returnSlots : unbalancedReturnSlots;
+		int n = nodeNumbering.numberOf(callSite!=null ? callSite : exitStmt);
+		Object function = slots.find(n, calleeMethod, exitStmt, returnSite);
+		if(function!=null)
+			return (FlowFunction<D>) function;
+		return (FlowFunction<D>) slots.putIfAbsent(n, calleeMethod, exitStmt, returnSite, delegate.getReturnFlowFunction(callSite, calleeMethod, exitStmt, returnSite));
 	}
 
+	@SuppressWarnings("unchecked")
 	public FlowFunction<D> getCallToReturnFlowFunction(N callSite, N returnSite) {
-		return callToReturnCache.getUnchecked(new NNKey(callSite, returnSite));
+		if(nodeNumbering==null)
+			return callToReturnCache.getUnchecked(new NNKey(callSite, returnSite));
+		int n = nodeNumbering.numberOf(callSite);
+		Object function = callToReturnSlots.find(n, returnSite, null, null);
+		if(function!=null)
+			return (FlowFunction<D>) function;
+		return (FlowFunction<D>) callToReturnSlots.putIfAbsent(n, returnSite, null, null, delegate.getCallToReturnFlowFunction(callSite, returnSite));
 	}
 	
 	private class NNKey {
@@ -222,6 +290,15 @@ public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 	}
 	
 	public void printStats() {
+		if(nodeNumbering!=null) {
+			logger.debug("Stats for flow-function cache:\n" +
+					"Normal:         {} functions\n"+
+					"Call:           {} functions\n"+
+					"Return:         {} functions\n"+
+					"Call-to-return: {} functions\n",
+					normalSlots.size(), callSlots.size(), returnSlots.size() + unbalancedReturnSlots.size(), callToReturnSlots.size());
+			return;
+		}
         logger.debug("Stats for flow-function cache:\n" +
                 "Normal:         {}\n"+
                 "Call:           {}\n"+
@@ -231,6 +308,14 @@ public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 	}
 	
 	public void invalidate() {
+		if(nodeNumbering!=null) {
+			normalSlots.clear();
+			callSlots.clear();
+			returnSlots.clear();
+			callToReturnSlots.clear();
+			unbalancedReturnSlots.clear();
+			return;
+		}
 		callCache.invalidateAll();
 		callToReturnCache.invalidateAll();
 		normalCache.invalidateAll();
@@ -238,4 +323,105 @@ public class FlowFunctionCache<N, D, M> implements FlowFunctions<N, D, M> {
 		
 	}
 
+	/**
+	 * Rows of cached functions, indexed by node number. Each row is an immutable array of entries
+	 * of up to three key objects, unused ones being <code>null</code>, followed by the function.
+	 * Rows are replaced by copies that are published by compare-and-set, so neither readers nor
+	 * writers lock a row.
+	 */
+	protected static class NodeSlots {
+
+		private static final int ENTRY_SIZE = 4;
+
+		private static final int CHUNK_BITS = 10;
+
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+		//rows in chunks of fixed size, so that a row is never copied to a new chunk while it is
+		//being replaced; the array of chunks is replaced when it grows
+		private volatile AtomicReferenceArray<Object[]>[] chunks = newChunks(1);
+
+		@SuppressWarnings("unchecked")
+		private static AtomicReferenceArray<Object[]>[] newChunks(int length) {
+			return new AtomicReferenceArray[length];
+		}
+
+		private Object find(int n, Object key1, Object key2, Object key3) {
+			AtomicReferenceArray<Object[]>[] chunks = this.chunks;
+			int index = n >>> CHUNK_BITS;
+			if(index >= chunks.length || chunks[index]==null)
+				return null;
+			return find(chunks[index].get(n & (CHUNK_SIZE - 1)), key1, key2, key3);
+		}
+
+		private static Object find(Object[] row, Object key1, Object key2, Object key3) {
+			if(row==null)
+				return null;
+			for(int i=0; i<row.length; i+=ENTRY_SIZE) {
+				if(matches(row[i], key1) && matches(row[i+1], key2) && matches(row[i+2], key3))
+					return row[i+3];
+			}
+			return null;
+		}
+
+		private static boolean matches(Object stored, Object key) {
+			return stored==key || (stored!=null && stored.equals(key));
+		}
+
+		/**
+		 * Adds the function unless another thread added a function for the same keys first.
+		 * @return The function that is stored for the keys.
+		 */
+		private Object putIfAbsent(int n, Object key1, Object key2, Object key3, Object function) {
+			AtomicReferenceArray<Object[]> chunk = chunk(n >>> CHUNK_BITS);
+			int i = n & (CHUNK_SIZE - 1);
+			while(true) {
+				Object[] row = chunk.get(i);
+				Object existing = find(row, key1, key2, key3);
+				if(existing!=null)
+					return existing;
+				Object[] newRow = row==null ? new Object[ENTRY_SIZE] : Arrays.copyOf(row, row.length + ENTRY_SIZE);
+				newRow[newRow.length-4] = key1;
+				newRow[newRow.length-3] = key2;
+				newRow[newRow.length-2] = key3;
+				newRow[newRow.length-1] = function;
+				if(chunk.compareAndSet(i, row, newRow))
+					return function;
+			}
+		}
+
+		private AtomicReferenceArray<Object[]> chunk(int index) {
+			AtomicReferenceArray<Object[]>[] current = chunks;
+			if(index < current.length && current[index]!=null)
+				return current[index];
+			synchronized (this) {
+				current = chunks;
+				if(index >= current.length)
+					current = Arrays.copyOf(current, Math.max(index + 1, current.length << 1));
+				if(current[index]==null)
+					current[index] = new AtomicReferenceArray<Object[]>(CHUNK_SIZE);
+				chunks = current;
+				return current[index];
+			}
+		}
+
+		private synchronized void clear() {
+			chunks = newChunks(1);
+		}
+
+		private int size() {
+			int size = 0;
+			for(AtomicReferenceArray<Object[]> chunk: chunks) {
+				if(chunk==null)
+					continue;
+				for(int i=0; i<chunk.length(); i++) {
+					Object[] row = chunk.get(i);
+					if(row!=null)
+						size += row.length / ENTRY_SIZE;
+				}
+			}
+			return size;
+		}
+	}
+
 }
@@ -101,4 +101,23 @@ public interface FlowFunctions<N, D, M> {
 	 */
 	public FlowFunction<D> getCallToReturnFlowFunction(N callSite, N returnSite);
 
+	/**
+	 * Returns true if the normal flow functions from the given statement to its successors
+	 * map every fact, including the zero value, to exactly the set containing the fact itself.
+	 * If {@link SolverConfiguration#collapseIdentityRuns()} is enabled, the solver does not
+	 * evaluate the flow functions of straight-line runs of such statements at all.
+	 * The default implementation returns false.
+	 * 
+	 * The answer must be purely syntactic: it may only depend on the statement itself, not on
+	 * any fact or on the state of the analysis, and must not change while the solver runs, as
+	 * the solver computes each run only once. The solver asks the problem's flow functions
+	 * directly, so wrappers around them need not forward this method.
+	 * 
+	 * @param stmt
+	 *            A statement that is neither a call nor an exit statement.
+	 */
+	default boolean isIdentity(N stmt) {
+		return false;
+	}
+
 }
@@ -43,4 +43,12 @@ public interface IDETabulationProblem<N,D,M,V,I extends InterproceduralCFG<N,M>>
 	 * Returns a function mapping everything to top.
 	 */	
 	EdgeFunction<V> allTopFunction(); 
+
+	/**
+	 * Returns the codec used to persist the edge functions of end summaries, or <code>null</code>
+	 * (the default) if summaries are not persisted. See {@link #summaryCodec()}.
+	 */
+	default EdgeFunctionCodec<V> edgeFunctionCodec() {
+		return null;
+	}
 }
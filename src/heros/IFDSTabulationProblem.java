@@ -11,6 +11,7 @@
 package heros;
 
 import heros.solver.IFDSSolver;
+import heros.solver.MethodSummaries;
 
 import java.util.Map;
 import java.util.Set;
@@ -62,4 +63,57 @@ public interface IFDSTabulationProblem<N,D,M, I extends InterproceduralCFG<N,M>>
 	 */
 	D zeroValue();
 
+	/**
+	 * Returns a numbering of the data-flow facts of this problem, or <code>null</code>
+	 * (the default) if facts are not numbered. If the problem numbers its facts and
+	 * the {@link #interproceduralCFG()} is a {@link NumberedInterproceduralCFG}, then
+	 * the solver keys its jump functions and values by those numbers instead of by
+	 * the facts and nodes themselves.
+	 * 
+	 * <b>NOTE:</b> The zero value must be numbered as well.
+	 */
+	default Numbering<D> factNumbering() {
+		return null;
+	}
+
+	/**
+	 * Returns the order in which the solver should process path edges, or <code>null</code>
+	 * (the default) to process them in the order in which they are discovered. The ordering is
+	 * only honored by the solver's default executor, i.e., if neither {@link #workStealing()} nor
+	 * {@link #methodAffinity()} is enabled.
+	 */
+	default WorklistOrdering<N,D> worklistOrdering() {
+		return null;
+	}
+
+	/**
+	 * Returns an oracle that tells at which statements the facts may change, or <code>null</code>
+	 * (the default) if the solver is to evaluate the normal flow function of every statement that
+	 * a fact reaches.
+	 */
+	default RelevanceOracle<N,D> relevanceOracle() {
+		return null;
+	}
+
+	/**
+	 * Returns the codec used to persist and preload the end summaries of methods, or
+	 * <code>null</code> (the default) if summaries are not persisted.
+	 * @see #methodSummaries()
+	 */
+	default SummaryCodec<N,D,M> summaryCodec() {
+		return null;
+	}
+
+	/**
+	 * Returns end summaries persisted by an earlier run, or <code>null</code> (the default).
+	 * Whenever the solver reaches a start point of a method with a call-flow fact for which
+	 * the given summaries hold a summary of the method, it applies the summary at the call
+	 * site instead of descending into the method. Flow functions within such methods are thus
+	 * not called, and no values are computed for their statements. Requires a {@link #summaryCodec()}.
+	 * @see heros.solver.IDESolver#exportSummaries()
+	 */
+	default MethodSummaries methodSummaries() {
+		return null;
+	}
+
 }
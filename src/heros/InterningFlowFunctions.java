@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import heros.solver.JoinHandlingNode;
+import heros.solver.LinkedNode;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
+/**
+ * Wraps flow functions such that they return canonical instances of their target facts,
+ * as determined by the given {@link Interner}. Equal facts computed by different flow
+ * functions are thus represented by the same object.
+ *
+ * Return flow functions leave facts that carry a calling context, i.e. {@link LinkedNode}s and
+ * {@link JoinHandlingNode}s, as they are: the solver sets the calling context on such facts
+ * once they are returned, which must not change a canonical instance shared by other edges.
+ * The solver interns these facts itself after it has restored their context.
+ * 
+ * @see SolverConfiguration#internFacts()
+ */
+public class InterningFlowFunctions<N, D, M> implements FlowFunctions<N, D, M> {
+
+	protected final FlowFunctions<N, D, M> delegate;
+	protected final Interner<D> interner;
+
+	public InterningFlowFunctions(FlowFunctions<N, D, M> delegate, Interner<D> interner) {
+		this.delegate = delegate;
+		this.interner = interner;
+	}
+
+	public FlowFunction<D> getNormalFlowFunction(N curr, N succ) {
+		return new InterningFlowFunction(delegate.getNormalFlowFunction(curr, succ), true);
+	}
+
+	public FlowFunction<D> getCallFlowFunction(N callStmt, M destinationMethod) {
+		return new InterningFlowFunction(delegate.getCallFlowFunction(callStmt, destinationMethod), true);
+	}
+
+	public FlowFunction<D> getReturnFlowFunction(N callSite, M calleeMethod, N exitStmt, N returnSite) {
+		return new InterningFlowFunction(delegate.getReturnFlowFunction(callSite, calleeMethod, exitStmt, returnSite), false);
+	}
+
+	public FlowFunction<D> getCallToReturnFlowFunction(N callSite, N returnSite) {
+		return new InterningFlowFunction(delegate.getCallToReturnFlowFunction(callSite, returnSite), true);
+	}
+
+	/**
+	 * Returns whether the solver sets a calling context on the given fact when it is returned from a callee.
+	 */
+	public static boolean carriesCallingContext(Object fact) {
+		return fact instanceof LinkedNode || fact instanceof JoinHandlingNode;
+	}
+
+	protected class InterningFlowFunction implements FlowFunction<D> {
+
+		protected final FlowFunction<D> del;
+
+		//false for return flow functions, see the class comment
+		private final boolean internContextFacts;
+
+		private InterningFlowFunction(FlowFunction<D> del, boolean internContextFacts) {
+			this.del = del;
+			this.internContextFacts = internContextFacts;
+		}
+
+		private D canonical(D target) {
+			if(!internContextFacts && carriesCallingContext(target))
+				return target;
+			return interner.intern(target);
+		}
+
+		@Override
+		public Set<D> computeTargets(D source) {
+			Set<D> targets = del.computeTargets(source);
+			//most targets are canonical already, e.g. if they are passed through unchanged;
+			//the result set is only copied once a target turns out not to be
+			Set<D> res = null;
+			int numCanonical = 0;
+			for(D target: targets) {
+				D canonical = canonical(target);
+				if(res==null && canonical!=target) {
+					res = new LinkedHashSet<D>();
+					Iterables.addAll(res, Iterables.limit(targets, numCanonical));
+				}
+				if(res!=null)
+					res.add(canonical);
+				numCanonical++;
+			}
+			return res==null ? targets : res;
+		}
+
+		@Override
+		public SetMultimap<D, D> computeAllTargets(Collection<D> sources) {
+			SetMultimap<D,D> targets = del.computeAllTargets(sources);
+			boolean canonical = true;
+			for(D target: targets.values()) {
+				if(canonical(target)!=target) {
+					canonical = false;
+					break;
+				}
+			}
+			if(canonical)
+				return targets;
+			SetMultimap<D,D> res = LinkedHashMultimap.create();
+			for(Entry<D,D> entry: targets.entries())
+				res.put(entry.getKey(), canonical(entry.getValue()));
+			return res;
+		}
+	}
+
+}
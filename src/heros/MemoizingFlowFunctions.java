@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Wraps flow functions such that the targets they compute for a source fact are memoized.
+ * Results are shared by all functions of this wrapper in a single cache of bounded size,
+ * keyed by the identity of the delegate's flow function and by the source fact. Memoizing
+ * thus only pays off if the same function objects are evaluated repeatedly, e.g. because
+ * the functions of this wrapper are in turn cached by a {@link FlowFunctionCache}.
+ *
+ * The delegate's flow functions must compute their targets from the source fact alone.
+ * The memoized sets are unmodifiable.
+ *
+ * Results of return flow functions that contain facts carrying a calling context, i.e.
+ * {@link heros.solver.LinkedNode}s and {@link heros.solver.JoinHandlingNode}s, are not memoized,
+ * because the solver sets the calling context on each returned fact, which must not change
+ * the facts returned to other callers.
+ *
+ * @see SolverConfiguration#flowFunctionResultCacheSize()
+ */
+public class MemoizingFlowFunctions<N, D, M> implements FlowFunctions<N, D, M> {
+
+	protected final FlowFunctions<N, D, M> delegate;
+
+	protected final Cache<Key<D>, Set<D>> results;
+
+	/**
+	 * @param maximumSize The maximal number of results that are memoized, across all flow functions.
+	 */
+	public MemoizingFlowFunctions(FlowFunctions<N, D, M> delegate, long maximumSize) {
+		this.delegate = delegate;
+		this.results = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	public FlowFunction<D> getNormalFlowFunction(N curr, N succ) {
+		return new MemoizingFlowFunction(delegate.getNormalFlowFunction(curr, succ), true);
+	}
+
+	public FlowFunction<D> getCallFlowFunction(N callStmt, M destinationMethod) {
+		return new MemoizingFlowFunction(delegate.getCallFlowFunction(callStmt, destinationMethod), true);
+	}
+
+	public FlowFunction<D> getReturnFlowFunction(N callSite, M calleeMethod, N exitStmt, N returnSite) {
+		return new MemoizingFlowFunction(delegate.getReturnFlowFunction(callSite, calleeMethod, exitStmt, returnSite), false);
+	}
+
+	public FlowFunction<D> getCallToReturnFlowFunction(N callSite, N returnSite) {
+		return new MemoizingFlowFunction(delegate.getCallToReturnFlowFunction(callSite, returnSite), true);
+	}
+
+	public void invalidate() {
+		results.invalidateAll();
+	}
+
+	protected class MemoizingFlowFunction implements FlowFunction<D> {
+
+		protected final FlowFunction<D> del;
+
+		//false for return flow functions, see the class comment
+		private final boolean memoizeContextFacts;
+
+		private MemoizingFlowFunction(FlowFunction<D> del, boolean memoizeContextFacts) {
+			this.del = del;
+			this.memoizeContextFacts = memoizeContextFacts;
+		}
+
+		@Override
+		public Set<D> computeTargets(final D source) {
+			if(!memoizeContextFacts) {
+				Key<D> key = new Key<D>(del, source);
+				Set<D> targets = results.getIfPresent(key);
+				if(targets==null) {
+					targets = Collections.unmodifiableSet(del.computeTargets(source));
+					memoize(key, targets);
+				}
+				return targets;
+			}
+			try {
+				return results.get(new Key<D>(del, source), new Callable<Set<D>>() {
+					public Set<D> call() throws Exception {
+						return Collections.unmodifiableSet(del.computeTargets(source));
+					}
+				});
+			} catch (ExecutionException e) {
+				//rethrow what the delegate threw
+				Throwables.throwIfUnchecked(e.getCause());
+				throw new RuntimeException(e.getCause());
+			} catch (UncheckedExecutionException e) {
+				Throwables.throwIfUnchecked(e.getCause());
+				throw e;
+			} catch (ExecutionError e) {
+				Throwables.throwIfUnchecked(e.getCause());
+				throw e;
+			}
+		}
+
+		@Override
+		public SetMultimap<D, D> computeAllTargets(Collection<D> sources) {
+			//sources whose targets are not memoized yet are computed in one bulk call
+			SetMultimap<D,D> res = LinkedHashMultimap.create();
+			List<D> misses = null;
+			for(D source: sources) {
+				Set<D> targets = results.getIfPresent(new Key<D>(del, source));
+				if(targets!=null) {
+					res.putAll(source, targets);
+				} else {
+					if(misses==null)
+						misses = new ArrayList<D>();
+					misses.add(source);
+				}
+			}
+			if(misses!=null) {
+				SetMultimap<D,D> computed = del.computeAllTargets(misses);
+				for(D source: misses) {
+					Set<D> targets = Collections.unmodifiableSet(new LinkedHashSet<D>(computed.get(source)));
+					memoize(new Key<D>(del, source), targets);
+					res.putAll(source, targets);
+				}
+			}
+			return res;
+		}
+
+		private void memoize(Key<D> key, Set<D> targets) {
+			if(!memoizeContextFacts) {
+				for(D target: targets)
+					if(InterningFlowFunctions.carriesCallingContext(target))
+						return;
+			}
+			results.put(key, targets);
+		}
+	}
+
+	/**
+	 * A flow function, compared by identity, and a source fact.
+	 */
+	protected static class Key<D> {
+		private final FlowFunction<D> function;
+		private final D source;
+
+		private Key(FlowFunction<D> function, D source) {
+			this.function = function;
+			this.source = source;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(function) + (source == null ? 0 : source.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key<?> other = (Key<?>) obj;
+			if (function != other.function)
+				return false;
+			return source == null ? other.source == null : source.equals(other.source);
+		}
+	}
+
+}
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * An interprocedural control-flow graph that assigns a dense integer number to each of its nodes.
+ * 
+ * @param <N> Nodes in the CFG, typically {@link Unit} or {@link Block}
+ * @param <M> Method representation
+ * @see Numbering
+ */
+public interface NumberedInterproceduralCFG<N,M> extends InterproceduralCFG<N,M>, Numbering<N> {
+
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * Assigns dense integer numbers to objects. Solvers use such numberings to store their
+ * state in tables keyed by primitive numbers instead of by objects.
+ * 
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ * 
+ * @param <T> The type of objects to be numbered.
+ * @see NumberedInterproceduralCFG
+ * @see IFDSTabulationProblem#factNumbering()
+ */
+public interface Numbering<T> {
+
+	/**
+	 * Returns the number of the given object. Numbers must be non-negative and should be
+	 * dense, i.e., close to zero. Two objects must have the same number if and only if
+	 * they are equal.
+	 */
+	int numberOf(T object);
+
+}
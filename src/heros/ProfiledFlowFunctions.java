@@ -54,5 +54,9 @@ public class ProfiledFlowFunctions<N, D, M> implements FlowFunctions<N, D, M> {
 		durationCallReturn += duration;
 		return res;
 	}
+
+	public boolean isIdentity(N stmt) {
+		return delegate.isIdentity(stmt);
+	}
 	
 }
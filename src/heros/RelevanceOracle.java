@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * Tells the solver at which statements a data-flow fact may change, typically based on
+ * def-use information. At a statement that is irrelevant for a fact, the solver does not
+ * evaluate the normal flow function for that fact but passes the fact on to the statement's
+ * successor unchanged, composing the jump function with the normal edge function as usual.
+ * Results remain exact at all statements.
+ * 
+ * The oracle saves flow function evaluations only, not memory: the solver still records the
+ * jump functions of the facts that reach an irrelevant statement, just as at any other statement.
+ * 
+ * The solver only asks about statements that are neither call nor exit statements and that
+ * have a single successor.
+ * 
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ * 
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @see IFDSTabulationProblem#relevanceOracle()
+ */
+public interface RelevanceOracle<N,D> {
+
+	/**
+	 * Returns false only if the normal flow function of stmt maps fact to exactly
+	 * the set containing fact itself.
+	 */
+	boolean isRelevant(N stmt, D fact);
+
+}
@@ -13,6 +13,8 @@ package heros;
 
 import heros.solver.IDESolver;
 
+import java.io.File;
+
 /**
  * Configuration parameters for {@link IDESolver}.
  */
@@ -55,4 +57,118 @@ public interface SolverConfiguration {
 	 * or flow functions (see {@link FlowFunctionDotExport}). 
 	 */
 	boolean recordEdges();
+
+	/**
+	 * If true, the solver will execute its tasks on a work-stealing {@link java.util.concurrent.ForkJoinPool}
+	 * instead of a thread pool with a single shared work queue. Tasks that are spawned while processing
+	 * an edge are then pushed to the local work queue of the processing thread, which avoids contention
+	 * on the shared queue when processing many small tasks.
+	 */
+	default boolean workStealing() {
+		return false;
+	}
+
+	/**
+	 * Returns the maximal number of path edges that the solver processes within a single task.
+	 * Path edges discovered by a worker thread are buffered in a thread-local batch; full batches
+	 * are submitted as a single task, while the remaining edges are processed by the discovering
+	 * thread itself. This reduces the per-task overhead if processing a single edge is cheap.
+	 * A value of 1 (the default) submits one task per path edge.
+	 */
+	default int pathEdgeBatchSize() {
+		return 1;
+	}
+
+	/**
+	 * If true, the solver routes each path edge to a worker thread determined by the method
+	 * containing the edge's target, so that the jump functions and flow functions of a method are
+	 * mostly accessed by one and the same thread. Idle workers steal edges from busy ones to keep
+	 * the load balanced. This setting takes precedence over {@link #workStealing()}.
+	 */
+	default boolean methodAffinity() {
+		return false;
+	}
+
+	/**
+	 * If positive, the solver drops the intra-procedural jump functions of methods that are
+	 * fully processed, i.e., that have no pending path edges and only call methods without
+	 * pending path edges, to reclaim memory while the exploded super graph is computed.
+	 * Jump functions to start points, call sites and exit statements are retained, as they
+	 * are needed to apply summaries and to process further calls. Should an edge reach a
+	 * method whose jump functions were dropped nevertheless, the solver re-propagates it,
+	 * which yields the same results at the cost of calling some flow functions again.
+	 * The returned value is the number of processed path edges after which the solver looks
+	 * for fully processed methods. A value of 0 (the default) disables this. This setting
+	 * is ignored if {@link #computeValues()} is true, as computing values needs all jump functions.
+	 */
+	default int jumpFunctionCollectionInterval() {
+		return 0;
+	}
+
+	/**
+	 * If non-null, the solver keeps its jump functions in a memory-mapped file within the given
+	 * directory instead of on the heap. This allows solving problems whose exploded super graph
+	 * does not fit into memory, at the cost of reading jump functions from disk once the operating
+	 * system runs out of memory to cache the file. The file is released by
+	 * {@link heros.solver.IDESolver#dispose()}. Returns <code>null</code> by default.
+	 * @see #hotJumpFunctionRows()
+	 */
+	default File jumpFunctionDirectory() {
+		return null;
+	}
+
+	/**
+	 * If jump functions are kept in a file (see {@link #jumpFunctionDirectory()}), returns the
+	 * number of target nodes whose jump functions the solver keeps decoded on the heap.
+	 * The jump functions of the least recently used nodes are written back to the file.
+	 */
+	default int hotJumpFunctionRows() {
+		return 100000;
+	}
+
+	/**
+	 * If true, the solver replaces each fact returned by a flow function by a canonical instance,
+	 * which it looks up in a concurrent intern table that references its facts weakly. Problems whose
+	 * flow functions create many equal but distinct facts then keep only one instance of each fact,
+	 * and the solver's lookups mostly compare facts by identity, provided that their
+	 * {@link Object#equals(Object)} methods check for identity first. Facts returned from a callee
+	 * that carry a calling context are only interned once the solver has restored their context.
+	 */
+	default boolean internFacts() {
+		return false;
+	}
+
+	/**
+	 * If true, the solver hash-conses edge functions and memoizes the results of composing and
+	 * meeting them, so that repeated compositions of the same functions return the same
+	 * canonical function. Only problems whose edge functions are immutable, and whose
+	 * {@link Object#equals(Object)} and {@link Object#hashCode()} agree with
+	 * {@link EdgeFunction#equalTo(EdgeFunction)}, may enable this.
+	 */
+	default boolean hashConsEdgeFunctions() {
+		return false;
+	}
+
+	/**
+	 * Returns the maximal number of flow-function results the solver memoizes, keyed by flow function
+	 * and source fact, or 0 (the default) if results are not memoized. Memoizing pays off for flow
+	 * functions that are expensive to evaluate, as the solver evaluates the same function for the same
+	 * fact once for each source fact that the fact is reached under. Only problems whose flow functions
+	 * compute their targets from the source fact alone may enable this.
+	 */
+	default long flowFunctionResultCacheSize() {
+		return 0;
+	}
+
+	/**
+	 * If true, the solver treats each straight-line run of statements for which
+	 * {@link FlowFunctions#isIdentity(Object)} holds as a single node: a fact that reaches the first
+	 * statement of a run is passed on to the statement after the run right away, without evaluating
+	 * any flow function of the run and without recording path edges at the other statements of the
+	 * run while propagating. Once propagation has terminated, the solver adds their jump functions
+	 * from those at the first statement, so their results are the same as without collapsing.
+	 */
+	default boolean collapseIdentityRuns() {
+		return false;
+	}
 }
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import heros.solver.MethodSummaries;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the nodes and facts of end summaries, so that the summaries computed by one
+ * solver run can be persisted and preloaded by a later run, see {@link MethodSummaries}.
+ * 
+ * Summaries are keyed by a fingerprint of the method they summarize. As the summaries of a
+ * method also cover everything that happens within its callees, the fingerprint must change
+ * whenever the method, any method it may transitively call, or the tabulation problem itself
+ * changes. Fingerprints of different methods must differ.
+ * 
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ * @see IFDSTabulationProblem#summaryCodec()
+ */
+public interface SummaryCodec<N,D,M> {
+
+	/**
+	 * Returns the fingerprint of the given method, or <code>null</code> if the summaries
+	 * of the method should neither be persisted nor preloaded.
+	 */
+	String fingerprint(M method);
+
+	/**
+	 * Writes the given start point or exit statement.
+	 */
+	void writeNode(N node, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a start point or exit statement of the given method.
+	 */
+	N readNode(M method, DataInput in) throws IOException;
+
+	/**
+	 * Writes the given fact, which holds at a start point or an exit statement.
+	 */
+	void writeFact(D fact, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a fact that holds at a start point or an exit statement of the given method.
+	 * The returned fact must equal the fact that was written.
+	 */
+	D readFact(M method, DataInput in) throws IOException;
+
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+/**
+ * Determines the order in which a solver processes the path edges it has discovered.
+ * Whenever the solver schedules a path edge, it asks for the edge's priority; among the
+ * scheduled edges, those with lower priorities are processed first, and edges of equal
+ * priority are processed in the order in which they were scheduled.
+ * 
+ * The order does not affect the results, but may well affect the time needed to compute
+ * them: for IDE problems, a jump function that is propagated before all of its predecessors
+ * have been met must be re-propagated once their contributions arrive.
+ * 
+ * <b>NOTE:</b> Methods defined on this type may be called simultaneously by different threads.
+ * 
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @see IFDSTabulationProblem#worklistOrdering()
+ * @see heros.worklist.ReversePostOrder
+ * @see heros.worklist.CalleeFirst
+ * @see heros.worklist.FewestPendingFacts
+ */
+public interface WorklistOrdering<N,D> {
+
+	/**
+	 * Returns the priority of the path edge from sourceVal at the start point of
+	 * target's method to targetVal at target, at the time it is scheduled.
+	 */
+	long priority(D sourceVal, N target, D targetVal);
+
+	/**
+	 * Called after the given path edge has been processed.
+	 */
+	default void processed(D sourceVal, N target, D targetVal) {
+	}
+
+}
@@ -10,10 +10,14 @@
  ******************************************************************************/
 package heros;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
 public class ZeroedFlowFunctions<N, D, M> implements FlowFunctions<N, D, M> {
 
 	protected final FlowFunctions<N, D, M> delegate;
@@ -58,6 +62,19 @@ public class ZeroedFlowFunctions<N, D, M> implements FlowFunctions<N, D, M> {
 				return del.computeTargets(source);
 			}
 		}
+
+		@Override
+		public SetMultimap<D, D> computeAllTargets(Collection<D> sources) {
+			SetMultimap<D,D> targets = del.computeAllTargets(sources);
+			for(D source: sources) {
+				if(source==zeroValue) {
+					targets = LinkedHashMultimap.create(targets);
+					targets.put(zeroValue, zeroValue);
+					break;
+				}
+			}
+			return targets;
+		}
 		
 	}
 	
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.edgefunc;
+
+import heros.EdgeFunction;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Hash-conses edge functions and memoizes their composition and meet. Composing or meeting
+ * the same two functions repeatedly then returns the same canonical function instead of
+ * allocating a new one each time.
+ *
+ * Compositions and meets are memoized in direct-mapped tables of fixed size, indexed by the
+ * hash codes of the operands. Looking up a memoized result allocates nothing; a result that
+ * is not found is computed and replaces whatever result occupied its slot before.
+ *
+ * This is only sound for edge functions that are immutable and whose
+ * {@link Object#equals(Object)} and {@link Object#hashCode()} methods agree with
+ * {@link EdgeFunction#equalTo(EdgeFunction)}.
+ *
+ * @param <V> The type of values to be computed along flow edges.
+ * @see heros.SolverConfiguration#hashConsEdgeFunctions()
+ */
+public class EdgeFunctionInterner<V> {
+
+	protected final Interner<EdgeFunction<V>> interner = Interners.newWeakInterner();
+
+	protected final AtomicReferenceArray<Memo<V>> compositions;
+
+	protected final AtomicReferenceArray<Memo<V>> meets;
+
+	/**
+	 * @param size The number of compositions and meets that are memoized, each, rounded up to a power of two.
+	 */
+	public EdgeFunctionInterner(int size) {
+		int capacity = Integer.highestOneBit(Math.max(1, Math.min(size, 1 << 30) * 2 - 1));
+		compositions = new AtomicReferenceArray<Memo<V>>(capacity);
+		meets = new AtomicReferenceArray<Memo<V>>(capacity);
+	}
+
+	/**
+	 * Returns the canonical instance of the given function.
+	 */
+	public EdgeFunction<V> intern(EdgeFunction<V> function) {
+		return interner.intern(function);
+	}
+
+	/**
+	 * Returns the canonical instance of <code>first.composeWith(second)</code>.
+	 */
+	public EdgeFunction<V> compose(EdgeFunction<V> first, EdgeFunction<V> second) {
+		//the identity composes to the second function, see EdgeIdentity
+		if(first instanceof EdgeIdentity)
+			return intern(second);
+		int slot = slot(compositions, first, second);
+		Memo<V> memo = compositions.get(slot);
+		if(memo!=null && memo.matches(first, second))
+			return memo.result;
+		EdgeFunction<V> result = intern(first.composeWith(second));
+		compositions.set(slot, new Memo<V>(first, second, result));
+		return result;
+	}
+
+	/**
+	 * Returns the canonical instance of <code>first.meetWith(second)</code>.
+	 */
+	public EdgeFunction<V> meet(EdgeFunction<V> first, EdgeFunction<V> second) {
+		//the meet is idempotent
+		if(first==second)
+			return intern(first);
+		int slot = slot(meets, first, second);
+		Memo<V> memo = meets.get(slot);
+		if(memo!=null && memo.matches(first, second))
+			return memo.result;
+		EdgeFunction<V> result = intern(first.meetWith(second));
+		meets.set(slot, new Memo<V>(first, second, result));
+		return result;
+	}
+
+	private static int slot(AtomicReferenceArray<?> table, Object first, Object second) {
+		int h = 31 * first.hashCode() + second.hashCode();
+		return (h ^ (h >>> 16)) & (table.length() - 1);
+	}
+
+	/**
+	 * The ordered operands of a composition or meet, together with its result.
+	 */
+	protected static class Memo<V> {
+		private final EdgeFunction<V> first, second, result;
+
+		private Memo(EdgeFunction<V> first, EdgeFunction<V> second, EdgeFunction<V> result) {
+			this.first = first;
+			this.second = second;
+			this.result = result;
+		}
+
+		private boolean matches(EdgeFunction<V> first, EdgeFunction<V> second) {
+			return (this.first==first || this.first.equals(first))
+					&& (this.second==second || this.second.equals(second));
+		}
+	}
+
+}
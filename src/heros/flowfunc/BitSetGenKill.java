@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.flowfunc;
+
+import heros.BitSetFlowFunction;
+
+import java.util.BitSet;
+
+/**
+ * Bit-vector function that removes the killed facts and, if the zero value is among the
+ * sources, adds the generated facts. The zero value itself is never killed.
+ */
+public class BitSetGenKill implements BitSetFlowFunction {
+
+	private final BitSet gen;
+	private final BitSet kill;
+	private final int zeroValue;
+
+	/**
+	 * @param gen The numbers of the facts generated from the zero value.
+	 * @param kill The numbers of the facts that are killed.
+	 * @param zeroValue The number of the zero value.
+	 */
+	public BitSetGenKill(BitSet gen, BitSet kill, int zeroValue) {
+		this.gen = (BitSet) gen.clone();
+		this.kill = (BitSet) kill.clone();
+		this.kill.clear(zeroValue);
+		this.zeroValue = zeroValue;
+	}
+
+	public BitSet computeTargets(BitSet sources) {
+		BitSet targets = (BitSet) sources.clone();
+		targets.andNot(kill);
+		if(sources.get(zeroValue))
+			targets.or(gen);
+		return targets;
+	}
+
+}
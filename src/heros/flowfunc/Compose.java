@@ -13,6 +13,7 @@ package heros.flowfunc;
 import heros.FlowFunction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -20,7 +21,9 @@ import com.google.common.collect.Sets;
 
 
 /**
- * Represents the ordered composition of a set of flow functions.
+ * Represents the ordered composition of a set of flow functions. Nested compositions are
+ * flattened when the composition is constructed. Intermediate sets are only created if a
+ * stage maps more than one fact to targets.
  */
 public class Compose<D> implements FlowFunction<D> {
 	
@@ -31,22 +34,49 @@ public class Compose<D> implements FlowFunction<D> {
 	} 
 
 	public Set<D> computeTargets(D source) {
-		Set<D> curr = Sets.newHashSet();
-		curr.add(source);
-		for (FlowFunction<D> func : funcs) {
-			Set<D> next = Sets.newHashSet();
-			for(D d: curr)
-				next.addAll(func.computeTargets(d));
-			curr = next;
+		if(funcs.length==0)
+			return Collections.singleton(source);
+		Set<D> curr = funcs[0].computeTargets(source);
+		for (int i = 1; i < funcs.length; i++) {
+			FlowFunction<D> func = funcs[i];
+			if(curr.isEmpty())
+				return curr;
+			if(curr.size()==1) {
+				curr = func.computeTargets(curr.iterator().next());
+				continue;
+			}
+			//as in Union, the first non-empty targets are only copied once further targets are added
+			Set<D> next = null;
+			boolean copied = false;
+			for(D d: curr) {
+				Set<D> targets = func.computeTargets(d);
+				if(targets.isEmpty())
+					continue;
+				if(next==null) {
+					next = targets;
+				} else if(copied) {
+					next.addAll(targets);
+				} else if(!next.containsAll(targets)) {
+					next = Sets.newHashSet(next);
+					next.addAll(targets);
+					copied = true;
+				}
+			}
+			curr = next==null ? Collections.<D>emptySet() : next;
 		}
 		return curr;
 	}
-
+	
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public static <D> FlowFunction<D> compose(FlowFunction<D>... funcs) {
 		List<FlowFunction<D>> list = new ArrayList<FlowFunction<D>>();
 		for (FlowFunction<D> f : funcs) {
-			if(f!=Identity.v()) {
+			if(f==KillAll.v()) {
+				//nothing flows through any composition containing the empty function
+				return KillAll.v();
+			} else if(f instanceof Compose) {
+				Collections.addAll(list, ((Compose<D>) f).funcs);
+			} else if(f!=Identity.v()) {
 				list.add(f);
 			}
 		}
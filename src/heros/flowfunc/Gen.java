@@ -28,14 +28,19 @@ public class Gen<D> implements FlowFunction<D> {
 	
 	private final D genValue;
 	private final D zeroValue;
+	//the targets of the zero value, shared by all calls that pass the zero value itself
+	private final Set<D> zeroTargets;
 	
 	public Gen(D genValue, D zeroValue){
 		this.genValue = genValue;
 		this.zeroValue = zeroValue;
+		this.zeroTargets = twoElementSet(zeroValue, genValue);
 	} 
 
 	public Set<D> computeTargets(D source) {
-		if(source.equals(zeroValue)) {
+		if(source==zeroValue) {
+			return zeroTargets;
+		} else if(source.equals(zeroValue)) {
 			return twoElementSet(source, genValue);
 		} else {
 			return singleton(source);
@@ -22,14 +22,19 @@ public class Transfer<D> implements FlowFunction<D> {
 	
 	private final D toValue;
 	private final D fromValue;
+	//the targets of fromValue, shared by all calls that pass fromValue itself
+	private final Set<D> fromTargets;
 	
 	public Transfer(D toValue, D fromValue){
 		this.toValue = toValue;
 		this.fromValue = fromValue;
+		this.fromTargets = twoElementSet(fromValue, toValue);
 	} 
 
 	public Set<D> computeTargets(D source) {
-		if(source.equals(fromValue)) {
+		if(source==fromValue) {
+			return fromTargets;
+		} else if(source.equals(fromValue)) {
 			return twoElementSet(source, toValue);
 		} else if(source.equals(toValue)) {
 			return Collections.emptySet();
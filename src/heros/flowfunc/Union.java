@@ -10,16 +10,18 @@
  ******************************************************************************/
 package heros.flowfunc;
 
-import static com.google.common.collect.Sets.newHashSet;
 import heros.FlowFunction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import com.google.common.collect.Sets;
 
 /**
- * Represents the union of a set of flow functions.
+ * Represents the union of a set of flow functions. Nested unions are flattened when
+ * the union is constructed, so that the targets are computed in a single pass.
  */
 public class Union<D> implements FlowFunction<D> {
 	
@@ -30,23 +32,44 @@ public class Union<D> implements FlowFunction<D> {
 	} 
 
 	public Set<D> computeTargets(D source) {
-		Set<D> res = newHashSet();
+		//the targets of a single contributing function are returned as they are,
+		//a new set is only created once a second function contributes further targets
+		Set<D> res = null;
+		boolean copied = false;
 		for (FlowFunction<D> func : funcs) {
-			res.addAll(func.computeTargets(source));
+			Set<D> targets = func.computeTargets(source);
+			if(targets.isEmpty())
+				continue;
+			if(res==null) {
+				res = targets;
+			} else if(copied) {
+				res.addAll(targets);
+			} else if(!res.containsAll(targets)) {
+				res = Sets.newHashSet(res);
+				res.addAll(targets);
+				copied = true;
+			}
 		}
-		return res;
+		return res==null ? Collections.<D>emptySet() : res;
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public static <D> FlowFunction<D> union(FlowFunction<D>... funcs) {
 		List<FlowFunction<D>> list = new ArrayList<FlowFunction<D>>();
+		boolean killAll = false;
 		for (FlowFunction<D> f : funcs) {
-			if(f!=Identity.v()) {
+			if(f instanceof Union) {
+				for (FlowFunction<D> g : ((Union<D>) f).funcs) {
+					if(!list.contains(g))
+						list.add(g);
+				}
+			} else if(f!=Identity.v() && f!=KillAll.v() && !list.contains(f)) {
 				list.add(f);
 			}
+			killAll |= f==KillAll.v();
 		}
 		if(list.size()==1) return list.get(0);
-		else if(list.isEmpty()) return Identity.v();
+		else if(list.isEmpty()) return killAll ? KillAll.v() : Identity.v();
 		return new Union(list.toArray(new FlowFunction[list.size()]));
 	}
 	
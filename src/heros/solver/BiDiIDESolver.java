@@ -20,6 +20,7 @@ import heros.InterproceduralCFG;
 import heros.MeetLattice;
 import heros.solver.IFDSSolver.BinaryDomain;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -56,7 +57,7 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 
 	private final IDETabulationProblem<N, AbstractionWithSourceStmt, M,V, I> forwardProblem;
 	private final IDETabulationProblem<N, AbstractionWithSourceStmt, M,V, I> backwardProblem;
-	private final CountingThreadPoolExecutor sharedExecutor;
+	private final CountingExecutor sharedExecutor;
 	protected SingleDirectionSolver fwSolver;
 	protected SingleDirectionSolver bwSolver;
 
@@ -69,7 +70,13 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 		}
 		this.forwardProblem = new AugmentedTabulationProblem(forwardProblem);
 		this.backwardProblem = new AugmentedTabulationProblem(backwardProblem);
-		this.sharedExecutor = new CountingThreadPoolExecutor(Math.max(1,forwardProblem.numThreads()), Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		int numThreads = Math.max(1,forwardProblem.numThreads());
+		if(forwardProblem.methodAffinity())
+			this.sharedExecutor = new CountingAffinityExecutor(numThreads);
+		else if(forwardProblem.workStealing())
+			this.sharedExecutor = new CountingForkJoinExecutor(numThreads);
+		else
+			this.sharedExecutor = new CountingThreadPoolExecutor(numThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
 	}
 	
 	public void solve() {		
@@ -85,6 +92,10 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 		//(note that they both share the same executor, see below)
 		//note to self: the order of the two should not matter
 		fwSolver.solve();
+
+		//results are read from the computed values only
+		fwSolver.dispose();
+		bwSolver.dispose();
 	}
 	
 	/**
@@ -252,7 +263,7 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 		/* we share the same executor; this will cause the call to solve() above to block
 		 * until both solvers have finished
 		 */ 
-		protected CountingThreadPoolExecutor getExecutor() {
+		protected CountingExecutor getExecutor() {
 			return sharedExecutor;
 		}
 		
@@ -390,6 +401,12 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 					};
 				}
 				
+				@Override
+				public boolean isIdentity(N stmt) {
+					//identities keep the source statements as they are
+					return originalFunctions.isIdentity(stmt);
+				}
+
 				private Set<AbstractionWithSourceStmt> copyOverSourceStmts(AbstractionWithSourceStmt source, FlowFunction<D> originalFunction) {
 					D originalAbstraction = source.getAbstraction();
 					Set<D> origTargets = originalFunction.computeTargets(originalAbstraction);
@@ -493,6 +510,56 @@ public class BiDiIDESolver<N, D, M, V, I extends InterproceduralCFG<N, M>> {
 			return delegate.recordEdges();
 		}
 
+		@Override
+		public boolean workStealing() {
+			return delegate.workStealing();
+		}
+
+		@Override
+		public int pathEdgeBatchSize() {
+			return delegate.pathEdgeBatchSize();
+		}
+
+		@Override
+		public boolean methodAffinity() {
+			return delegate.methodAffinity();
+		}
+
+		@Override
+		public boolean internFacts() {
+			return delegate.internFacts();
+		}
+
+		@Override
+		public boolean hashConsEdgeFunctions() {
+			return delegate.hashConsEdgeFunctions();
+		}
+
+		@Override
+		public long flowFunctionResultCacheSize() {
+			return delegate.flowFunctionResultCacheSize();
+		}
+
+		@Override
+		public boolean collapseIdentityRuns() {
+			return delegate.collapseIdentityRuns();
+		}
+
+		@Override
+		public int jumpFunctionCollectionInterval() {
+			return delegate.jumpFunctionCollectionInterval();
+		}
+
+		@Override
+		public File jumpFunctionDirectory() {
+			return delegate.jumpFunctionDirectory();
+		}
+
+		@Override
+		public int hotJumpFunctionRows() {
+			return delegate.hotJumpFunctionRows();
+		}
+
 	}
 	
 }
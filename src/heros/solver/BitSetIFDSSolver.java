@@ -0,0 +1,484 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import heros.BitSetFlowFunction;
+import heros.BitSetFlowFunctions;
+import heros.BitSetTabulationProblem;
+import heros.DontSynchronize;
+import heros.FactDomain;
+import heros.InterproceduralCFG;
+import heros.SynchronizedBy;
+import heros.solver.CalleeContext.EndSummary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A solver for a {@link BitSetTabulationProblem}, i.e., an IFDS problem over a small and dense
+ * fact domain. Just as the {@link ReachabilityIFDSSolver}, this solver tabulates plain path edges
+ * without edge functions, but it represents the facts reachable at a node from a fact at the
+ * start point of the node's method as a {@link BitSet}. The solver propagates sets of newly
+ * reached facts along the control flow and applies the problem's {@link BitSetFlowFunctions}
+ * to such sets as a whole; only the facts flowing into and out of callees are processed one at
+ * a time, to maintain the calling contexts.
+ *
+ * Of the options of the tabulation problem, this solver honors {@link BitSetTabulationProblem#numThreads()},
+ * {@link BitSetTabulationProblem#followReturnsPastSeeds()}, {@link BitSetTabulationProblem#autoAddZero()},
+ * {@link BitSetTabulationProblem#workStealing()} and {@link BitSetTabulationProblem#methodAffinity()}.
+ * As facts are processed as sets of numbers, {@link BitSetTabulationProblem#internFacts()} and
+ * {@link BitSetTabulationProblem#flowFunctionResultCacheSize()} are ignored, just as the options that
+ * tune the IDE machinery.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ * @param <I> The type of inter-procedural control-flow graph being used.
+ */
+public class BitSetIFDSSolver<N,D,M,I extends InterproceduralCFG<N, M>> {
+
+    protected static final Logger logger = LoggerFactory.getLogger(BitSetIFDSSolver.class);
+
+	protected CountingExecutor executor;
+
+	@DontSynchronize("only used by single thread")
+	protected final int numThreads;
+
+	@SynchronizedBy("thread safe data structure, PathEdgeRow is thread safe")
+	protected final ConcurrentMap<N,PathEdgeRow> pathEdges = new ConcurrentHashMap<N,PathEdgeRow>();
+
+	@SynchronizedBy("thread safe data structure, only modified internally")
+	protected final I icfg;
+
+	//stores, per exploded start node <sP,d>, the incoming call edges and the summaries
+	//that were queried before they were computed; end summaries carry no function
+	@SynchronizedBy("use of ConcurrentHashMap, CalleeContext is thread safe")
+	protected final ConcurrentMap<N,ConcurrentMap<Integer,CalleeContext<N,Integer,Void>>> calleeContexts = new ConcurrentHashMap<N,ConcurrentMap<Integer,CalleeContext<N,Integer,Void>>>();
+
+	@DontSynchronize("stateless")
+	protected final BitSetFlowFunctions<N,M> flowFunctions;
+
+	@DontSynchronize("stateless")
+	protected final FactDomain<D> factDomain;
+
+	@DontSynchronize("only used by single thread")
+	protected final Map<N,Set<D>> initialSeeds;
+
+	@DontSynchronize("stateless")
+	protected final int zeroValue;
+
+	@DontSynchronize("readOnly")
+	protected final boolean autoAddZero;
+
+	@DontSynchronize("readOnly")
+	protected final boolean followReturnsPastSeeds;
+
+	@DontSynchronize("readOnly")
+	protected final boolean workStealing;
+
+	@DontSynchronize("readOnly")
+	protected final boolean methodAffinity;
+
+	@DontSynchronize("benign races")
+	public long flowFunctionConstructionCount;
+
+	@DontSynchronize("benign races")
+	public long propagationCount;
+
+	/**
+	 * Creates a solver for the given problem. The solver must then be started by calling {@link #solve()}.
+	 */
+	public BitSetIFDSSolver(BitSetTabulationProblem<N,D,M,I> tabulationProblem) {
+		this.icfg = tabulationProblem.interproceduralCFG();
+		this.flowFunctions = tabulationProblem.bitSetFlowFunctions();
+		this.factDomain = tabulationProblem.factNumbering();
+		this.zeroValue = factDomain.numberOf(tabulationProblem.zeroValue());
+		this.initialSeeds = tabulationProblem.initialSeeds();
+		this.autoAddZero = tabulationProblem.autoAddZero();
+		this.followReturnsPastSeeds = tabulationProblem.followReturnsPastSeeds();
+		this.numThreads = Math.max(1,tabulationProblem.numThreads());
+		this.workStealing = tabulationProblem.workStealing();
+		this.methodAffinity = tabulationProblem.methodAffinity();
+		this.executor = getExecutor();
+	}
+
+	/**
+	 * Runs the solver on the configured problem. This can take some time.
+	 */
+	public void solve() {
+		submitInitialSeeds();
+		try {
+			executor.awaitCompletion();
+		} catch (InterruptedException e) {
+			//a failing worker interrupts the waiting thread; its failure is rethrown below
+			if(executor.getException()==null) {
+				logger.error("Interrupted while awaiting the completion of the IFDS analysis", e);
+				executor.shutdown();
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("The IFDS analysis was interrupted. Exiting.",e);
+			}
+		}
+		executor.shutdown();
+		Throwable exception = executor.getException();
+		if(exception!=null) {
+			throw new RuntimeException("There were exceptions during IFDS analysis. Exiting.",exception);
+		}
+		if(logger.isDebugEnabled())
+			printStats();
+	}
+
+	/**
+	 * Schedules the processing of initial seeds, initiating the analysis.
+	 */
+	protected void submitInitialSeeds() {
+		for(Entry<N, Set<D>> seed: initialSeeds.entrySet()) {
+			N startPoint = seed.getKey();
+			BitSet vals = new BitSet();
+			for(D val: seed.getValue())
+				vals.set(factDomain.numberOf(val));
+			propagate(zeroValue, startPoint, vals);
+			row(startPoint).add(zeroValue, singleton(zeroValue));
+		}
+	}
+
+	/**
+	 * Returns the set of facts that hold at the given statement.
+	 */
+	public Set<D> ifdsResultsAt(N statement) {
+		PathEdgeRow row = pathEdges.get(statement);
+		if(row==null)
+			return Collections.emptySet();
+		BitSet facts = row.targets();
+		//filter out the artificial zero-value
+		facts.clear(zeroValue);
+		Set<D> res = new LinkedHashSet<D>();
+		for(int d = facts.nextSetBit(0); d >= 0; d = facts.nextSetBit(d + 1))
+			res.add(factDomain.factOf(d));
+		return res;
+	}
+
+	/**
+	 * Processes the given facts at a call site, reached from fact d1 at the start point.
+	 * For each possible callee, registers incoming call edges and applies the callee's summaries.
+	 * Also propagates call-to-return flows within the caller.
+	 */
+	private void processCall(int d1, N n, BitSet facts) {
+		Collection<N> returnSiteNs = icfg.getReturnSitesOfCallAt(n);
+
+		//for each possible callee
+		for(M sCalledProcN: icfg.getCalleesOfCallAt(n)) {
+			BitSetFlowFunction function = flowFunctions.getCallFlowFunction(n, sCalledProcN);
+			flowFunctionConstructionCount++;
+			//facts are mapped into the callee one at a time, as each one needs a context of its own
+			for(int d2 = facts.nextSetBit(0); d2 >= 0; d2 = facts.nextSetBit(d2 + 1)) {
+				BitSet res = computeTargets(function, singleton(d2));
+				for(N sP: icfg.getStartPointsOf(sCalledProcN)) {
+					for(int d3 = res.nextSetBit(0); d3 >= 0; d3 = res.nextSetBit(d3 + 1)) {
+						//create initial self-loop
+						propagate(d3, sP, singleton(d3));
+
+						//register the fact that <sp,d3> has an incoming edge from <n,d2>
+						CalleeContext<N,Integer,Void> calleeContext = calleeContext(sP, d3);
+						long stamp = calleeContext.addIncoming(n, d2);
+
+						//for each exit statement, the exit facts reachable from <sP,d3> registered before
+						//our incoming edge are returned at once; later summaries are handled by processExit(..)
+						for(Entry<N, ? extends Map<Integer, EndSummary<Void>>> exitEntry: calleeContext.endSummaries().entrySet()) {
+							N eP = exitEntry.getKey();
+							BitSet exitFacts = new BitSet();
+							for(Entry<Integer, EndSummary<Void>> entry: exitEntry.getValue().entrySet()) {
+								if(entry.getValue().registeredBefore(stamp))
+									exitFacts.set(entry.getKey());
+							}
+							if(exitFacts.isEmpty())
+								continue;
+							for(N retSiteN: returnSiteNs) {
+								BitSetFlowFunction retFunction = flowFunctions.getReturnFlowFunction(n, sCalledProcN, eP, retSiteN);
+								flowFunctionConstructionCount++;
+								propagate(d1, retSiteN, computeTargets(retFunction, exitFacts));
+							}
+						}
+					}
+				}
+			}
+		}
+		//process intra-procedural flows along call-to-return flow functions
+		for (N returnSiteN : returnSiteNs) {
+			BitSetFlowFunction callToReturnFlowFunction = flowFunctions.getCallToReturnFlowFunction(n, returnSiteN);
+			flowFunctionConstructionCount++;
+			propagate(d1, returnSiteN, computeTargets(callToReturnFlowFunction, facts));
+		}
+	}
+
+	/**
+	 * Processes the given facts at an exit statement, reached from fact d1 at the start point.
+	 * Registers them as end summaries and returns them to all incoming call edges registered so far.
+	 */
+	private void processExit(int d1, N n, BitSet facts) {
+		M methodThatNeedsSummary = icfg.getMethodOf(n);
+
+		//for each of the method's start points, determine incoming calls
+		boolean hasIncoming = false;
+		for(N sP: icfg.getStartPointsOf(methodThatNeedsSummary)) {
+			//register end-summaries; call edges registered after the last of them pick up all of them
+			//themselves, while call edges registered in between are processed twice, which is harmless
+			CalleeContext<N,Integer,Void> calleeContext = calleeContext(sP, d1);
+			long stamp = 0;
+			for(int d2 = facts.nextSetBit(0); d2 >= 0; d2 = facts.nextSetBit(d2 + 1))
+				stamp = calleeContext.addEndSummary(n, d2, null);
+
+			//for each incoming call edge already processed
+			for(N c: calleeContext.incomingCallSites()) {
+				Set<Integer> callerSideDs = calleeContext.incomingFacts(c, stamp);
+				if(callerSideDs.isEmpty())
+					continue;
+				hasIncoming = true;
+				BitSet callerFacts = new BitSet();
+				for(int d4: callerSideDs)
+					callerFacts.set(d4);
+				//the facts at the caller's start point from which the call was reached
+				BitSet callerSources = row(c).sourcesOf(callerFacts);
+				for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
+					BitSetFlowFunction retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
+					flowFunctionConstructionCount++;
+					BitSet targets = computeTargets(retFunction, facts);
+					for(int d3 = callerSources.nextSetBit(0); d3 >= 0; d3 = callerSources.nextSetBit(d3 + 1))
+						propagate(d3, retSiteC, targets);
+				}
+			}
+		}
+
+		//handling for unbalanced problems where we return out of a method with a fact for which we have no incoming flow
+		//note: we propagate that way only values that originate from ZERO, as conditionally generated values should only
+		//be propagated into callers that have an incoming edge for this condition
+		if(followReturnsPastSeeds && !hasIncoming && d1==zeroValue) {
+			Collection<N> callers = icfg.getCallersOf(methodThatNeedsSummary);
+			for(N c: callers) {
+				for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
+					BitSetFlowFunction retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
+					flowFunctionConstructionCount++;
+					propagate(zeroValue, retSiteC, computeTargets(retFunction, facts));
+				}
+			}
+			//in cases where there are no callers, the return statement would normally not be processed at all;
+			//this might be undesirable if the flow function has a side effect such as registering a taint;
+			//instead we thus call the return flow function will a null caller
+			if(callers.isEmpty()) {
+				BitSetFlowFunction retFunction = flowFunctions.getReturnFlowFunction(null, methodThatNeedsSummary,n,null);
+				flowFunctionConstructionCount++;
+				retFunction.computeTargets(facts);
+			}
+		}
+	}
+
+	/**
+	 * Propagates the given facts, reached at a normal statement from fact d1 at the start point,
+	 * to the statement's successors.
+	 */
+	private void processNormalFlow(int d1, N n, BitSet facts) {
+		for (N m : icfg.getSuccsOf(n)) {
+			BitSetFlowFunction flowFunction = flowFunctions.getNormalFlowFunction(n,m);
+			flowFunctionConstructionCount++;
+			propagate(d1, m, computeTargets(flowFunction, facts));
+		}
+	}
+
+	/**
+	 * Applies the given flow function, adding the zero value to the targets
+	 * if it is among the sources and the problem asks to do so.
+	 */
+	private BitSet computeTargets(BitSetFlowFunction function, BitSet sources) {
+		BitSet targets = function.computeTargets(sources);
+		if(autoAddZero && sources.get(zeroValue) && !targets.get(zeroValue)) {
+			targets = (BitSet) targets.clone();
+			targets.set(zeroValue);
+		}
+		return targets;
+	}
+
+	/**
+	 * Records the path edges from fact sourceVal at the start point to the given facts at the target,
+	 * and schedules those of them that were not known before for processing.
+	 */
+	protected void propagate(int sourceVal, N target, BitSet targetVals) {
+		if(targetVals.isEmpty())
+			return;
+		BitSet newVals = row(target).add(sourceVal, targetVals);
+		if(newVals==null)
+			return;
+		scheduleEdgeProcessing(new PathEdgeProcessingTask(sourceVal, target, newVals), target);
+	}
+
+	private PathEdgeRow row(N target) {
+		PathEdgeRow row = pathEdges.get(target);
+		if(row==null) {
+			row = new PathEdgeRow();
+			PathEdgeRow existing = pathEdges.putIfAbsent(target, row);
+			if(existing!=null) row = existing;
+		}
+		return row;
+	}
+
+	private static BitSet singleton(int fact) {
+		BitSet res = new BitSet(fact + 1);
+		res.set(fact);
+		return res;
+	}
+
+	protected CalleeContext<N,Integer,Void> calleeContext(N sP, int d) {
+		ConcurrentMap<Integer,CalleeContext<N,Integer,Void>> contextsAtStartPoint = calleeContexts.get(sP);
+		if(contextsAtStartPoint==null) {
+			contextsAtStartPoint = new ConcurrentHashMap<Integer,CalleeContext<N,Integer,Void>>();
+			ConcurrentMap<Integer,CalleeContext<N,Integer,Void>> existing = calleeContexts.putIfAbsent(sP, contextsAtStartPoint);
+			if(existing!=null) contextsAtStartPoint = existing;
+		}
+		CalleeContext<N,Integer,Void> context = contextsAtStartPoint.get(d);
+		if(context==null) {
+			context = new CalleeContext<N,Integer,Void>();
+			CalleeContext<N,Integer,Void> existing = contextsAtStartPoint.putIfAbsent(d, context);
+			if(existing!=null) context = existing;
+		}
+		return context;
+	}
+
+	/**
+	 * Dispatch the processing of a given task. It may be executed in a different thread.
+	 */
+	private void scheduleEdgeProcessing(Runnable task, N target) {
+		// If the executor has been killed, there is little point
+		// in submitting new tasks
+		if (executor.isTerminating())
+			return;
+		propagationCount++;
+		if(executor instanceof CountingAffinityExecutor)
+			((CountingAffinityExecutor) executor).execute(task, icfg.getMethodOf(target));
+		else
+			executor.execute(task);
+	}
+
+	/**
+	 * Factory method for this solver's executor. Returns an executor routing path edges by method
+	 * if {@link BitSetTabulationProblem#methodAffinity()} is enabled, a work-stealing executor
+	 * if {@link BitSetTabulationProblem#workStealing()} is enabled, and a thread-pool
+	 * executor with a single shared work queue otherwise.
+	 */
+	protected CountingExecutor getExecutor() {
+		if(methodAffinity)
+			return new CountingAffinityExecutor(this.numThreads);
+		if(workStealing)
+			return new CountingForkJoinExecutor(this.numThreads);
+		return new CountingThreadPoolExecutor(this.numThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	public void printStats() {
+		if(logger.isDebugEnabled()) {
+			logger.debug("{} sets of path edges propagated", propagationCount);
+		} else {
+			logger.info("No statistics were collected, as DEBUG is disabled.");
+		}
+	}
+
+	/**
+	 * The path edges into a single node, as a mapping from the fact at the start point
+	 * to the set of facts at the node.
+	 */
+	protected static class PathEdgeRow {
+
+		//indexed by the number of the fact at the start point
+		private BitSet[] targetsBySource = new BitSet[0];
+
+		/**
+		 * Adds the given facts as targets of the given source.
+		 * @return The facts that were not targets before, or <code>null</code> if there are none.
+		 */
+		public synchronized BitSet add(int source, BitSet targets) {
+			if(source >= targetsBySource.length)
+				targetsBySource = Arrays.copyOf(targetsBySource, Math.max(source + 1, 2 * targetsBySource.length));
+			BitSet existing = targetsBySource[source];
+			BitSet added = (BitSet) targets.clone();
+			if(existing==null) {
+				targetsBySource[source] = (BitSet) targets.clone();
+				return added;
+			}
+			added.andNot(existing);
+			if(added.isEmpty())
+				return null;
+			existing.or(added);
+			return added;
+		}
+
+		/**
+		 * Returns the sources that reach at least one of the given facts.
+		 */
+		public synchronized BitSet sourcesOf(BitSet targets) {
+			BitSet sources = new BitSet();
+			for(int source=0; source<targetsBySource.length; source++) {
+				BitSet existing = targetsBySource[source];
+				if(existing!=null && existing.intersects(targets))
+					sources.set(source);
+			}
+			return sources;
+		}
+
+		/**
+		 * Returns the facts reached from any source.
+		 */
+		public synchronized BitSet targets() {
+			BitSet res = new BitSet();
+			for(BitSet existing: targetsBySource) {
+				if(existing!=null)
+					res.or(existing);
+			}
+			return res;
+		}
+	}
+
+	private class PathEdgeProcessingTask implements Runnable {
+		private final int source;
+		private final N target;
+		private final BitSet facts;
+
+		public PathEdgeProcessingTask(int source, N target, BitSet facts) {
+			this.source = source;
+			this.target = target;
+			this.facts = facts;
+		}
+
+		public void run() {
+			if(icfg.isCallStmt(target)) {
+				processCall(source, target, facts);
+			} else {
+				//note that some statements, such as "throw" may be
+				//both an exit statement and a "normal" statement
+				if(icfg.isExitStmt(target)) {
+					processExit(source, target, facts);
+				}
+				if(!icfg.getSuccsOf(target).isEmpty()) {
+					processNormalFlow(source, target, facts);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import heros.EdgeFunction;
+import heros.SynchronizedBy;
+import heros.ThreadSafe;
+import heros.utilities.CompactMap;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+import com.google.common.collect.Table.Cell;
+
+/**
+ * The incoming call edges and the end summaries of a callee-side context, i.e., of a
+ * start point sP together with a fact d at sP. See the CC 2010 paper by Naeem, Lhotak and Rodriguez.
+ * 
+ * Both collections are append-only (an end summary may be replaced by a more precise
+ * function) and can be iterated while other threads add to them. To avoid that a call
+ * edge and an end summary that are registered concurrently miss each other, each
+ * registration atomically receives a stamp that is larger than the stamps of all
+ * previous registrations. A thread that registers an incoming edge then has to
+ * process all end summaries with a smaller stamp, and vice versa. This way, each pair
+ * of incoming edge and end summary is processed exactly once, and only registration
+ * requires a lock on this context.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <V> The type of values to be computed along flow edges.
+ */
+@ThreadSafe
+public class CalleeContext<N,D,V> {
+
+	//rows up to this size are copied on modification
+	private static final int COPY_ON_WRITE_LIMIT = 8;
+
+	@SynchronizedBy("consistent lock on this")
+	private long nextStamp = 0;
+
+	@SynchronizedBy("consistent lock on this")
+	private boolean preloaded = false;
+
+	//call site -> fact at call site -> stamp
+	@SynchronizedBy("concurrent map of immutable or concurrent rows, modifications under lock on this")
+	private final ConcurrentMap<N,Map<D,Long>> incoming = new ConcurrentHashMap<N,Map<D,Long>>();
+
+	//exit statement -> fact at exit statement -> summary
+	@SynchronizedBy("concurrent map of immutable or concurrent rows, modifications under lock on this")
+	private final ConcurrentMap<N,Map<D,EndSummary<V>>> endSummaries = new ConcurrentHashMap<N,Map<D,EndSummary<V>>>();
+
+	/**
+	 * Registers an incoming call edge from the given call site and caller-side fact.
+	 * @return The stamp of this registration.
+	 */
+	public synchronized long addIncoming(N callSite, D callerFact) {
+		long stamp = nextStamp++;
+		Map<D,Long> facts = incoming.get(callSite);
+		if(facts==null || !facts.containsKey(callerFact))
+			put(incoming, callSite, facts, callerFact, stamp);
+		return stamp;
+	}
+
+	/**
+	 * Removes all incoming call edges from the given call sites.
+	 */
+	public synchronized void removeIncoming(Set<N> callSites) {
+		incoming.keySet().removeAll(callSites);
+	}
+
+	/**
+	 * Registers (or replaces) the end summary for the given exit statement and fact.
+	 * @return The stamp of this registration.
+	 */
+	public synchronized long addEndSummary(N exitStmt, D exitFact, EdgeFunction<V> function) {
+		long stamp = nextStamp++;
+		put(endSummaries, exitStmt, endSummaries.get(exitStmt), exitFact, new EndSummary<V>(function, stamp));
+		return stamp;
+	}
+
+	/**
+	 * Puts the given entry into the given row of the given map. Most rows hold only a few entries;
+	 * these are kept in immutable {@link CompactMap}s, which are copied on modification, so that
+	 * other threads can read them without locking. Larger rows are replaced by concurrent maps.
+	 */
+	private static <R,K,T> void put(ConcurrentMap<R,Map<K,T>> map, R rowKey, Map<K,T> row, K key, T value) {
+		if(row instanceof ConcurrentMap) {
+			row.put(key, value);
+			return;
+		}
+		Map<K,T> newRow;
+		if(row==null)
+			newRow = new CompactMap<K,T>();
+		else if(row.size() < COPY_ON_WRITE_LIMIT)
+			newRow = new CompactMap<K,T>(row);
+		else
+			newRow = new ConcurrentHashMap<K,T>(row);
+		newRow.put(key, value);
+		//publishes the new row safely
+		map.put(rowKey, newRow);
+	}
+
+	/**
+	 * Registers the given end summaries, which were persisted by an earlier run, unless summaries
+	 * have been preloaded into this context before. As this happens atomically, all preloaded
+	 * summaries are registered before any registration that happens after this method returns.
+	 */
+	public synchronized void preload(Table<N,D,EdgeFunction<V>> summaries) {
+		if(preloaded)
+			return;
+		preloaded = true;
+		for(Cell<N,D,EdgeFunction<V>> cell: summaries.cellSet())
+			addEndSummary(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+	}
+
+	/**
+	 * Returns all call sites from which incoming edges have been registered.
+	 * The returned set is a weakly consistent view.
+	 */
+	public Set<N> incomingCallSites() {
+		return Collections.unmodifiableSet(incoming.keySet());
+	}
+
+	/**
+	 * Returns the caller-side facts of all incoming edges from the given call site that
+	 * have been registered with a stamp smaller than the given one.
+	 * The returned set is a weakly consistent view.
+	 */
+	public Set<D> incomingFacts(N callSite, final long stampBound) {
+		Map<D,Long> facts = incoming.get(callSite);
+		if(facts==null) return Collections.emptySet();
+		return Maps.filterValues(facts, new Predicate<Long>() {
+			@Override
+			public boolean apply(Long stamp) {
+				return stamp < stampBound;
+			}
+		}).keySet();
+	}
+
+	/**
+	 * Returns all incoming edges registered so far, as a mapping from call site to
+	 * the facts at the call site. The returned map is a weakly consistent view.
+	 */
+	public Map<N,Set<D>> incoming() {
+		return Maps.transformValues(incoming, new com.google.common.base.Function<Map<D,Long>,Set<D>>() {
+			@Override
+			public Set<D> apply(Map<D,Long> facts) {
+				return Collections.unmodifiableSet(facts.keySet());
+			}
+		});
+	}
+
+	/**
+	 * Returns all end summaries registered so far, as a mapping from exit statement to
+	 * the fact at the exit statement and the summary. The returned map is a weakly consistent view.
+	 */
+	public Map<N,? extends Map<D,EndSummary<V>>> endSummaries() {
+		return Collections.unmodifiableMap(endSummaries);
+	}
+
+	/**
+	 * An end summary of a callee, i.e., the jump function from the start point to an exit statement.
+	 */
+	public static class EndSummary<V> {
+
+		private final EdgeFunction<V> function;
+		private final long stamp;
+
+		private EndSummary(EdgeFunction<V> function, long stamp) {
+			this.function = function;
+			this.stamp = stamp;
+		}
+
+		public EdgeFunction<V> getFunction() {
+			return function;
+		}
+
+		/**
+		 * Returns <code>true</code> if this summary was registered before the registration
+		 * with the given stamp.
+		 */
+		public boolean registeredBefore(long stamp) {
+			return this.stamp < stamp;
+		}
+	}
+
+}
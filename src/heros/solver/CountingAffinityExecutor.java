@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CountingExecutor} that routes tasks to worker threads by an affinity key. Each worker
+ * owns a queue of its own, and tasks submitted with the same key always end up in the same queue,
+ * so that they are processed by the same thread as long as the load is balanced. Workers with an
+ * empty queue steal from the other end of other workers' queues.
+ *
+ * Tasks that are submitted without a key are enqueued at the submitting worker, or distributed
+ * round-robin if submitted from outside this executor.
+ *
+ * Just as the {@link CountingThreadPoolExecutor}, this executor counts the number of spawned
+ * tasks to allow clients to await their completion, and shuts down as soon as a task fails.
+ */
+public class CountingAffinityExecutor implements CountingExecutor {
+
+    protected static final Logger logger = LoggerFactory.getLogger(CountingAffinityExecutor.class);
+
+	//time after which an idle worker looks for work to steal even if it has not been woken up
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	protected final Worker[] workers;
+
+    protected final CountLatch numRunningTasks = new CountLatch(0);
+
+	protected volatile Throwable exception = null;
+
+	protected volatile boolean shutdown = false;
+
+	private final AtomicInteger numIdleWorkers = new AtomicInteger();
+
+	private final AtomicInteger nextShard = new AtomicInteger();
+
+	/**
+	 * @param numThreads The number of worker threads.
+	 */
+	public CountingAffinityExecutor(int numThreads) {
+		this.workers = new Worker[Math.max(1, numThreads)];
+		for(int i=0; i<workers.length; i++)
+			workers[i] = new Worker(i);
+		for(Worker worker: workers)
+			worker.start();
+	}
+
+	/**
+	 * Executes the given task on the worker the current thread belongs to, or on the next
+	 * worker in round-robin order if the current thread is not a worker of this executor.
+	 */
+	@Override
+	public void execute(Runnable command) {
+		Thread current = Thread.currentThread();
+		int shard;
+		if(current instanceof Worker && ((Worker) current).executor() == this)
+			shard = ((Worker) current).index;
+		else
+			shard = Math.floorMod(nextShard.getAndIncrement(), workers.length);
+		submit(shard, command);
+	}
+
+	/**
+	 * Executes the given task on the worker that is responsible for the given key.
+	 * Tasks with equal keys are routed to the same worker unless they get stolen by an idle one.
+	 */
+	public void execute(Runnable command, Object affinityKey) {
+		submit(shardFor(affinityKey), command);
+	}
+
+	/**
+	 * Returns the index of the worker that is responsible for the given key.
+	 */
+	protected int shardFor(Object affinityKey) {
+		int h = affinityKey.hashCode();
+		h ^= (h >>> 16);
+		return Math.floorMod(h, workers.length);
+	}
+
+	private void submit(int shard, Runnable command) {
+		if(shutdown)
+			throw new RejectedExecutionException("Executor has been shut down");
+		numRunningTasks.increment();
+		Worker owner = workers[shard];
+		owner.queue.offerLast(command);
+		if(owner.idle)
+			LockSupport.unpark(owner);
+		else if(numIdleWorkers.get() > 0)
+			//the owner is busy; wake up an idle worker so that it can steal
+			wakeUpIdleWorker();
+	}
+
+	private void wakeUpIdleWorker() {
+		for(Worker worker: workers) {
+			if(worker.idle) {
+				LockSupport.unpark(worker);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Records the exception, shuts down the executor and releases all threads awaiting completion.
+	 */
+	protected void taskFailed(Throwable t) {
+		exception = t;
+		logger.error("Worker thread execution failed: " + t.getMessage(), t);
+
+		shutdown = true;
+		for(Worker worker: workers) {
+			worker.queue.clear();
+			worker.interrupt();
+		}
+		numRunningTasks.resetAndInterrupt();
+	}
+
+	@Override
+	public void awaitCompletion() throws InterruptedException {
+		numRunningTasks.awaitZero();
+	}
+
+	@Override
+	public void awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+		numRunningTasks.awaitZero(timeout, unit);
+	}
+
+	@Override
+	public Throwable getException() {
+		return exception;
+	}
+
+	@Override
+	public boolean isTerminating() {
+		return shutdown;
+	}
+
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		for(Worker worker: workers)
+			LockSupport.unpark(worker);
+	}
+
+	/**
+	 * A worker thread together with its queue.
+	 */
+	protected class Worker extends Thread {
+
+		private final int index;
+
+		private final ConcurrentLinkedDeque<Runnable> queue = new ConcurrentLinkedDeque<Runnable>();
+
+		private volatile boolean idle = false;
+
+		private Worker(int index) {
+			super("heros-affinity-worker-" + index);
+			this.index = index;
+			setDaemon(true);
+		}
+
+		private CountingAffinityExecutor executor() {
+			return CountingAffinityExecutor.this;
+		}
+
+		@Override
+		public void run() {
+			while(true) {
+				Runnable task = nextTask();
+				if(task==null) {
+					if(shutdown)
+						return;
+					//announce that we are idle before looking once more,
+					//so that a concurrent submission either sees us idle or we see its task
+					idle = true;
+					numIdleWorkers.incrementAndGet();
+					task = nextTask();
+					if(task==null && !shutdown)
+						LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+					numIdleWorkers.decrementAndGet();
+					idle = false;
+					if(task==null)
+						continue;
+				}
+				try {
+					task.run();
+				} catch(Throwable t) {
+					taskFailed(t);
+					return;
+				}
+				numRunningTasks.decrement();
+			}
+		}
+
+		private Runnable nextTask() {
+			Runnable task = queue.pollFirst();
+			if(task!=null)
+				return task;
+			//steal from the other workers, starting with our neighbour
+			for(int i=1; i<workers.length; i++) {
+				task = workers[(index + i) % workers.length].queue.pollLast();
+				if(task!=null)
+					return task;
+			}
+			return null;
+		}
+	}
+
+}
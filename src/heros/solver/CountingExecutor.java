@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link Executor} which keeps track of the number of spawned tasks to allow
+ * clients to await their completion. If a task fails, the executor shuts down
+ * and the failure is reported through {@link #getException()}.
+ * 
+ * @see CountingThreadPoolExecutor
+ * @see CountingForkJoinExecutor
+ */
+public interface CountingExecutor extends Executor {
+
+	/**
+	 * Awaits the completion of all spawned tasks.
+	 */
+	void awaitCompletion() throws InterruptedException;
+
+	/**
+	 * Awaits the completion of all spawned tasks.
+	 */
+	void awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Returns the exception thrown during task execution (if any).
+	 */
+	Throwable getException();
+
+	/**
+	 * Returns <code>true</code> if this executor is shutting down, in which case
+	 * newly submitted tasks would be rejected.
+	 */
+	boolean isTerminating();
+
+	/**
+	 * Initiates an orderly shutdown in which previously submitted tasks are executed,
+	 * but no new tasks will be accepted.
+	 */
+	void shutdown();
+
+}
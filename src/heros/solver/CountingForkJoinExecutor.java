@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CountingExecutor} backed by a work-stealing {@link ForkJoinPool}. Each worker
+ * owns a deque of its own: tasks that are spawned while executing another task of this
+ * executor are pushed onto the local deque of the spawning worker, and idle workers steal
+ * from the other end of other workers' deques. Tasks submitted from outside the pool go
+ * through the pool's shared submission queues.
+ * 
+ * Just as the {@link CountingThreadPoolExecutor}, this executor counts the number of spawned
+ * tasks to allow clients to await their completion, and shuts down as soon as a task fails.
+ */
+public class CountingForkJoinExecutor implements CountingExecutor {
+
+    protected static final Logger logger = LoggerFactory.getLogger(CountingForkJoinExecutor.class);
+
+	protected final ForkJoinPool pool;
+
+    protected final CountLatch numRunningTasks = new CountLatch(0);
+	
+	protected volatile Throwable exception = null;
+
+	/**
+	 * @param parallelism The number of worker threads.
+	 */
+	public CountingForkJoinExecutor(int parallelism) {
+		//asyncMode=false: workers process their own deque in LIFO order
+		this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		numRunningTasks.increment();
+		try {
+			CountingTask task = new CountingTask(command);
+			if(isWorkerOfThisPool(Thread.currentThread()))
+				//push onto the local deque of the current worker
+				task.fork();
+			else
+				pool.execute(task);
+		}
+		catch (RejectedExecutionException ex) {
+			// If we were unable to submit the task, we may not count it!
+			numRunningTasks.decrement();
+			throw ex;
+		}
+	}
+
+	private boolean isWorkerOfThisPool(Thread thread) {
+		return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool;
+	}
+
+	/**
+	 * Records the exception, shuts down the pool and releases all threads awaiting completion.
+	 */
+	protected void taskFailed(Throwable t) {
+		exception = t;
+		logger.error("Worker thread execution failed: " + t.getMessage(), t);
+		
+		pool.shutdownNow();
+		numRunningTasks.resetAndInterrupt();
+	}
+
+	@Override
+	public void awaitCompletion() throws InterruptedException {
+		numRunningTasks.awaitZero();
+	}
+	
+	@Override
+	public void awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+		numRunningTasks.awaitZero(timeout, unit);
+	}
+	
+	@Override
+	public Throwable getException() {
+		return exception;
+	}
+
+	@Override
+	public boolean isTerminating() {
+		return pool.isShutdown();
+	}
+
+	@Override
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Adapts a {@link Runnable} to a {@link ForkJoinTask} and keeps the task count up to date.
+	 */
+	@SuppressWarnings("serial")
+	private class CountingTask extends ForkJoinTask<Void> {
+
+		private final Runnable command;
+
+		private CountingTask(Runnable command) {
+			this.command = command;
+		}
+
+		@Override
+		public Void getRawResult() {
+			return null;
+		}
+
+		@Override
+		protected void setRawResult(Void value) {
+		}
+
+		@Override
+		protected boolean exec() {
+			try {
+				command.run();
+			} catch(Throwable t) {
+				taskFailed(t);
+				return true;
+			}
+			numRunningTasks.decrement();
+			return true;
+		}
+	}
+
+}
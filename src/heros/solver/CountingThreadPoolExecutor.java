@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * A {@link ThreadPoolExecutor} which keeps track of the number of spawned
  * tasks to allow clients to await their completion. 
  */
-public class CountingThreadPoolExecutor extends ThreadPoolExecutor {
+public class CountingThreadPoolExecutor extends ThreadPoolExecutor implements CountingExecutor {
 	
     protected static final Logger logger = LoggerFactory.getLogger(CountingThreadPoolExecutor.class);
 
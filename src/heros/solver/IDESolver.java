@@ -17,36 +17,74 @@ package heros.solver;
 import heros.DontSynchronize;
 import heros.EdgeFunction;
 import heros.EdgeFunctionCache;
+import heros.EdgeFunctionCodec;
 import heros.EdgeFunctions;
 import heros.FlowFunction;
 import heros.FlowFunctionCache;
 import heros.FlowFunctions;
 import heros.IDETabulationProblem;
+import heros.InterningFlowFunctions;
 import heros.InterproceduralCFG;
+import heros.MemoizingFlowFunctions;
 import heros.MeetLattice;
+import heros.NumberedInterproceduralCFG;
+import heros.Numbering;
+import heros.RelevanceOracle;
+import heros.SummaryCodec;
 import heros.SynchronizedBy;
+import heros.WorklistOrdering;
 import heros.ZeroedFlowFunctions;
+import heros.edgefunc.EdgeFunctionInterner;
 import heros.edgefunc.EdgeIdentity;
+import heros.solver.CalleeContext.EndSummary;
+import heros.solver.JumpFunctions.Index;
+import heros.utilities.CompactMap;
+import heros.utilities.LongObjectHashMap;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Table;
 import com.google.common.collect.Table.Cell;
+import com.google.common.collect.Tables;
 
 
 /**
@@ -54,8 +92,9 @@ import com.google.common.collect.Table.Cell;
  * Horwitz and Reps. To solve the problem, call {@link #solve()}. Results can then be
  * queried by using {@link #resultAt(Object, Object)} and {@link #resultsAt(Object)}.
  * 
- * Note that this solver and its data structures internally use mostly {@link java.util.LinkedHashSet}s
- * instead of normal HashSet to fix the iteration order as much as possible. This
+ * Note that this solver and its data structures internally use mostly insertion-ordered collections,
+ * such as {@link java.util.LinkedHashSet}s and {@link CompactMap}s, instead of normal HashSets
+ * to fix the iteration order as much as possible. This
  * is to produce, as much as possible, reproducible benchmarking results. We have found
  * that the iteration order can matter a lot in terms of speed.
  *
@@ -80,26 +119,34 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
     //enable with -Dorg.slf4j.simpleLogger.defaultLogLevel=trace
     public static boolean DEBUG = logger.isDebugEnabled();
 
-	protected CountingThreadPoolExecutor executor;
+	//number of chunks per thread into which the nodes are split in Phase II(ii);
+	//more chunks than threads allow idle threads to pick up work from slow ones
+	private static final int VALUE_COMPUTATION_CHUNKS_PER_THREAD = 16;
+
+	//maximal number of statements irrelevant for a fact that a thread passes the fact across
+	//before it schedules the fact's next path edge; bounds the depth of the recursion
+	private static final int MAX_SKIPPED_STATEMENTS = 256;
+
+	//number of compositions and meets of edge functions memoized each, if edge functions are hash-consed
+	private static final int EDGE_FUNCTION_MEMO_SIZE = 1 << 17;
+
+	//a CountingThreadPoolExecutor unless work stealing or method affinity is enabled, see getExecutor()
+	protected CountingExecutor executor;
 	
 	@DontSynchronize("only used by single thread")
 	protected int numThreads;
 	
-	@SynchronizedBy("thread safe data structure, consistent locking when used")
+	@SynchronizedBy("thread safe data structure, consistent locking on jumpFn.lockFor(target) when used")
 	protected final JumpFunctions<N,D,V> jumpFn;
 	
 	@SynchronizedBy("thread safe data structure, only modified internally")
 	protected final I icfg;
 	
-	//stores summaries that were queried before they were computed
-	//see CC 2010 paper by Naeem, Lhotak and Rodriguez
-	@SynchronizedBy("consistent lock on 'incoming'")
-	protected final Table<N,D,Table<N,D,EdgeFunction<V>>> endSummary = HashBasedTable.create();
-
-	//edges going along calls
+	//stores, per exploded start node <sP,d>, the incoming call edges and the summaries
+	//that were queried before they were computed
 	//see CC 2010 paper by Naeem, Lhotak and Rodriguez
-	@SynchronizedBy("consistent lock on field")
-	protected final Table<N,D,Map<N,Set<D>>> incoming = HashBasedTable.create();
+	@SynchronizedBy("use of ConcurrentHashMap, CalleeContext is thread safe")
+	protected final ConcurrentMap<N,ConcurrentMap<D,CalleeContext<N,D,V>>> calleeContexts = new ConcurrentHashMap<N,ConcurrentMap<D,CalleeContext<N,D,V>>>();
 
 	//stores the return sites (inside callers) to which we have unbalanced returns
 	//if followReturnPastSeeds is enabled
@@ -109,6 +156,11 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	@DontSynchronize("stateless")
 	protected final FlowFunctions<N, D, M> flowFunctions;
 
+	//the problem's own flow functions, which tell the identity statements; the solver's wrappers
+	//around them in flowFunctions do not know about identities
+	@DontSynchronize("stateless")
+	private final FlowFunctions<N, D, M> problemFlowFunctions;
+
 	@DontSynchronize("stateless")
 	protected final EdgeFunctions<N,D,M,V> edgeFunctions;
 
@@ -121,8 +173,25 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	@DontSynchronize("stateless")
 	protected final EdgeFunction<V> allTop;
 
-	@SynchronizedBy("consistent lock on field")
-	protected final Table<N,D,V> val = HashBasedTable.create();	
+	//rows are only created concurrently in Phase II(ii), where each row is written by a single task
+	@SynchronizedBy("consistent lock on field in Phase II(i), concurrent row map and disjoint rows in Phase II(ii)")
+	protected final Table<N,D,V> val = Tables.newCustomTable(new ConcurrentHashMap<N,Map<D,V>>(), new Supplier<Map<D,V>>() {
+		public Map<D,V> get() {
+			return new CompactMap<D,V>();
+		}
+	});
+
+	//if nodes and facts are numbered, values are kept in this table, keyed by packed numbers,
+	//during Phase II(i); they are copied into val before Phase II(ii) starts
+	@SynchronizedBy("consistent lock on 'val'")
+	private final LongObjectHashMap<V> numberedVal;
+
+	//the nodes and facts of the keys of numberedVal by their numbers, each stored once
+	@SynchronizedBy("consistent lock on 'val'")
+	private final LongObjectHashMap<N> numberedValNodes;
+
+	@SynchronizedBy("consistent lock on 'val'")
+	private final LongObjectHashMap<D> numberedValFacts;
 	
 	@DontSynchronize("benign races")
 	public long flowFunctionApplicationCount;
@@ -133,6 +202,17 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	@DontSynchronize("benign races")
 	public long propagationCount;
 	
+	//number of propagations that replaced an existing jump function by a lower one
+	@DontSynchronize("benign races")
+	public long repropagationCount;
+	
+	@DontSynchronize("only written while holding collectionLock")
+	public long collectedJumpFunctionCount;
+
+	//number of calls at which preloaded summaries were applied instead of descending into the callee
+	@DontSynchronize("benign races")
+	public long preloadedSummaryApplicationCount;
+	
 	@DontSynchronize("benign races")
 	public long durationFlowFunctionConstruction;
 	
@@ -141,10 +221,27 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 
 	@DontSynchronize("stateless")
 	protected final D zeroValue;
+
+	//canonical instances of all facts, or null if facts are not interned
+	@SynchronizedBy("thread safe data structure")
+	protected final Interner<D> interner;
+
+	//canonical edge functions and memoized compositions, or null if edge functions are not hash-consed
+	@SynchronizedBy("thread safe data structure")
+	protected final EdgeFunctionInterner<V> edgeFunctionInterner;
 	
+	@DontSynchronize("stateless")
+	protected final Numbering<N> nodeNumbering;
+
+	@DontSynchronize("stateless")
+	protected final Numbering<D> factNumbering;
+
 	@DontSynchronize("readOnly")
 	protected final FlowFunctionCache<N,D,M> ffCache; 
 
+	@DontSynchronize("readOnly")
+	protected final MemoizingFlowFunctions<N,D,M> ffResultCache;
+
 	@DontSynchronize("readOnly")
 	protected final EdgeFunctionCache<N,D,M,V> efCache;
 
@@ -154,6 +251,80 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	@DontSynchronize("readOnly")
 	protected final boolean computeValues;
 
+	@DontSynchronize("readOnly")
+	protected final boolean workStealing;
+
+	@DontSynchronize("readOnly")
+	protected final int pathEdgeBatchSize;
+
+	//false if a subclass overrides the per-edge normal flow hook but not the bulk one
+	@DontSynchronize("readOnly")
+	private final boolean batchNormalFlows;
+
+	@DontSynchronize("readOnly")
+	protected final boolean methodAffinity;
+
+	@DontSynchronize("readOnly")
+	protected final WorklistOrdering<N,D> worklistOrdering;
+
+	@DontSynchronize("readOnly")
+	protected final RelevanceOracle<N,D> relevanceOracle;
+
+	@DontSynchronize("readOnly")
+	protected final boolean collapseIdentityRuns;
+
+	@DontSynchronize("readOnly")
+	protected final int jumpFunctionCollectionInterval;
+
+	@DontSynchronize("readOnly")
+	protected final SummaryCodec<N,D,M> summaryCodec;
+
+	@DontSynchronize("readOnly")
+	protected final EdgeFunctionCodec<V> edgeFunctionCodec;
+
+	@DontSynchronize("readOnly")
+	protected final MethodSummaries preloadedSummaries;
+
+	//preloaded summaries of the methods reached so far, decoded on demand
+	@SynchronizedBy("thread safe data structure")
+	private final ConcurrentMap<M,Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>>> decodedSummaries = new ConcurrentHashMap<M,Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>>>();
+
+	//number of path edges per method that are scheduled or about to be scheduled;
+	//only maintained if jump functions are collected
+	@SynchronizedBy("thread safe data structure")
+	private final ConcurrentMap<M,AtomicInteger> pendingEdges = new ConcurrentHashMap<M,AtomicInteger>();
+
+	//methods that ran out of pending edges since their jump functions were last collected
+	@SynchronizedBy("thread safe data structure")
+	private final Set<M> collectionCandidates = Collections.newSetFromMap(new ConcurrentHashMap<M,Boolean>());
+
+	@SynchronizedBy("thread safe data structure")
+	private final AtomicLong processedEdgeCount = new AtomicLong();
+
+	//ensures that only one thread at a time collects jump functions
+	@SynchronizedBy("thread safe data structure")
+	private final ReentrantLock collectionLock = new ReentrantLock();
+
+	//used to process path edges of equal priority in the order in which they were scheduled
+	@SynchronizedBy("thread safe data structure")
+	private final AtomicLong scheduledEdgeCount = new AtomicLong();
+
+	//the batch of path edges discovered by the current worker thread, if batching is enabled
+	@DontSynchronize("thread local")
+	private final ThreadLocal<List<PathEdge<N,D>>> currentEdgeBatch = new ThreadLocal<List<PathEdge<N,D>>>();
+
+	//runs of identity statements keyed by their first statement, see identityRun
+	@SynchronizedBy("thread safe data structure")
+	private final ConcurrentMap<N,List<N>> identityRuns = new ConcurrentHashMap<N,List<N>>();
+
+	//the number of irrelevant statements the current thread is passing a fact across, see propagateAcross
+	@DontSynchronize("thread local")
+	private final ThreadLocal<int[]> skippedStatements = new ThreadLocal<int[]>() {
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
 	private boolean recordEdges;
 
 	/**
@@ -168,8 +339,11 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	 * Creates a solver for the given problem, constructing caches with the given {@link CacheBuilder}. The solver must then be started by calling
 	 * {@link #solve()}.
 	 * @param flowFunctionCacheBuilder A valid {@link CacheBuilder} or <code>null</code> if no caching is to be used for flow functions.
+	 *        If the ICFG is a {@link NumberedInterproceduralCFG} and this is the {@link #DEFAULT_CACHE_BUILDER}, flow functions are kept
+	 *        in unbounded rows indexed by node number instead.
 	 * @param edgeFunctionCacheBuilder A valid {@link CacheBuilder} or <code>null</code> if no caching is to be used for edge functions.
 	 */
+	@SuppressWarnings("unchecked")
 	public IDESolver(IDETabulationProblem<N,D,M,V,I> tabulationProblem, @SuppressWarnings("rawtypes") CacheBuilder flowFunctionCacheBuilder, @SuppressWarnings("rawtypes") CacheBuilder edgeFunctionCacheBuilder) {
 		if(logger.isDebugEnabled()) {
 			if(flowFunctionCacheBuilder != null)
@@ -177,13 +351,28 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			if(edgeFunctionCacheBuilder != null)
 				edgeFunctionCacheBuilder = edgeFunctionCacheBuilder.recordStats();
 		}
-		this.zeroValue = tabulationProblem.zeroValue();
+		this.interner = tabulationProblem.internFacts() ? Interners.<D>newWeakInterner() : null;
+		this.zeroValue = intern(tabulationProblem.zeroValue());
 		this.icfg = tabulationProblem.interproceduralCFG();		
+		this.problemFlowFunctions = tabulationProblem.flowFunctions();
 		FlowFunctions<N, D, M> flowFunctions = tabulationProblem.autoAddZero() ?
-				new ZeroedFlowFunctions<N,D,M>(tabulationProblem.flowFunctions(), tabulationProblem.zeroValue()) : tabulationProblem.flowFunctions(); 
+				new ZeroedFlowFunctions<N,D,M>(problemFlowFunctions, tabulationProblem.zeroValue()) : problemFlowFunctions; 
 		EdgeFunctions<N, D, M, V> edgeFunctions = tabulationProblem.edgeFunctions();
+		if(interner!=null)
+			flowFunctions = new InterningFlowFunctions<N,D,M>(flowFunctions, interner);
+		if(tabulationProblem.flowFunctionResultCacheSize() > 0) {
+			ffResultCache = new MemoizingFlowFunctions<N,D,M>(flowFunctions, tabulationProblem.flowFunctionResultCacheSize());
+			flowFunctions = ffResultCache;
+		} else {
+			ffResultCache = null;
+		}
 		if(flowFunctionCacheBuilder!=null) {
-			ffCache = new FlowFunctionCache<N,D,M>(flowFunctions, flowFunctionCacheBuilder);
+			//numbered nodes allow for lookups that allocate no keys, but the rows holding the functions
+			//are not bounded, so a builder of the caller's own is always honored
+			if(icfg instanceof NumberedInterproceduralCFG && flowFunctionCacheBuilder==DEFAULT_CACHE_BUILDER)
+				ffCache = new FlowFunctionCache<N,D,M>(flowFunctions, (NumberedInterproceduralCFG<N,M>) icfg);
+			else
+				ffCache = new FlowFunctionCache<N,D,M>(flowFunctions, flowFunctionCacheBuilder);
 			flowFunctions = ffCache;
 		} else {
 			ffCache = null;
@@ -199,11 +388,52 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		this.initialSeeds = tabulationProblem.initialSeeds();
 		this.unbalancedRetSites = Collections.synchronizedSet(new LinkedHashSet<N>());
 		this.valueLattice = tabulationProblem.meetLattice();
+		this.edgeFunctionInterner = tabulationProblem.hashConsEdgeFunctions() ? new EdgeFunctionInterner<V>(EDGE_FUNCTION_MEMO_SIZE) : null;
 		this.allTop = tabulationProblem.allTopFunction();
-		this.jumpFn = new JumpFunctions<N,D,V>(allTop);
+		Numbering<D> factNumbering = tabulationProblem.factNumbering();
+		File jumpFunctionDirectory = tabulationProblem.jumpFunctionDirectory();
+		//Phase II needs all indices, and collecting jump functions needs the lookup by target;
+		//pure IFDS runs only need the reverse lookup, other indices are built on demand
+		Set<Index> indices = EnumSet.noneOf(Index.class);
+		if(tabulationProblem.computeValues())
+			indices.addAll(EnumSet.allOf(Index.class));
+		else if(tabulationProblem.jumpFunctionCollectionInterval() > 0)
+			indices.add(Index.BY_TARGET);
+		if(factNumbering!=null && icfg instanceof NumberedInterproceduralCFG) {
+			this.nodeNumbering = (NumberedInterproceduralCFG<N,M>) icfg;
+			this.factNumbering = factNumbering;
+			this.jumpFn = jumpFunctionDirectory!=null ?
+					new MappedJumpFunctions<N,D,V>(allTop, jumpFunctionDirectory, tabulationProblem.hotJumpFunctionRows()) :
+					new NumberedJumpFunctions<N,D,V>(allTop, nodeNumbering, factNumbering, indices);
+			this.numberedVal = new LongObjectHashMap<V>();
+			this.numberedValNodes = new LongObjectHashMap<N>();
+			this.numberedValFacts = new LongObjectHashMap<D>();
+		} else {
+			this.nodeNumbering = null;
+			this.factNumbering = null;
+			this.jumpFn = jumpFunctionDirectory!=null ?
+					new MappedJumpFunctions<N,D,V>(allTop, jumpFunctionDirectory, tabulationProblem.hotJumpFunctionRows()) :
+					new JumpFunctions<N,D,V>(allTop, indices);
+			this.numberedVal = null;
+			this.numberedValNodes = null;
+			this.numberedValFacts = null;
+		}
 		this.followReturnsPastSeeds = tabulationProblem.followReturnsPastSeeds();
 		this.numThreads = Math.max(1,tabulationProblem.numThreads());
 		this.computeValues = tabulationProblem.computeValues();
+		this.workStealing = tabulationProblem.workStealing();
+		this.pathEdgeBatchSize = Math.max(1,tabulationProblem.pathEdgeBatchSize());
+		this.batchNormalFlows = overrides(FlowFunction.class, Collection.class)
+				|| !overrides(FlowFunction.class, Object.class, Object.class);
+		this.methodAffinity = tabulationProblem.methodAffinity();
+		this.worklistOrdering = tabulationProblem.worklistOrdering();
+		this.relevanceOracle = tabulationProblem.relevanceOracle();
+		this.collapseIdentityRuns = tabulationProblem.collapseIdentityRuns();
+		//Phase II reads the jump functions of all nodes
+		this.jumpFunctionCollectionInterval = computeValues ? 0 : Math.max(0, tabulationProblem.jumpFunctionCollectionInterval());
+		this.summaryCodec = tabulationProblem.summaryCodec();
+		this.edgeFunctionCodec = tabulationProblem.edgeFunctionCodec();
+		this.preloadedSummaries = summaryCodec!=null && edgeFunctionCodec!=null ? tabulationProblem.methodSummaries() : null;
 		this.executor = getExecutor();
 		this.recordEdges = tabulationProblem.recordEdges();
 	}
@@ -222,13 +452,166 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	 * their own. Normally, {@link #solve()} should be called instead.
 	 */
 	protected void submitInitialSeeds() {
+		for(Entry<N, Set<D>> seed: initialSeeds.entrySet())
+			submitSeed(seed.getKey(), seed.getValue());
+	}
+
+	private void submitSeed(N startPoint, Set<D> vals) {
+		for(D val: vals) {
+			propagate(zeroValue, startPoint, intern(val), EdgeIdentity.<V>v(), null, false);
+		}
+		jumpFn.addFunction(zeroValue, startPoint, zeroValue, EdgeIdentity.<V>v());
+	}
+
+	/**
+	 * Returns the canonical instance of the given fact if facts are interned, and the fact itself otherwise.
+	 */
+	protected D intern(D fact) {
+		return interner==null ? fact : interner.intern(fact);
+	}
+
+	/**
+	 * Composes the two given edge functions, see {@link EdgeFunction#composeWith(EdgeFunction)}.
+	 */
+	protected EdgeFunction<V> compose(EdgeFunction<V> first, EdgeFunction<V> second) {
+		return edgeFunctionInterner==null ? first.composeWith(second) : edgeFunctionInterner.compose(first, second);
+	}
+
+	/**
+	 * Meets the two given edge functions, see {@link EdgeFunction#meetWith(EdgeFunction)}.
+	 */
+	protected EdgeFunction<V> meet(EdgeFunction<V> first, EdgeFunction<V> second) {
+		return edgeFunctionInterner==null ? first.meetWith(second) : edgeFunctionInterner.meet(first, second);
+	}
+
+	/**
+	 * Updates the results of a previous run of {@link #solve()} after the given methods have changed.
+	 * The interprocedural control-flow graph and the flow and edge functions must already reflect
+	 * the change, and the given methods must include all methods whose statements, call targets,
+	 * flow functions or edge functions have changed, as well as all new methods.
+	 * 
+	 * The solver discards the jump functions and callee contexts of all affected methods, i.e., of the
+	 * changed methods and their transitive callers, together with all incoming call edges from call
+	 * sites within affected methods. It then re-propagates the initial seeds within affected methods;
+	 * calls to unaffected methods are resolved through the end summaries those methods retained.
+	 * If values are computed, Phase II is re-run in full. Contexts of unaffected methods that are no
+	 * longer reached are retained, but no values flow into them.
+	 */
+	public void update(Collection<M> changedMethods) {
+		Set<M> affected = affectedMethods(changedMethods);
+		logger.debug("Updating {} methods affected by changes to {} methods", affected.size(), changedMethods.size());
+		invalidate(affected);
+		executor = getExecutor();
 		for(Entry<N, Set<D>> seed: initialSeeds.entrySet()) {
-			N startPoint = seed.getKey();
-			for(D val: seed.getValue()) {
-				propagate(zeroValue, startPoint, val, EdgeIdentity.<V>v(), null, false);
+			if(affected.contains(icfg.getMethodOf(seed.getKey())))
+				submitSeed(seed.getKey(), seed.getValue());
+		}
+		awaitCompletionComputeValuesAndShutdown();
+	}
+
+	/**
+	 * Returns the given methods together with all methods whose jump functions may depend on them.
+	 */
+	private Set<M> affectedMethods(Collection<M> changedMethods) {
+		Set<M> affected = new HashSet<M>(changedMethods);
+		Deque<M> worklist = new ArrayDeque<M>(affected);
+		while(!worklist.isEmpty()) {
+			//callers depend on the end summaries of their callees
+			while(!worklist.isEmpty()) {
+				M m = worklist.poll();
+				for(N callSite: icfg.getCallersOf(m)) {
+					M caller = icfg.getMethodOf(callSite);
+					if(caller!=null && affected.add(caller))
+						worklist.add(caller);
+				}
+			}
+			if(!followReturnsPastSeeds)
+				break;
+			//methods analyzed without a calling context return to all their callers,
+			//so they must be re-analyzed if one of those callers is
+			Set<N> roots = new HashSet<N>(initialSeeds.keySet());
+			roots.addAll(unbalancedRetSites);
+			for(N root: roots) {
+				M m = icfg.getMethodOf(root);
+				if(affected.contains(m))
+					continue;
+				for(N callSite: icfg.getCallersOf(m)) {
+					if(affected.contains(icfg.getMethodOf(callSite))) {
+						affected.add(m);
+						worklist.add(m);
+						break;
+					}
+				}
+			}
+		}
+		return affected;
+	}
+
+	/**
+	 * Discards all state of the given methods, along with all values.
+	 */
+	private void invalidate(Set<M> methods) {
+		jumpFn.setReadOnly(false);
+		//nodes may also be reached through seeds and unbalanced returns
+		Set<N> roots = new HashSet<N>();
+		for(M m: methods) {
+			for(N sP: icfg.getStartPointsOf(m)) {
+				roots.add(sP);
+				calleeContexts.remove(sP);
+			}
+			decodedSummaries.remove(m);
+		}
+		for(N n: Iterables.concat(initialSeeds.keySet(), unbalancedRetSites))
+			if(methods.contains(icfg.getMethodOf(n)))
+				roots.add(n);
+		Set<N> nodes = reachableNodes(roots);
+		Set<N> callSites = new HashSet<N>();
+		for(N n: nodes)
+			if(icfg.isCallStmt(n))
+				callSites.add(n);
+		for(N n: nodes)
+			jumpFn.removeFunctionsAt(n);
+		//runs of unaffected methods are kept, as their inner jump functions are added again from those at their heads
+		identityRuns.keySet().removeAll(nodes);
+		for(Map<D,CalleeContext<N,D,V>> contexts: calleeContexts.values())
+			for(CalleeContext<N,D,V> context: contexts.values())
+				context.removeIncoming(callSites);
+		synchronized (unbalancedRetSites) {
+			for(Iterator<N> iter = unbalancedRetSites.iterator(); iter.hasNext(); )
+				if(methods.contains(icfg.getMethodOf(iter.next())))
+					iter.remove();
+		}
+		if(recordEdges) {
+			computedIntraPEdges.rowKeySet().removeAll(nodes);
+			computedInterPEdges.rowKeySet().removeAll(nodes);
+		}
+		val.clear();
+		if(ffCache!=null)
+			ffCache.invalidate();
+		if(ffResultCache!=null)
+			ffResultCache.invalidate();
+		if(efCache!=null)
+			efCache.invalidate();
+	}
+
+	/**
+	 * Returns all nodes that are reachable from the given ones without descending into callees.
+	 */
+	private Set<N> reachableNodes(Set<N> roots) {
+		Set<N> visited = new HashSet<N>(roots);
+		Deque<N> worklist = new ArrayDeque<N>(visited);
+		while(!worklist.isEmpty()) {
+			N n = worklist.poll();
+			if(icfg.isCallStmt(n)) {
+				for(N retSite: icfg.getReturnSitesOfCallAt(n))
+					if(visited.add(retSite))
+						worklist.add(retSite);
 			}
-			jumpFn.addFunction(zeroValue, startPoint, zeroValue, EdgeIdentity.<V>v());
+			for(N succ: icfg.getSuccsOf(n))
+				if(visited.add(succ))
+					worklist.add(succ);
 		}
+		return visited;
 	}
 
 	/**
@@ -240,6 +623,8 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			final long before = System.currentTimeMillis();
 			//run executor and await termination of tasks
 			runExecutorAndAwaitCompletion();
+			if(collapseIdentityRuns)
+				addJumpFunctionsInIdentityRuns();
 			durationFlowFunctionConstruction = System.currentTimeMillis() - before;
 		}
 		if(computeValues) {
@@ -283,8 +668,37 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
     	// in submitting new tasks
     	if (executor.isTerminating())
     		return;
-    	executor.execute(new PathEdgeProcessingTask(edge));
     	propagationCount++;
+    	long priority = 0;
+    	if(worklistOrdering!=null)
+    		priority = worklistOrdering.priority(edge.factAtSource(), edge.getTarget(), edge.factAtTarget());
+    	List<PathEdge<N,D>> batch = currentEdgeBatch.get();
+    	if(batch!=null) {
+    		//we are processing a batch on this thread; buffer the edge and
+    		//hand off the buffer as a single task once it is full
+    		//(the batch is ordered by the priority of the edge that completed it)
+    		batch.add(edge);
+    		if(batch.size() >= pathEdgeBatchSize) {
+    			executeEdgeTask(new PathEdgeBatchProcessingTask(new ArrayList<PathEdge<N,D>>(batch), priority), batch.get(0));
+    			batch.clear();
+    		}
+    		return;
+    	}
+    	if(pathEdgeBatchSize > 1)
+    		executeEdgeTask(new PathEdgeBatchProcessingTask(Collections.singletonList(edge), priority), edge);
+    	else
+    		executeEdgeTask(new PathEdgeProcessingTask(edge, priority), edge);
+    }
+
+    /**
+     * Hands the given task to the executor. If the executor supports method affinity,
+     * the task is routed to the worker responsible for the method containing the edge's target.
+     */
+    private void executeEdgeTask(Runnable task, PathEdge<N,D> edge) {
+    	if(executor instanceof CountingAffinityExecutor)
+    		((CountingAffinityExecutor) executor).execute(task, icfg.getMethodOf(edge.getTarget()));
+    	else
+    		executor.execute(task);
     }
 	
     /**
@@ -358,41 +772,43 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 				saveEdges(n, sP, d2, res, true);
 				//for each result node of the call-flow function
 				for(D d3: res) {
-					//create initial self-loop
-					propagate(d3, sP, d3, EdgeIdentity.<V>v(), n, false); //line 15
+					//create initial self-loop, unless <sP,d3> has been summarized by an earlier run
+					if(!preloadSummaries(sCalledProcN, sP, d3))
+						propagate(d3, sP, d3, EdgeIdentity.<V>v(), n, false); //line 15
 	
 					//register the fact that <sp,d3> has an incoming edge from <n,d2>
-					Set<Cell<N, D, EdgeFunction<V>>> endSumm;
-					synchronized (incoming) {
-						//line 15.1 of Naeem/Lhotak/Rodriguez
-						addIncoming(sP,d3,n,d2);
-						//line 15.2, copy to avoid concurrent modification exceptions by other threads
-						endSumm = new LinkedHashSet<Table.Cell<N,D,EdgeFunction<V>>>(endSummary(sP, d3));
-					}
+					//line 15.1 of Naeem/Lhotak/Rodriguez
+					CalleeContext<N,D,V> calleeContext = calleeContext(sP, d3);
+					long stamp = calleeContext.addIncoming(n, d2);
 					
-					//still line 15.2 of Naeem/Lhotak/Rodriguez
+					//line 15.2 of Naeem/Lhotak/Rodriguez
 					//for each already-queried exit value <eP,d4> reachable from <sP,d3>,
 					//create new caller-side jump functions to the return sites
-					//because we have observed a potentially new incoming edge into <sP,d3>
-					for(Cell<N, D, EdgeFunction<V>> entry: endSumm) {
-						N eP = entry.getRowKey();
-						D d4 = entry.getColumnKey();
-						EdgeFunction<V> fCalleeSummary = entry.getValue();
-						//for each return site
-						for(N retSiteN: returnSiteNs) {
-							//compute return-flow function
-							FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(n, sCalledProcN, eP, retSiteN);
-							flowFunctionConstructionCount++;
-							Set<D> returnedFacts = computeReturnFlowFunction(retFunction, d3, d4, n, Collections.singleton(d2));
-							saveEdges(eP, retSiteN, d4, returnedFacts, true);
-							//for each target value of the function
-							for(D d5: returnedFacts) {
-								//update the caller-side summary function
-								EdgeFunction<V> f4 = edgeFunctions.getCallEdgeFunction(n, d2, sCalledProcN, d3);
-								EdgeFunction<V> f5 = edgeFunctions.getReturnEdgeFunction(n, sCalledProcN, eP, d4, retSiteN, d5);
-								EdgeFunction<V> fPrime = f4.composeWith(fCalleeSummary).composeWith(f5);					
-								D d5_restoredCtx = restoreContextOnReturnedFact(n, d2, d5);
-								propagate(d1, retSiteN, d5_restoredCtx, f.composeWith(fPrime), n, false);
+					//because we have observed a potentially new incoming edge into <sP,d3>;
+					//summaries registered after our incoming edge are handled by processExit(..)
+					for(Entry<N, ? extends Map<D, EndSummary<V>>> exitEntry: calleeContext.endSummaries().entrySet()) {
+						N eP = exitEntry.getKey();
+						for(Entry<D, EndSummary<V>> entry: exitEntry.getValue().entrySet()) {
+							if(!entry.getValue().registeredBefore(stamp))
+								continue;
+							D d4 = entry.getKey();
+							EdgeFunction<V> fCalleeSummary = entry.getValue().getFunction();
+							//for each return site
+							for(N retSiteN: returnSiteNs) {
+								//compute return-flow function
+								FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(n, sCalledProcN, eP, retSiteN);
+								flowFunctionConstructionCount++;
+								Set<D> returnedFacts = computeReturnFlowFunction(retFunction, d3, d4, n, Collections.singleton(d2));
+								saveEdges(eP, retSiteN, d4, returnedFacts, true);
+								//for each target value of the function
+								for(D d5: returnedFacts) {
+									//update the caller-side summary function
+									EdgeFunction<V> f4 = edgeFunctions.getCallEdgeFunction(n, d2, sCalledProcN, d3);
+									EdgeFunction<V> f5 = edgeFunctions.getReturnEdgeFunction(n, sCalledProcN, eP, d4, retSiteN, d5);
+									EdgeFunction<V> fPrime = compose(compose(f4, fCalleeSummary), f5);
+									D d5_restoredCtx = intern(restoreContextOnReturnedFact(n, d2, d5));
+									propagate(d1, retSiteN, d5_restoredCtx, compose(f, fPrime), n, false);
+								}
 							}
 						}
 					}
@@ -408,7 +824,7 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			saveEdges(n, returnSiteN, d2, returnFacts, false);
 			for(D d3: returnFacts) {
 				EdgeFunction<V> edgeFnE = edgeFunctions.getCallToReturnEdgeFunction(n, d2, returnSiteN, d3);
-				propagate(d1, returnSiteN, d3, f.composeWith(edgeFnE), n, false);
+				propagate(d1, returnSiteN, d3, compose(f, edgeFnE), n, false);
 			}
 		}
 	}
@@ -458,48 +874,50 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		
 		//for each of the method's start points, determine incoming calls
 		Collection<N> startPointsOf = icfg.getStartPointsOf(methodThatNeedsSummary);
-		Map<N,Set<D>> inc = new LinkedHashMap<N,Set<D>>();
+		boolean hasIncoming = false;
 		for(N sP: startPointsOf) {
 			//line 21.1 of Naeem/Lhotak/Rodriguez
 			
 			//register end-summary
-			synchronized (incoming) {
-				addEndSummary(sP, d1, n, d2, f);
-				//copy to avoid concurrent modification exceptions by other threads
-				for (Entry<N, Set<D>> entry : incoming(d1, sP).entrySet())
-					inc.put(entry.getKey(), new LinkedHashSet<D>(entry.getValue()));
-			}
-		}
+			//note: at this point we don't need to join with a potential previous f
+			//because f is a jump function, which is already properly joined
+			//within propagate(..)
+			CalleeContext<N,D,V> calleeContext = calleeContext(sP, d1);
+			long stamp = calleeContext.addEndSummary(n, d2, f);
 		
-		//for each incoming call edge already processed
-		//(see processCall(..))
-		for (Entry<N,Set<D>> entry: inc.entrySet()) {
-			//line 22
-			N c = entry.getKey();
-			//for each return site
-			for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
-				//compute return-flow function
-				FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
-				flowFunctionConstructionCount++;
-				//for each incoming-call value
-				for(D d4: entry.getValue()) {
-					Set<D> targets = computeReturnFlowFunction(retFunction, d1, d2, c, entry.getValue());
-					saveEdges(n, retSiteC, d2, targets, true);
-					//for each target value at the return site
-					//line 23
-					for(D d5: targets) {
-						//compute composed function
-						EdgeFunction<V> f4 = edgeFunctions.getCallEdgeFunction(c, d4, icfg.getMethodOf(n), d1);
-						EdgeFunction<V> f5 = edgeFunctions.getReturnEdgeFunction(c, icfg.getMethodOf(n), n, d2, retSiteC, d5);
-						EdgeFunction<V> fPrime = f4.composeWith(f).composeWith(f5);
-						//for each jump function coming into the call, propagate to return site using the composed function
-						synchronized (jumpFn) { // some other thread might change jumpFn on the way
+			//for each incoming call edge already processed
+			//(see processCall(..)); call edges registered after our summary
+			//pick it up themselves
+			for(N c: calleeContext.incomingCallSites()) {
+				Set<D> callerSideDs = calleeContext.incomingFacts(c, stamp);
+				if(callerSideDs.isEmpty())
+					continue;
+				hasIncoming = true;
+				//line 22
+				//for each return site
+				for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
+					//compute return-flow function
+					FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
+					flowFunctionConstructionCount++;
+					//for each incoming-call value
+					for(D d4: callerSideDs) {
+						Set<D> targets = computeReturnFlowFunction(retFunction, d1, d2, c, callerSideDs);
+						saveEdges(n, retSiteC, d2, targets, true);
+						//for each target value at the return site
+						//line 23
+						for(D d5: targets) {
+							//compute composed function
+							EdgeFunction<V> f4 = edgeFunctions.getCallEdgeFunction(c, d4, icfg.getMethodOf(n), d1);
+							EdgeFunction<V> f5 = edgeFunctions.getReturnEdgeFunction(c, icfg.getMethodOf(n), n, d2, retSiteC, d5);
+							EdgeFunction<V> fPrime = compose(compose(f4, f), f5);
+							//for each jump function coming into the call, propagate to return site using the composed function
+							//(reverseLookup returns a snapshot, so other threads may safely change jumpFn on the way)
 							for(Map.Entry<D,EdgeFunction<V>> valAndFunc: jumpFn.reverseLookup(c,d4).entrySet()) {
 								EdgeFunction<V> f3 = valAndFunc.getValue();
 								if(!f3.equalTo(allTop)) {
 									D d3 = valAndFunc.getKey();
-									D d5_restoredCtx = restoreContextOnReturnedFact(c, d4, d5);
-									propagate(d3, retSiteC, d5_restoredCtx, f3.composeWith(fPrime), c, false);
+									D d5_restoredCtx = intern(restoreContextOnReturnedFact(c, d4, d5));
+									propagate(d3, retSiteC, d5_restoredCtx, compose(f3, fPrime), c, false);
 								}
 							}
 						}
@@ -511,7 +929,7 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		//handling for unbalanced problems where we return out of a method with a fact for which we have no incoming flow
 		//note: we propagate that way only values that originate from ZERO, as conditionally generated values should only
 		//be propagated into callers that have an incoming edge for this condition
-		if(followReturnsPastSeeds && inc.isEmpty() && d1.equals(zeroValue)) {
+		if(followReturnsPastSeeds && !hasIncoming && d1.equals(zeroValue)) {
 			// only propagate up if we 
 				Collection<N> callers = icfg.getCallersOf(methodThatNeedsSummary);
 				for(N c: callers) {
@@ -522,7 +940,7 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 						saveEdges(n, retSiteC, d2, targets, true);
 						for(D d5: targets) {
 							EdgeFunction<V> f5 = edgeFunctions.getReturnEdgeFunction(c, icfg.getMethodOf(n), n, d2, retSiteC, d5);
-							propagateUnbalancedReturnFlow(retSiteC, d5, f.composeWith(f5), c);
+							propagateUnbalancedReturnFlow(retSiteC, intern(d5), compose(f, f5), c);
 							//register for value processing (2nd IDE phase)
 							unbalancedRetSites.add(retSiteC);
 						}
@@ -582,6 +1000,117 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		return retFunction.computeTargets(d2);
 	}
 
+	/**
+	 * Processes the given edge right away, without evaluating its normal flow function, if the
+	 * {@link #relevanceOracle} tells that the flow function maps the edge's fact to itself, or if
+	 * the edge's target starts a run of identity statements. In the latter case, the fact is passed
+	 * on to the statement after the run.
+	 * Chains of such statements are followed on the current thread up to a bounded length.
+	 * @param f The jump function of the edge
+	 * @return true if the edge was processed, false if it must be scheduled as usual
+	 */
+	private boolean propagateAcross(PathEdge<N,D> edge, EdgeFunction<V> f) {
+		if(relevanceOracle==null && !collapseIdentityRuns)
+			return false;
+		final N n = edge.getTarget();
+		if(icfg.isCallStmt(n) || icfg.isExitStmt(n))
+			return false;
+		List<N> succs = icfg.getSuccsOf(n);
+		if(succs.size()!=1)
+			return false;
+		int[] skipped = skippedStatements.get();
+		if(skipped[0] >= MAX_SKIPPED_STATEMENTS)
+			return false;
+		final D d1 = edge.factAtSource();
+		final D d2 = edge.factAtTarget();
+		List<N> run = collapseIdentityRuns ? identityRun(n) : Collections.<N>emptyList();
+		if(run.isEmpty()) {
+			//only ask the oracle once the edge is certain to be processed here
+			if(relevanceOracle==null || relevanceOracle.isRelevant(n, d2))
+				return false;
+			run = Arrays.asList(n, succs.get(0));
+		}
+		EdgeFunction<V> fprime = f;
+		for(int i=1; i<run.size(); i++) {
+			N curr = run.get(i-1);
+			N succ = run.get(i);
+			saveEdges(curr, succ, d2, Collections.singleton(d2), false);
+			fprime = compose(fprime, edgeFunctions.getNormalEdgeFunction(curr, d2, succ, d2));
+		}
+		skipped[0]++;
+		try {
+			propagate(d1, run.get(run.size()-1), d2, fprime, null, false);
+		} finally {
+			skipped[0]--;
+		}
+		edgeCompleted(edge);
+		return true;
+	}
+
+	/**
+	 * Adds the jump functions at the inner statements of the runs of identity statements, which
+	 * were skipped while propagating, by composing the jump functions at the first statement of
+	 * each run with the normal edge functions along the run. Results at these statements, as well
+	 * as values computed from them, are thus the same as if no run had been collapsed.
+	 */
+	private void addJumpFunctionsInIdentityRuns() {
+		//all tasks have terminated, so we can read and write jumpFn without locking
+		for(List<N> run: identityRuns.values()) {
+			if(run.size()<3)
+				continue;
+			N head = run.get(0);
+			for(Cell<D, D, EdgeFunction<V>> cell: jumpFn.lookupByTarget(head)) {
+				D d1 = cell.getRowKey();
+				D d2 = cell.getColumnKey();
+				EdgeFunction<V> f = cell.getValue();
+				for(int i=1; i<run.size()-1; i++) {
+					f = compose(f, edgeFunctions.getNormalEdgeFunction(run.get(i-1), d2, run.get(i), d2));
+					jumpFn.addFunction(d1, run.get(i), d2, f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the run of identity statements starting at the given statement, followed by the
+	 * statement after the run, or an empty list if no run starts at the statement.
+	 * All statements of a run but the first have the previous statement of the run as their only
+	 * predecessor, so facts only reach them through the first statement.
+	 */
+	private List<N> identityRun(N n) {
+		List<N> run = identityRuns.get(n);
+		if(run==null) {
+			run = computeIdentityRun(n);
+			List<N> old = identityRuns.putIfAbsent(n, run);
+			if(old!=null)
+				run = old;
+		}
+		return run;
+	}
+
+	private List<N> computeIdentityRun(N head) {
+		if(!isIdentityInRun(head))
+			return Collections.emptyList();
+		List<N> run = new ArrayList<N>();
+		run.add(head);
+		N curr = head;
+		while(true) {
+			N succ = icfg.getSuccsOf(curr).get(0);
+			run.add(succ);
+			if(succ==head || run.size() > MAX_SKIPPED_STATEMENTS
+					|| !isIdentityInRun(succ)
+					|| icfg.getPredsOf(succ).size()!=1
+					|| icfg.isStartPoint(succ)
+					|| initialSeeds.containsKey(succ))
+				return run;
+			curr = succ;
+		}
+	}
+
+	private boolean isIdentityInRun(N n) {
+		return problemFlowFunctions.isIdentity(n) && !icfg.isCallStmt(n) && !icfg.isExitStmt(n) && icfg.getSuccsOf(n).size()==1;
+	}
+
 	/**
 	 * Lines 33-37 of the algorithm.
 	 * Simply propagate normal, intra-procedural flows.
@@ -599,12 +1128,41 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			Set<D> res = computeNormalFlowFunction(flowFunction, d1, d2);
 			saveEdges(n, m, d2, res, false);
 			for (D d3 : res) {
-				EdgeFunction<V> fprime = f.composeWith(edgeFunctions.getNormalEdgeFunction(n, d2, m, d3));
+				EdgeFunction<V> fprime = compose(f, edgeFunctions.getNormalEdgeFunction(n, d2, m, d3));
 				propagate(d1, m, d3, fprime, null, false); 
 			}
 		}
 	}
 	
+	/**
+	 * Lines 33-37 of the algorithm for edges that all reach the same statement n,
+	 * applying each normal flow function to the facts of all edges at once.
+	 */
+	private void processNormalFlows(List<PathEdge<N,D>> edges) {
+		final N n = edges.get(0).getTarget();
+		Set<D> d2s = new LinkedHashSet<D>();
+		List<EdgeFunction<V>> fs = new ArrayList<EdgeFunction<V>>(edges.size());
+		for (PathEdge<N,D> edge : edges) {
+			d2s.add(edge.factAtTarget());
+			fs.add(jumpFunction(edge));
+		}
+		for (N m : icfg.getSuccsOf(n)) {
+			FlowFunction<D> flowFunction = flowFunctions.getNormalFlowFunction(n,m);
+			flowFunctionConstructionCount++;
+			SetMultimap<D,D> targets = computeNormalFlowFunction(flowFunction, d2s);
+			for (int i = 0; i < edges.size(); i++) {
+				final D d1 = edges.get(i).factAtSource();
+				final D d2 = edges.get(i).factAtTarget();
+				Set<D> res = targets.get(d2);
+				saveEdges(n, m, d2, res, false);
+				for (D d3 : res) {
+					EdgeFunction<V> fprime = compose(fs.get(i), edgeFunctions.getNormalEdgeFunction(n, d2, m, d3));
+					propagate(d1, m, d3, fprime, null, false); 
+				}
+			}
+		}
+	}
+
 	/**
 	 * Computes the normal flow function for the given set of start and end
 	 * abstractions-
@@ -618,6 +1176,35 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		return flowFunction.computeTargets(d2);
 	}
 
+	/**
+	 * Computes the normal flow function for all abstractions that reach the current node
+	 * in the same batch of path edges. If a subclass overrides
+	 * {@link #computeNormalFlowFunction(FlowFunction, Object, Object)} but not this method,
+	 * the solver does not batch normal flows and calls the former for each edge instead.
+	 * @param flowFunction The normal flow function to compute
+	 * @param d2s The abstractions at the current node
+	 * @return The abstractions at the successor node, keyed by the abstraction at the current node
+	 */
+	protected SetMultimap<D,D> computeNormalFlowFunction
+			(FlowFunction<D> flowFunction, Collection<D> d2s) {
+		return flowFunction.computeAllTargets(d2s);
+	}
+
+	/**
+	 * Returns whether a subclass overrides computeNormalFlowFunction with the given parameter types.
+	 */
+	private boolean overrides(Class<?>... parameterTypes) {
+		for(Class<?> c = getClass(); c != IDESolver.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("computeNormalFlowFunction", parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				//look further up the hierarchy
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Propagates the flow further down the exploded super graph, merging any edge function that might
 	 * already have been computed for targetVal at target. 
@@ -636,10 +1223,17 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		EdgeFunction<V> jumpFnE;
 		EdgeFunction<V> fPrime;
 		boolean newFunction;
-		synchronized (jumpFn) {
-			jumpFnE = jumpFn.reverseLookup(target, targetVal).get(sourceVal);
+		boolean repropagation;
+		if(jumpFunctionCollectionInterval > 0)
+			//announce the edge before inserting its jump function, so that the function cannot be collected
+			//before the edge is processed
+			edgePending(target);
+		//the meet-and-insert must be atomic per target; edges with different targets do not contend
+		synchronized (jumpFn.lockFor(target)) {
+			jumpFnE = jumpFn.function(sourceVal, target, targetVal);
+			repropagation = jumpFnE!=null;
 			if(jumpFnE==null) jumpFnE = allTop; //JumpFn is initialized to all-top (see line [2] in SRH96 paper)
-			fPrime = jumpFnE.meetWith(f);
+			fPrime = meet(jumpFnE, f);
 			newFunction = !fPrime.equalTo(jumpFnE);
 			if(newFunction) {
 				jumpFn.addFunction(sourceVal, target, targetVal, fPrime);
@@ -647,12 +1241,105 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		}
 
 		if(newFunction) {
+			if(repropagation)
+				repropagationCount++;
 			PathEdge<N,D> edge = new PathEdge<N,D>(sourceVal, target, targetVal);
-			scheduleEdgeProcessing(edge);
+			if(!propagateAcross(edge, fPrime))
+				scheduleEdgeProcessing(edge);
 
             if(targetVal!=zeroValue) {
                 logger.trace("{} - EDGE: <{},{}> -> <{},{}> - {}", getDebugName(), icfg.getMethodOf(target), sourceVal, target, targetVal, fPrime );
             }
+		} else if(jumpFunctionCollectionInterval > 0) {
+			edgeDone(target);
+		}
+	}
+	
+	private void edgePending(N target) {
+		M m = icfg.getMethodOf(target);
+		AtomicInteger count = pendingEdges.get(m);
+		if(count==null) {
+			count = new AtomicInteger();
+			AtomicInteger existing = pendingEdges.putIfAbsent(m, count);
+			if(existing!=null) count = existing;
+		}
+		count.incrementAndGet();
+	}
+	
+	private void edgeDone(N target) {
+		M m = icfg.getMethodOf(target);
+		if(pendingEdges.get(m).decrementAndGet()==0)
+			collectionCandidates.add(m);
+	}
+	
+	/**
+	 * Drops the intra-procedural jump functions of all methods that have no pending edges
+	 * and do not (transitively) call any method with pending edges. Such methods will
+	 * usually not receive any further edges, as their end summaries are complete and
+	 * their callees will not return any new facts. Returns immediately if another thread
+	 * is already collecting.
+	 */
+	private void collectJumpFunctions() {
+		if(!collectionLock.tryLock())
+			return;
+		try {
+			//determine all methods that have pending edges or may still receive return flows from callees
+			Set<M> busy = new HashSet<M>();
+			Deque<M> worklist = new ArrayDeque<M>();
+			for(Entry<M,AtomicInteger> entry: pendingEdges.entrySet()) {
+				if(entry.getValue().get() > 0 && busy.add(entry.getKey()))
+					worklist.add(entry.getKey());
+			}
+			while(!worklist.isEmpty()) {
+				M m = worklist.poll();
+				for(N callSite: icfg.getCallersOf(m)) {
+					M caller = icfg.getMethodOf(callSite);
+					if(caller!=null && busy.add(caller))
+						worklist.add(caller);
+				}
+			}
+			for(Iterator<M> iter = collectionCandidates.iterator(); iter.hasNext(); ) {
+				M m = iter.next();
+				if(busy.contains(m)) {
+					//methods waiting for their callees remain candidates; methods with pending edges
+					//become candidates again once they run out of edges
+					if(pendingEdges.get(m).get() > 0)
+						iter.remove();
+					continue;
+				}
+				iter.remove();
+				collectJumpFunctions(m);
+			}
+		} finally {
+			collectionLock.unlock();
+		}
+	}
+	
+	/**
+	 * Drops the jump functions of all nodes of the given method except for start points,
+	 * call sites and exit statements. Stops as soon as the method has pending edges again.
+	 */
+	private void collectJumpFunctions(M m) {
+		AtomicInteger pending = pendingEdges.get(m);
+		Set<N> visited = new HashSet<N>(icfg.getStartPointsOf(m));
+		Deque<N> worklist = new ArrayDeque<N>(visited);
+		while(!worklist.isEmpty()) {
+			N n = worklist.poll();
+			if(icfg.isCallStmt(n)) {
+				for(N retSite: icfg.getReturnSitesOfCallAt(n))
+					if(visited.add(retSite))
+						worklist.add(retSite);
+			} else if(!icfg.isStartPoint(n) && !icfg.isExitStmt(n)) {
+				synchronized (jumpFn.lockFor(n)) {
+					//edges announced after this check insert their jump functions after the removal
+					if(pending.get() > 0)
+						return;
+					collectedJumpFunctionCount += jumpFn.removeFunctionsAt(n);
+				}
+			}
+			for(N succ: icfg.getSuccsOf(n))
+				if(visited.add(succ))
+					worklist.add(succ);
 		}
 	}
 	
@@ -660,6 +1347,8 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	 * Computes the final values for edge functions.
 	 */
 	private void computeValues() {	
+		//jump functions do not change during Phase II, so lookups need not copy them
+		jumpFn.setReadOnly(true);
 		//Phase II(i)
         logger.debug("Computing the final values for the edge functions");
         //add caller seeds to initial seeds in an unbalanced problem
@@ -689,8 +1378,23 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			e.printStackTrace();
 		}
 		
+		if(numberedVal!=null) {
+			//Phase II(ii) works on val directly
+			synchronized (val) {
+				numberedVal.visitEntries(new LongObjectHashMap.EntryVisitor<V>() {
+					public void visit(long key, V value) {
+						val.put(numberedValNodes.get(LongObjectHashMap.high(key)), numberedValFacts.get(LongObjectHashMap.low(key)), value);
+					}
+				});
+				numberedVal.clear();
+				numberedValNodes.clear();
+				numberedValFacts.clear();
+			}
+		}
+		
 		//Phase II(ii)
-		//we create an array of all nodes and then dispatch fractions of this array to multiple threads
+		//we create an array of all nodes and dispatch small chunks of this array to the executor,
+		//so that threads that finish early can pick up the remaining chunks
 		Set<N> allNonCallStartNodes = icfg.allNonCallStartNodes();
 		@SuppressWarnings("unchecked")
 		N[] nonCallStartNodesArray = (N[]) new Object[allNonCallStartNodes.size()];
@@ -699,10 +1403,11 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 			nonCallStartNodesArray[i] = n;
 			i++;
 		}
-		//No need to keep track of the number of tasks scheduled here, since we call shutdown
-		for(int t=0;t<numThreads; t++) {
-			ValueComputationTask task = new ValueComputationTask(nonCallStartNodesArray, t);
-			scheduleValueComputationTask(task);
+		int numChunks = numThreads * VALUE_COMPUTATION_CHUNKS_PER_THREAD;
+		int chunkSize = Math.max(1, (nonCallStartNodesArray.length + numChunks - 1) / numChunks);
+		for(int from=0; from<nonCallStartNodesArray.length; from+=chunkSize) {
+			int to = Math.min(from + chunkSize, nonCallStartNodesArray.length);
+			scheduleValueComputationTask(new ValueComputationTask(nonCallStartNodesArray, from, to));
 		}
 		//await termination of tasks
 		try {
@@ -710,22 +1415,19 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
+
 	}
 
 	private void propagateValueAtStart(Pair<N, D> nAndD, N n) {
 		D d = nAndD.getO2();		
 		M p = icfg.getMethodOf(n);
 		for(N c: icfg.getCallsFromWithin(p)) {					
-			Set<Entry<D, EdgeFunction<V>>> entries; 
-			synchronized (jumpFn) {
-				entries = jumpFn.forwardLookup(d,c).entrySet();
-				for(Map.Entry<D,EdgeFunction<V>> dPAndFP: entries) {
-					D dPrime = dPAndFP.getKey();
-					EdgeFunction<V> fPrime = dPAndFP.getValue();
-					N sP = n;
-					propagateValue(c,dPrime,fPrime.computeTarget(val(sP,d)));
-					flowFunctionApplicationCount++;
-				}
+			for(Map.Entry<D,EdgeFunction<V>> dPAndFP: jumpFn.forwardLookup(d,c).entrySet()) {
+				D dPrime = dPAndFP.getKey();
+				EdgeFunction<V> fPrime = dPAndFP.getValue();
+				N sP = n;
+				propagateValue(c,dPrime,fPrime.computeTarget(val(sP,d)));
+				flowFunctionApplicationCount++;
 			}
 		}
 	}
@@ -763,8 +1465,16 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	private V val(N nHashN, D nHashD){ 
 		V l;
 		synchronized (val) {
-			l = val.get(nHashN, nHashD);
+			if(numberedVal!=null) {
+				l = numberedVal.get(LongObjectHashMap.pack(nodeNumbering.numberOf(nHashN), factNumbering.numberOf(nHashD)));
+			} else {
+				l = val.get(nHashN, nHashD);
+			}
 		}
+		return valOrTop(l);
+	}
+	
+	private V valOrTop(V l) {
 		if(l==null) return valueLattice.topElement(); //implicitly initialized to top; see line [1] of Fig. 7 in SRH96 paper
 		else return l;
 	}
@@ -772,63 +1482,136 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	private void setVal(N nHashN, D nHashD,V l){
 		// TOP is the implicit default value which we do not need to store.
 		synchronized (val) {
-			if (l == valueLattice.topElement())     // do not store top values
-				val.remove(nHashN, nHashD);
-			else
-				val.put(nHashN, nHashD,l);
+			if(numberedVal!=null) {
+				int nodeNumber = nodeNumbering.numberOf(nHashN);
+				int factNumber = factNumbering.numberOf(nHashD);
+				long key = LongObjectHashMap.pack(nodeNumber, factNumber);
+				if (l == valueLattice.topElement())
+					numberedVal.remove(key);
+				else if(numberedVal.put(key, l)==null) {
+					//remember the node and fact once, to map the key back to them
+					if(!numberedValNodes.containsKey(nodeNumber))
+						numberedValNodes.put(nodeNumber, nHashN);
+					if(!numberedValFacts.containsKey(factNumber))
+						numberedValFacts.put(factNumber, nHashD);
+				}
+			} else {
+				if (l == valueLattice.topElement())     // do not store top values
+					val.remove(nHashN, nHashD);
+				else
+					val.put(nHashN, nHashD,l);
+			}
 		}
         logger.debug("VALUE: {} {} {} {}", icfg.getMethodOf(nHashN), nHashN, nHashD, l);
 	}
 
 	private EdgeFunction<V> jumpFunction(PathEdge<N,D> edge) {
-		synchronized (jumpFn) {
-			EdgeFunction<V> function = jumpFn.forwardLookup(edge.factAtSource(), edge.getTarget()).get(edge.factAtTarget());
-			if(function==null) return allTop; //JumpFn initialized to all-top, see line [2] in SRH96 paper
-			return function;
-		}
+		EdgeFunction<V> function = jumpFn.function(edge.factAtSource(), edge.getTarget(), edge.factAtTarget());
+		if(function==null) return allTop; //JumpFn initialized to all-top, see line [2] in SRH96 paper
+		return function;
 	}
 
-	protected Set<Cell<N, D, EdgeFunction<V>>> endSummary(N sP, D d3) {
-		Table<N, D, EdgeFunction<V>> map = endSummary.get(sP, d3);
-		if(map==null) return Collections.emptySet();
-		return map.cellSet();
+	/**
+	 * Returns the {@link CalleeContext} of the exploded start node <sP,d>, creating it if necessary.
+	 */
+	protected CalleeContext<N,D,V> calleeContext(N sP, D d) {
+		ConcurrentMap<D,CalleeContext<N,D,V>> contextsAtStartPoint = calleeContexts.get(sP);
+		if(contextsAtStartPoint==null) {
+			contextsAtStartPoint = new ConcurrentHashMap<D,CalleeContext<N,D,V>>();
+			ConcurrentMap<D,CalleeContext<N,D,V>> existing = calleeContexts.putIfAbsent(sP, contextsAtStartPoint);
+			if(existing!=null) contextsAtStartPoint = existing;
+		}
+		CalleeContext<N,D,V> context = contextsAtStartPoint.get(d);
+		if(context==null) {
+			context = new CalleeContext<N,D,V>();
+			CalleeContext<N,D,V> existing = contextsAtStartPoint.putIfAbsent(d, context);
+			if(existing!=null) context = existing;
+		}
+		return context;
 	}
 
-	private void addEndSummary(N sP, D d1, N eP, D d2, EdgeFunction<V> f) {
-		Table<N, D, EdgeFunction<V>> summaries = endSummary.get(sP, d1);
+	/**
+	 * Registers the end summaries that an earlier run computed for <sP,d> in the context of <sP,d>,
+	 * if there are any.
+	 * @return <code>true</code> if summaries were preloaded, in which case the callee must not be analyzed
+	 */
+	private boolean preloadSummaries(M method, N sP, D d) {
+		if(preloadedSummaries==null)
+			return false;
+		Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>> summaries = decodedSummaries.get(method);
 		if(summaries==null) {
-			summaries = HashBasedTable.create();
-			endSummary.put(sP, d1, summaries);
+			try {
+				summaries = preloadedSummaries.get(method, summaryCodec, edgeFunctionCodec);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot decode summaries of " + method, e);
+			}
+			Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>> existing = decodedSummaries.putIfAbsent(method, summaries);
+			if(existing!=null) summaries = existing;
+		}
+		Table<N,D,EdgeFunction<V>> summary = summaries.get(new Pair<N,D>(sP, d));
+		if(summary==null)
+			return false;
+		calleeContext(sP, d).preload(summary);
+		preloadedSummaryApplicationCount++;
+		return true;
+	}
+
+	/**
+	 * Releases the jump functions, in particular the file backing them if they are kept in a
+	 * file (see {@link heros.SolverConfiguration#jumpFunctionDirectory()}). The computed results and
+	 * summaries remain available, but the results can no longer be {@link #update(Collection) updated}.
+	 */
+	public void dispose() {
+		jumpFn.close();
+	}
+
+	/**
+	 * Returns the end summaries of all methods that the problem's {@link SummaryCodec} assigns
+	 * a fingerprint to, so that they can be persisted and preloaded by a later run through
+	 * {@link IDETabulationProblem#methodSummaries()}. The result includes the summaries that
+	 * were preloaded and applied during this run. Must only be called after {@link #solve()}.
+	 * @throws IllegalStateException if the problem does not define how to encode summaries
+	 */
+	public MethodSummaries exportSummaries() {
+		if(summaryCodec==null || edgeFunctionCodec==null)
+			throw new IllegalStateException("The tabulation problem defines no summary codec");
+		//method -> start point -> fact at start point -> context
+		Map<M,Map<N,Map<D,CalleeContext<N,D,V>>>> contextsByMethod = new HashMap<M,Map<N,Map<D,CalleeContext<N,D,V>>>>();
+		for(Entry<N,ConcurrentMap<D,CalleeContext<N,D,V>>> entry: calleeContexts.entrySet()) {
+			M method = icfg.getMethodOf(entry.getKey());
+			Map<N,Map<D,CalleeContext<N,D,V>>> contexts = contextsByMethod.get(method);
+			if(contexts==null) {
+				contexts = new HashMap<N,Map<D,CalleeContext<N,D,V>>>();
+				contextsByMethod.put(method, contexts);
+			}
+			contexts.put(entry.getKey(), entry.getValue());
 		}
-		//note: at this point we don't need to join with a potential previous f
-		//because f is a jump function, which is already properly joined
-		//within propagate(..)
-		summaries.put(eP,d2,f);
-	}	
+		MethodSummaries res = new MethodSummaries();
+		for(Entry<M,Map<N,Map<D,CalleeContext<N,D,V>>>> entry: contextsByMethod.entrySet()) {
+			try {
+				res.put(entry.getKey(), entry.getValue(), summaryCodec, edgeFunctionCodec);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot encode summaries of " + entry.getKey(), e);
+			}
+		}
+		return res;
+	}
+
+	protected Set<Cell<N, D, EdgeFunction<V>>> endSummary(N sP, D d3) {
+		Table<N, D, EdgeFunction<V>> res = HashBasedTable.create();
+		for(Entry<N, ? extends Map<D, EndSummary<V>>> exitEntry: calleeContext(sP, d3).endSummaries().entrySet())
+			for(Entry<D, EndSummary<V>> entry: exitEntry.getValue().entrySet())
+				res.put(exitEntry.getKey(), entry.getKey(), entry.getValue().getFunction());
+		return res.cellSet();
+	}
 	
 	protected Map<N, Set<D>> incoming(D d1, N sP) {
-		synchronized (incoming) {
-			Map<N, Set<D>> map = incoming.get(sP, d1);
-			if(map==null) return Collections.emptyMap();
-			return map;
-		}
+		return calleeContext(sP, d1).incoming();
 	}
 	
 	protected void addIncoming(N sP, D d3, N n, D d2) {
-		synchronized (incoming) {
-			Map<N, Set<D>> summaries = incoming.get(sP, d3);
-			if(summaries==null) {
-				summaries = new LinkedHashMap<N, Set<D>>();
-				incoming.put(sP, d3, summaries);
-			}
-			Set<D> set = summaries.get(n);
-			if(set==null) {
-				set = new LinkedHashSet<D>();
-				summaries.put(n,set);
-			}
-			set.add(d2);
-		}
-	}	
+		calleeContext(sP, d3).addIncoming(n, d2);
+	}
 	
 	/**
 	 * Returns the V-type result for the given value at the given statement.
@@ -856,9 +1639,24 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	}
 	
 	/**
-	 * Factory method for this solver's thread-pool executor.
+	 * Factory method for this solver's executor. Returns an executor routing path edges by method
+	 * if {@link IDETabulationProblem#methodAffinity()} is enabled, a work-stealing executor
+	 * if {@link IDETabulationProblem#workStealing()} is enabled, and a thread-pool
+	 * executor with a single shared work queue otherwise. The shared work queue is a
+	 * priority queue if the problem defines a {@link IDETabulationProblem#worklistOrdering()}.
+	 * 
+	 * Earlier versions declared this method and {@link #executor} with the type
+	 * {@link CountingThreadPoolExecutor}. Subclasses may still override this method with that
+	 * return type, but code that uses thread-pool specific methods on {@link #executor} must
+	 * now cast it, which only succeeds for the default thread-pool executor.
 	 */
-	protected CountingThreadPoolExecutor getExecutor() {
+	protected CountingExecutor getExecutor() {
+		if(methodAffinity)
+			return new CountingAffinityExecutor(this.numThreads);
+		if(workStealing)
+			return new CountingForkJoinExecutor(this.numThreads);
+		if(worklistOrdering!=null)
+			return new CountingThreadPoolExecutor(this.numThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(11, new PrioritizedTaskComparator()));
 		return new CountingThreadPoolExecutor(this.numThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
 	}
 	
@@ -872,6 +1670,12 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 
 	public void printStats() {
 		if(logger.isDebugEnabled()) {
+			logger.debug("{} path edges propagated, {} of them re-propagated (worklist ordering: {})",
+					propagationCount, repropagationCount, worklistOrdering==null ? "FIFO" : worklistOrdering.getClass().getSimpleName());
+			if(jumpFunctionCollectionInterval > 0)
+				logger.debug("{} jump functions collected", collectedJumpFunctionCount);
+			if(preloadedSummaries!=null)
+				logger.debug("{} calls resolved through preloaded summaries", preloadedSummaryApplicationCount);
 			if(ffCache!=null)
 				ffCache.printStats();
 			if(efCache!=null)
@@ -881,25 +1685,144 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 		}
 	}
 	
-	private class PathEdgeProcessingTask implements Runnable {
+	private void processEdge(PathEdge<N,D> edge) {
+		if(icfg.isCallStmt(edge.getTarget())) {
+			processCall(edge);
+		} else {
+			//note that some statements, such as "throw" may be
+			//both an exit statement and a "normal" statement
+			if(icfg.isExitStmt(edge.getTarget())) {
+				processExit(edge);
+			}
+			if(!icfg.getSuccsOf(edge.getTarget()).isEmpty()) {
+				processNormalFlow(edge);
+			}
+		}
+		edgeProcessed(edge);
+	}
+
+	/**
+	 * Processes the given batch of path edges. Edges that reach the same statement with normal
+	 * flow only are processed together, such that each flow function is applied to all of their
+	 * facts in a single call.
+	 */
+	private void processEdges(List<PathEdge<N,D>> edges) {
+		if(edges.size()==1 || !batchNormalFlows) {
+			for(PathEdge<N,D> edge: edges)
+				processEdge(edge);
+			return;
+		}
+		Map<N,List<PathEdge<N,D>>> normalFlowEdges = new LinkedHashMap<N,List<PathEdge<N,D>>>();
+		for(PathEdge<N,D> edge: edges) {
+			N n = edge.getTarget();
+			if(icfg.isCallStmt(n) || icfg.isExitStmt(n) || icfg.getSuccsOf(n).isEmpty()) {
+				processEdge(edge);
+				continue;
+			}
+			List<PathEdge<N,D>> edgesAtN = normalFlowEdges.get(n);
+			if(edgesAtN==null) {
+				edgesAtN = new ArrayList<PathEdge<N,D>>();
+				normalFlowEdges.put(n, edgesAtN);
+			}
+			edgesAtN.add(edge);
+		}
+		for(List<PathEdge<N,D>> edgesAtN: normalFlowEdges.values()) {
+			if(edgesAtN.size()==1)
+				processNormalFlow(edgesAtN.get(0));
+			else
+				processNormalFlows(edgesAtN);
+			for(PathEdge<N,D> edge: edgesAtN)
+				edgeProcessed(edge);
+		}
+	}
+
+	private void edgeProcessed(PathEdge<N,D> edge) {
+		if(worklistOrdering!=null)
+			worklistOrdering.processed(edge.factAtSource(), edge.getTarget(), edge.factAtTarget());
+		edgeCompleted(edge);
+	}
+	
+	/**
+	 * Accounts for a completed edge in the collection of jump functions. Unlike
+	 * {@link #edgeProcessed(PathEdge)}, this does not notify the worklist ordering, so it is
+	 * also used for edges that were propagated across skipped statements without ever
+	 * being scheduled.
+	 */
+	private void edgeCompleted(PathEdge<N,D> edge) {
+		if(jumpFunctionCollectionInterval > 0) {
+			edgeDone(edge.getTarget());
+			if(processedEdgeCount.incrementAndGet() % jumpFunctionCollectionInterval == 0)
+				collectJumpFunctions();
+		}
+	}
+	
+	private long nextSequenceNumber() {
+		//sequence numbers are only needed to order tasks of equal priority
+		return worklistOrdering==null ? 0 : scheduledEdgeCount.getAndIncrement();
+	}
+	
+	/**
+	 * A task with a priority; tasks with lower priorities are processed first if the
+	 * solver uses a {@link WorklistOrdering}, tasks of equal priority in FIFO order.
+	 */
+	private static abstract class PrioritizedTask implements Runnable {
+		private final long priority;
+		private final long sequence;
+
+		private PrioritizedTask(long priority, long sequence) {
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+	}
+	
+	private static class PrioritizedTaskComparator implements Comparator<Runnable> {
+		public int compare(Runnable r1, Runnable r2) {
+			//other tasks only run in Phase II, i.e., never together with path edge tasks
+			if(!(r1 instanceof PrioritizedTask) || !(r2 instanceof PrioritizedTask))
+				return 0;
+			PrioritizedTask t1 = (PrioritizedTask) r1;
+			PrioritizedTask t2 = (PrioritizedTask) r2;
+			int res = Long.compare(t1.priority, t2.priority);
+			if(res!=0) return res;
+			return Long.compare(t1.sequence, t2.sequence);
+		}
+	}
+	
+	private class PathEdgeProcessingTask extends PrioritizedTask {
 		private final PathEdge<N,D> edge;
 
-		public PathEdgeProcessingTask(PathEdge<N,D> edge) {
+		public PathEdgeProcessingTask(PathEdge<N,D> edge, long priority) {
+			super(priority, nextSequenceNumber());
 			this.edge = edge;
 		}
 
 		public void run() {
-			if(icfg.isCallStmt(edge.getTarget())) {
-				processCall(edge);
-			} else {
-				//note that some statements, such as "throw" may be
-				//both an exit statement and a "normal" statement
-				if(icfg.isExitStmt(edge.getTarget())) {
-					processExit(edge);
-				}
-				if(!icfg.getSuccsOf(edge.getTarget()).isEmpty()) {
-					processNormalFlow(edge);
+			processEdge(edge);
+		}
+	}
+	
+	private class PathEdgeBatchProcessingTask extends PrioritizedTask {
+		private final List<PathEdge<N,D>> edges;
+
+		public PathEdgeBatchProcessingTask(List<PathEdge<N,D>> edges, long priority) {
+			super(priority, nextSequenceNumber());
+			this.edges = edges;
+		}
+
+		public void run() {
+			List<PathEdge<N,D>> batch = edges;
+			List<PathEdge<N,D>> discovered = new ArrayList<PathEdge<N,D>>(pathEdgeBatchSize);
+			currentEdgeBatch.set(discovered);
+			try {
+				while(!batch.isEmpty()) {
+					processEdges(batch);
+					//edges discovered by this batch that were not handed off yet
+					//are processed on this thread
+					batch = new ArrayList<PathEdge<N,D>>(discovered);
+					discovered.clear();
 				}
+			} finally {
+				currentEdgeBatch.remove();
 			}
 		}
 	}
@@ -926,27 +1849,35 @@ public class IDESolver<N,D,M,V,I extends InterproceduralCFG<N, M>> {
 	
 	private class ValueComputationTask implements Runnable {
 		private final N[] values;
-		final int num;
+		private final int from;
+		private final int to;
 
-		public ValueComputationTask(N[] values, int num) {
+		public ValueComputationTask(N[] values, int from, int to) {
 			this.values = values;
-			this.num = num;
+			this.from = from;
+			this.to = to;
 		}
 
 		public void run() {
-			int sectionSize = (int) Math.floor(values.length / numThreads) + numThreads;
-			for(int i = sectionSize * num; i < Math.min(sectionSize * (num+1),values.length); i++) {
+			for(int i = from; i < to; i++) {
 				N n = values[i];
+				//n is handled by this task only, and the values at start points are final
+				//after Phase II(i), so we can read and write val without locking
+				Map<D,V> valsAtN = val.row(n);
 				for(N sP: icfg.getStartPointsOf(icfg.getMethodOf(n))) {					
+					Map<D,V> valsAtSP = val.row(sP);
 					Set<Cell<D, D, EdgeFunction<V>>> lookupByTarget;
 					lookupByTarget = jumpFn.lookupByTarget(n);
 					for(Cell<D, D, EdgeFunction<V>> sourceValTargetValAndFunction : lookupByTarget) {
 						D dPrime = sourceValTargetValAndFunction.getRowKey();
 						D d = sourceValTargetValAndFunction.getColumnKey();
 						EdgeFunction<V> fPrime = sourceValTargetValAndFunction.getValue();
-						synchronized (val) {
-							setVal(n,d,valueLattice.meet(val(n,d),fPrime.computeTarget(val(sP,dPrime))));
-						}
+						V l = valueLattice.meet(valOrTop(valsAtN.get(d)),fPrime.computeTarget(valOrTop(valsAtSP.get(dPrime))));
+						if (l == valueLattice.topElement())     // do not store top values
+							valsAtN.remove(d);
+						else
+							valsAtN.put(d, l);
+						logger.debug("VALUE: {} {} {} {}", icfg.getMethodOf(n), n, d, l);
 						flowFunctionApplicationCount++;
 					}
 				}
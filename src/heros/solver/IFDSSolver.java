@@ -13,16 +13,25 @@ package heros.solver;
 import static heros.solver.IFDSSolver.BinaryDomain.BOTTOM;
 import static heros.solver.IFDSSolver.BinaryDomain.TOP;
 import heros.EdgeFunction;
+import heros.EdgeFunctionCodec;
 import heros.EdgeFunctions;
 import heros.FlowFunctions;
 import heros.IDETabulationProblem;
 import heros.IFDSTabulationProblem;
 import heros.InterproceduralCFG;
 import heros.MeetLattice;
+import heros.Numbering;
+import heros.RelevanceOracle;
+import heros.SummaryCodec;
+import heros.WorklistOrdering;
 import heros.edgefunc.AllBottom;
 import heros.edgefunc.AllTop;
 import heros.edgefunc.EdgeIdentity;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 
@@ -43,6 +52,31 @@ public class IFDSSolver<N,D,M,I extends InterproceduralCFG<N, M>> extends IDESol
 	protected static enum BinaryDomain { TOP,BOTTOM } 
 	
 	private final static EdgeFunction<BinaryDomain> ALL_BOTTOM = new AllBottom<BinaryDomain>(BOTTOM);
+
+	//IFDS summaries are made up of identities, and of all-bottom functions for facts generated from zero
+	private final static EdgeFunctionCodec<BinaryDomain> EDGE_FUNCTION_CODEC = new EdgeFunctionCodec<BinaryDomain>() {
+
+		public void write(EdgeFunction<BinaryDomain> function, DataOutput out) throws IOException {
+			if(function instanceof EdgeIdentity)
+				out.writeByte(0);
+			else if(function instanceof AllBottom)
+				out.writeByte(1);
+			else
+				throw new IllegalArgumentException("Unexpected edge function: " + function);
+		}
+
+		public EdgeFunction<BinaryDomain> read(DataInput in) throws IOException {
+			byte kind = in.readByte();
+			switch(kind) {
+			case 0:
+				return EdgeIdentity.v();
+			case 1:
+				return ALL_BOTTOM;
+			default:
+				throw new IOException("Unknown edge function: " + kind);
+			}
+		}
+	};
 	
 	/**
 	 * Creates a solver for the given problem. The solver must then be started by calling
@@ -72,6 +106,10 @@ public class IFDSSolver<N,D,M,I extends InterproceduralCFG<N, M>> extends IDESol
 				return ifdsProblem.zeroValue();
 			}
 
+			public Numbering<D> factNumbering() {
+				return ifdsProblem.factNumbering();
+			}
+
 			public EdgeFunctions<N,D,M,BinaryDomain> edgeFunctions() {
 				return new IFDSEdgeFunctions();
 			}
@@ -149,6 +187,81 @@ public class IFDSSolver<N,D,M,I extends InterproceduralCFG<N, M>> extends IDESol
 			public boolean recordEdges() {
 				return ifdsProblem.recordEdges();
 			}
+			
+			@Override
+			public boolean workStealing() {
+				return ifdsProblem.workStealing();
+			}
+			
+			@Override
+			public int pathEdgeBatchSize() {
+				return ifdsProblem.pathEdgeBatchSize();
+			}
+			
+			@Override
+			public boolean methodAffinity() {
+				return ifdsProblem.methodAffinity();
+			}
+			
+			@Override
+			public boolean internFacts() {
+				return ifdsProblem.internFacts();
+			}
+			
+			@Override
+			public boolean hashConsEdgeFunctions() {
+				return ifdsProblem.hashConsEdgeFunctions();
+			}
+			
+			@Override
+			public long flowFunctionResultCacheSize() {
+				return ifdsProblem.flowFunctionResultCacheSize();
+			}
+			
+			@Override
+			public boolean collapseIdentityRuns() {
+				return ifdsProblem.collapseIdentityRuns();
+			}
+			
+			@Override
+			public int jumpFunctionCollectionInterval() {
+				return ifdsProblem.jumpFunctionCollectionInterval();
+			}
+			
+			@Override
+			public File jumpFunctionDirectory() {
+				return ifdsProblem.jumpFunctionDirectory();
+			}
+			
+			@Override
+			public int hotJumpFunctionRows() {
+				return ifdsProblem.hotJumpFunctionRows();
+			}
+			
+			@Override
+			public WorklistOrdering<N,D> worklistOrdering() {
+				return ifdsProblem.worklistOrdering();
+			}
+			
+			@Override
+			public RelevanceOracle<N,D> relevanceOracle() {
+				return ifdsProblem.relevanceOracle();
+			}
+			
+			@Override
+			public SummaryCodec<N,D,M> summaryCodec() {
+				return ifdsProblem.summaryCodec();
+			}
+
+			@Override
+			public EdgeFunctionCodec<BinaryDomain> edgeFunctionCodec() {
+				return EDGE_FUNCTION_CODEC;
+			}
+
+			@Override
+			public MethodSummaries methodSummaries() {
+				return ifdsProblem.methodSummaries();
+			}
 
 			};
 	}
@@ -14,123 +14,224 @@ import heros.DontSynchronize;
 import heros.EdgeFunction;
 import heros.SynchronizedBy;
 import heros.ThreadSafe;
+import heros.utilities.CompactMap;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 
-import com.google.common.collect.HashBasedTable;
+import com.google.common.base.Supplier;
 import com.google.common.collect.Table;
 import com.google.common.collect.Table.Cell;
+import com.google.common.collect.Tables;
 
 
 /**
  * The IDE algorithm uses a list of jump functions. Instead of a list, we use a set of three
  * maps that are kept in sync. This allows for efficient indexing: the algorithm accesses
  * elements from the list through three different indices.
+ * 
+ * All three indices are keyed by the target node of the jump function. We therefore partition
+ * them into a fixed number of stripes by target node, each guarded by its own lock. Jump functions
+ * that target different statements thus (almost) never contend. Clients that need to perform a
+ * sequence of operations atomically for a given target, such as the meet-and-insert in
+ * {@link IDESolver#propagate}, synchronize on {@link #lockFor(Object)}.
+ * 
+ * Only the reverse lookup is needed to compute the exploded super graph; the other two indices
+ * are only needed to compute values. Clients can therefore choose which of them to maintain
+ * (see {@link Index}). Each stripe builds a missing index from its reverse lookups once the
+ * index is queried for the first time, and maintains it from then on.
+ * 
+ * While jump functions are still added, lookups return snapshots: their callers propagate
+ * further edges while iterating the result, which may add jump functions to the very same
+ * index structures on other threads. Copying is only needed as long as this can happen.
+ * Clients that only read jump functions, such as Phase II of {@link IDESolver}, call
+ * {@link #setReadOnly(boolean)} so that lookups return unmodifiable views instead.
  */
 @ThreadSafe
 public class JumpFunctions<N,D,L> {
 	
-	//mapping from target node and value to a list of all source values and associated functions
-	//where the list is implemented as a mapping from the source value to the function
-	//we exclude empty default functions
-	@SynchronizedBy("consistent lock on this")
-	protected Table<N,D,Map<D,EdgeFunction<L>>> nonEmptyReverseLookup = HashBasedTable.create();
-	
-	//mapping from source value and target node to a list of all target values and associated functions
-	//where the list is implemented as a mapping from the source value to the function
-	//we exclude empty default functions 
-	@SynchronizedBy("consistent lock on this")
-	protected Table<D,N,Map<D,EdgeFunction<L>>> nonEmptyForwardLookup = HashBasedTable.create();
-
-	//a mapping from target node to a list of triples consisting of source value,
-	//target value and associated function; the triple is implemented by a table
-	//we exclude empty default functions 
-	@SynchronizedBy("consistent lock on this")
-	protected Map<N,Table<D,D,EdgeFunction<L>>> nonEmptyLookupByTargetNode = new LinkedHashMap<N,Table<D,D,EdgeFunction<L>>>();
+	@SynchronizedBy("each stripe is guarded by its own lock")
+	protected final Stripe[] stripes;
 
 	@DontSynchronize("immutable")	
 	private final EdgeFunction<L> allTop;
+
+	@DontSynchronize("immutable")
+	private final Set<Index> indices;
+
+	@SynchronizedBy("volatile field")
+	private volatile boolean readOnly = false;
+
+	/**
+	 * The optional indices of jump functions.
+	 */
+	public static enum Index {
+		/** The index used by {@link JumpFunctions#forwardLookup(Object, Object)}. */
+		FORWARD,
+		/** The index used by {@link JumpFunctions#lookupByTarget(Object)} and {@link JumpFunctions#removeFunctionsAt(Object)}. */
+		BY_TARGET
+	}
 	
 	public JumpFunctions(EdgeFunction<L> allTop) {
+		this(allTop, EnumSet.allOf(Index.class));
+	}
+
+	public JumpFunctions(EdgeFunction<L> allTop, Set<Index> indices) {
+		this(allTop, 4 * Runtime.getRuntime().availableProcessors(), indices);
+	}
+
+	public JumpFunctions(EdgeFunction<L> allTop, int concurrencyLevel) {
+		this(allTop, concurrencyLevel, EnumSet.allOf(Index.class));
+	}
+
+	/**
+	 * Creates a new, empty set of jump functions.
+	 * @param allTop The all-top function, which is never stored.
+	 * @param concurrencyLevel The estimated number of threads concurrently adding jump functions.
+	 * 	This value is rounded up to the next power of two to obtain the number of lock stripes.
+	 * @param indices The optional indices to maintain from the start.
+	 */
+	@SuppressWarnings("unchecked")
+	public JumpFunctions(EdgeFunction<L> allTop, int concurrencyLevel, Set<Index> indices) {
 		this.allTop = allTop;
+		this.indices = indices.isEmpty() ? EnumSet.noneOf(Index.class) : EnumSet.copyOf(indices);
+		int numStripes = 1;
+		while(numStripes < concurrencyLevel)
+			numStripes <<= 1;
+		this.stripes = (Stripe[]) new JumpFunctions.Stripe[numStripes];
+		for(int i=0; i<numStripes; i++)
+			stripes[i] = createStripe();
+	}
+
+	/**
+	 * Factory method for the stripes holding the actual index structures.
+	 * Called from within the constructor.
+	 */
+	protected Stripe createStripe() {
+		return new HashStripe();
+	}
+
+	/**
+	 * Returns the lock guarding all jump functions with the given target node.
+	 * The lock is reentrant, i.e., the methods of this class can be called while
+	 * holding it.
+	 */
+	public Object lockFor(N target) {
+		return stripeFor(target);
+	}
+
+	protected Stripe stripeFor(N target) {
+		int h = target.hashCode();
+		h ^= (h >>> 16);
+		return stripes[h & (stripes.length - 1)];
+	}
+
+	/**
+	 * Declares whether jump functions are only read from now on. While this is the case,
+	 * lookups return unmodifiable views of the live index structures instead of snapshots,
+	 * and jump functions must neither be added nor removed.
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
 	}
 
 	/**
 	 * Records a jump function. The source statement is implicit.
 	 * @see PathEdge
 	 */
-	public synchronized void addFunction(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
+	public void addFunction(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
 		assert sourceVal!=null;
 		assert target!=null;
 		assert targetVal!=null;
 		assert function!=null;
+		assert !readOnly;
 		
 		//we do not store the default function (all-top)
 		if(function.equalTo(allTop)) return;
 		
-		Map<D,EdgeFunction<L>> sourceValToFunc = nonEmptyReverseLookup.get(target, targetVal);
-		if(sourceValToFunc==null) {
-			sourceValToFunc = new LinkedHashMap<D,EdgeFunction<L>>();
-			nonEmptyReverseLookup.put(target,targetVal,sourceValToFunc);
-		}
-		sourceValToFunc.put(sourceVal, function);
-		
-		Map<D, EdgeFunction<L>> targetValToFunc = nonEmptyForwardLookup.get(sourceVal, target);
-		if(targetValToFunc==null) {
-			targetValToFunc = new LinkedHashMap<D,EdgeFunction<L>>();
-			nonEmptyForwardLookup.put(sourceVal,target,targetValToFunc);
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			stripe.addFunction(sourceVal, target, targetVal, function);
 		}
-		targetValToFunc.put(targetVal, function);
+	}
 
-		Table<D,D,EdgeFunction<L>> table = nonEmptyLookupByTargetNode.get(target);
-		if(table==null) {
-			table = HashBasedTable.create();
-			nonEmptyLookupByTargetNode.put(target,table);
+	/**
+	 * Returns the jump function from the given source value to the given target value
+	 * at the given target statement, or <code>null</code> if there is no such function. 
+	 */
+	public EdgeFunction<L> function(D sourceVal, N target, D targetVal) {
+		assert sourceVal!=null;
+		assert target!=null;
+		assert targetVal!=null;
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			Map<D,EdgeFunction<L>> sourceValToFunc = stripe.reverseLookup(target, targetVal);
+			if(sourceValToFunc==null) return null;
+			return sourceValToFunc.get(sourceVal);
 		}
-		table.put(sourceVal, targetVal, function);
 	}
 	
 	/**
      * Returns, for a given target statement and value all associated
      * source values, and for each the associated edge function.
      * The return value is a mapping from source value to function.
+     * The returned map is a snapshot that is not affected by later modifications,
+     * or a view if jump functions are read-only.
 	 */
-	public synchronized Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal) {
+	public Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal) {
 		assert target!=null;
 		assert targetVal!=null;
-		Map<D,EdgeFunction<L>> res = nonEmptyReverseLookup.get(target,targetVal);
-		if(res==null) return Collections.emptyMap();
-		return res;
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			Map<D,EdgeFunction<L>> res = stripe.reverseLookup(target,targetVal);
+			if(res==null) return Collections.emptyMap();
+			if(readOnly) return Collections.unmodifiableMap(res);
+			return new CompactMap<D,EdgeFunction<L>>(res);
+		}
 	}
 	
 	/**
 	 * Returns, for a given source value and target statement all
 	 * associated target values, and for each the associated edge function. 
      * The return value is a mapping from target value to function.
+     * The returned map is a snapshot that is not affected by later modifications,
+     * or a view if jump functions are read-only.
 	 */
-	public synchronized Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target) {
+	public Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target) {
 		assert sourceVal!=null;
 		assert target!=null;
-		Map<D, EdgeFunction<L>> res = nonEmptyForwardLookup.get(sourceVal, target);
-		if(res==null) return Collections.emptyMap();
-		return res;
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			stripe.requireForwardLookup();
+			Map<D, EdgeFunction<L>> res = stripe.forwardLookup(sourceVal, target);
+			if(res==null) return Collections.emptyMap();
+			if(readOnly) return Collections.unmodifiableMap(res);
+			return new CompactMap<D,EdgeFunction<L>>(res);
+		}
 	}
 	
 	/**
 	 * Returns for a given target statement all jump function records with this target.
 	 * The return value is a set of records of the form (sourceVal,targetVal,edgeFunction).
+     * The returned set is a snapshot that is not affected by later modifications,
+     * or a view if jump functions are read-only.
 	 */
-	public synchronized Set<Cell<D,D,EdgeFunction<L>>> lookupByTarget(N target) {
+	public Set<Cell<D,D,EdgeFunction<L>>> lookupByTarget(N target) {
 		assert target!=null;
-		Table<D, D, EdgeFunction<L>> table = nonEmptyLookupByTargetNode.get(target);
-		if(table==null) return Collections.emptySet();
-		Set<Cell<D, D, EdgeFunction<L>>> res = table.cellSet();
-		if(res==null) return Collections.emptySet();
-		return res;
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			stripe.requireLookupByTarget();
+			Table<D, D, EdgeFunction<L>> table = stripe.lookupByTarget(target);
+			if(table==null) return Collections.emptySet();
+			if(readOnly) return Collections.unmodifiableSet(table.cellSet());
+			return new LinkedHashSet<Cell<D,D,EdgeFunction<L>>>(table.cellSet());
+		}
 	}
 	
 	/**
@@ -139,45 +240,371 @@ public class JumpFunctions<N,D,L> {
 	 * @return True if the function has actually been removed. False if it was not
 	 * there anyway.
 	 */
-	public synchronized boolean removeFunction(D sourceVal, N target, D targetVal) {
+	public boolean removeFunction(D sourceVal, N target, D targetVal) {
 		assert sourceVal!=null;
 		assert target!=null;
 		assert targetVal!=null;
 		
-		Map<D,EdgeFunction<L>> sourceValToFunc = nonEmptyReverseLookup.get(target, targetVal);
-		if (sourceValToFunc == null)
-			return false;
-		if (sourceValToFunc.remove(sourceVal) == null)
-			return false;
-		if (sourceValToFunc.isEmpty())
-			nonEmptyReverseLookup.remove(targetVal, targetVal);
-		
-		Map<D, EdgeFunction<L>> targetValToFunc = nonEmptyForwardLookup.get(sourceVal, target);
-		if (targetValToFunc == null)
-			return false;
-		if (targetValToFunc.remove(targetVal) == null)
-			return false;
-		if (targetValToFunc.isEmpty())
-			nonEmptyForwardLookup.remove(sourceVal, target);
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			return stripe.removeFunction(sourceVal, target, targetVal);
+		}
+	}
 
-		Table<D,D,EdgeFunction<L>> table = nonEmptyLookupByTargetNode.get(target);
-		if (table == null)
-			return false;
-		if (table.remove(sourceVal, targetVal) == null)
-			return false;
-		if (table.isEmpty())
-			nonEmptyLookupByTargetNode.remove(target);
+	/**
+	 * Removes all jump functions with the given target statement.
+	 * @return The number of removed functions.
+	 */
+	public int removeFunctionsAt(N target) {
+		assert target!=null;
 		
-		return true;
+		Stripe stripe = stripeFor(target);
+		synchronized (stripe) {
+			return stripe.removeFunctionsAt(target);
+		}
 	}
 
 	/**
 	 * Removes all jump functions
 	 */
-	public synchronized void clear() {
-		this.nonEmptyForwardLookup.clear();
-		this.nonEmptyLookupByTargetNode.clear();
-		this.nonEmptyReverseLookup.clear();
+	public void clear() {
+		for(Stripe stripe: stripes) {
+			synchronized (stripe) {
+				stripe.clear();
+			}
+		}
+	}
+
+	/**
+	 * Releases all jump functions and the resources holding them. The jump functions must
+	 * not be accessed afterwards.
+	 */
+	public void close() {
+		clear();
+	}
+
+	/**
+	 * The jump functions of all target nodes that hash to the same stripe. All accesses
+	 * must hold the monitor of the stripe. Lookup methods return the live index structures,
+	 * or <code>null</code> if there is no jump function for the given key.
+	 */
+	protected abstract class Stripe {
+
+		protected abstract Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal);
+
+		protected abstract Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target);
+
+		protected abstract Table<D,D,EdgeFunction<L>> lookupByTarget(N target);
+
+		protected abstract void addFunction(D sourceVal, N target, D targetVal, EdgeFunction<L> function);
+
+		protected abstract boolean removeFunction(D sourceVal, N target, D targetVal);
+
+		/**
+		 * Removes all jump functions with the given target node and returns their number.
+		 */
+		protected abstract int removeFunctionsAt(N target);
+
+		protected abstract void clear();
+
+		/**
+		 * Makes sure that {@link #forwardLookup(Object, Object)} can be answered. Does nothing by default.
+		 */
+		protected void requireForwardLookup() {
+		}
+
+		/**
+		 * Makes sure that {@link #lookupByTarget(Object)} can be answered. Does nothing by default.
+		 */
+		protected void requireLookupByTarget() {
+		}
+	}
+
+	/**
+	 * A stripe that keeps three separate indices in sync, of which the forward lookup and the
+	 * lookup by target are optional. Subclasses define how the indices are keyed.
+	 */
+	protected abstract class IndexedStripe extends Stripe {
+
+		@SynchronizedBy("consistent lock on this stripe")
+		protected boolean forwardIndexed = indices.contains(Index.FORWARD);
+
+		@SynchronizedBy("consistent lock on this stripe")
+		protected boolean targetIndexed = indices.contains(Index.BY_TARGET);
+
+		/**
+		 * Returns all reverse lookups of this stripe.
+		 */
+		protected abstract Iterable<ReverseLookup<N,D,L>> reverseLookups();
+
+		protected abstract void putReverseLookup(N target, D targetVal, ReverseLookup<N,D,L> sourceValToFunc);
+
+		protected abstract void putForwardLookup(D sourceVal, N target, Map<D,EdgeFunction<L>> targetValToFunc);
+
+		protected abstract void putLookupByTarget(N target, Table<D,D,EdgeFunction<L>> table);
+
+		protected abstract void removeReverseLookup(N target, D targetVal);
+
+		protected abstract void removeForwardLookup(D sourceVal, N target);
+
+		protected abstract void removeLookupByTarget(N target);
+
+		/**
+		 * Creates an empty reverse lookup for the given target node and target value.
+		 */
+		protected ReverseLookup<N,D,L> newReverseLookup(N target, D targetVal) {
+			return new CompactReverseLookup<N,D,L>(target, targetVal);
+		}
+
+		/**
+		 * Creates an empty forward lookup, a mapping from target value to function.
+		 */
+		protected Map<D,EdgeFunction<L>> newForwardLookup() {
+			return new CompactMap<D,EdgeFunction<L>>();
+		}
+
+		/**
+		 * Creates an empty table of the source values, target values and functions of a target node.
+		 */
+		protected Table<D,D,EdgeFunction<L>> newLookupByTarget() {
+			return newCompactTable();
+		}
+
+		/**
+		 * Builds the forward lookup from the reverse lookups, unless it is maintained already.
+		 */
+		@Override
+		protected void requireForwardLookup() {
+			if(forwardIndexed)
+				return;
+			forwardIndexed = true;
+			for(ReverseLookup<N,D,L> lookup: reverseLookups())
+				for(Entry<D,EdgeFunction<L>> entry: lookup.entrySet())
+					addToForwardLookup(entry.getKey(), lookup.target(), lookup.targetVal(), entry.getValue());
+		}
+
+		/**
+		 * Builds the lookup by target from the reverse lookups, unless it is maintained already.
+		 */
+		@Override
+		protected void requireLookupByTarget() {
+			if(targetIndexed)
+				return;
+			targetIndexed = true;
+			for(ReverseLookup<N,D,L> lookup: reverseLookups())
+				for(Entry<D,EdgeFunction<L>> entry: lookup.entrySet())
+					addToLookupByTarget(entry.getKey(), lookup.target(), lookup.targetVal(), entry.getValue());
+		}
+
+		protected void addFunction(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
+			Map<D,EdgeFunction<L>> sourceValToFunc = reverseLookup(target, targetVal);
+			if(sourceValToFunc==null) {
+				ReverseLookup<N,D,L> lookup = newReverseLookup(target, targetVal);
+				putReverseLookup(target,targetVal,lookup);
+				sourceValToFunc = lookup;
+			}
+			sourceValToFunc.put(sourceVal, function);
+			
+			if(forwardIndexed)
+				addToForwardLookup(sourceVal, target, targetVal, function);
+			if(targetIndexed)
+				addToLookupByTarget(sourceVal, target, targetVal, function);
+		}
+
+		private void addToForwardLookup(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
+			Map<D, EdgeFunction<L>> targetValToFunc = forwardLookup(sourceVal, target);
+			if(targetValToFunc==null) {
+				targetValToFunc = newForwardLookup();
+				putForwardLookup(sourceVal,target,targetValToFunc);
+			}
+			targetValToFunc.put(targetVal, function);
+		}
+
+		private void addToLookupByTarget(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
+			Table<D,D,EdgeFunction<L>> table = lookupByTarget(target);
+			if(table==null) {
+				table = newLookupByTarget();
+				putLookupByTarget(target,table);
+			}
+			table.put(sourceVal, targetVal, function);
+		}
+
+		protected boolean removeFunction(D sourceVal, N target, D targetVal) {
+			Map<D,EdgeFunction<L>> sourceValToFunc = reverseLookup(target, targetVal);
+			if (sourceValToFunc == null)
+				return false;
+			if (sourceValToFunc.remove(sourceVal) == null)
+				return false;
+			if (sourceValToFunc.isEmpty())
+				removeReverseLookup(target, targetVal);
+			
+			if (forwardIndexed) {
+				Map<D, EdgeFunction<L>> targetValToFunc = forwardLookup(sourceVal, target);
+				if (targetValToFunc == null)
+					return false;
+				if (targetValToFunc.remove(targetVal) == null)
+					return false;
+				if (targetValToFunc.isEmpty())
+					removeForwardLookup(sourceVal, target);
+			}
+	
+			if (targetIndexed) {
+				Table<D,D,EdgeFunction<L>> table = lookupByTarget(target);
+				if (table == null)
+					return false;
+				if (table.remove(sourceVal, targetVal) == null)
+					return false;
+				if (table.isEmpty())
+					removeLookupByTarget(target);
+			}
+			
+			return true;
+		}
+
+		protected int removeFunctionsAt(N target) {
+			requireLookupByTarget();
+			Table<D,D,EdgeFunction<L>> table = lookupByTarget(target);
+			if (table == null)
+				return 0;
+			//all reverse and forward lookups involving the target are keyed by it, so we can drop them as a whole
+			for (Cell<D,D,EdgeFunction<L>> cell: table.cellSet()) {
+				removeReverseLookup(target, cell.getColumnKey());
+				if (forwardIndexed)
+					removeForwardLookup(cell.getRowKey(), target);
+			}
+			removeLookupByTarget(target);
+			return table.size();
+		}
+	}
+
+	/**
+	 * Creates a table that is backed by {@link CompactMap}s. Used for the jump functions of a single
+	 * target node, which mostly consist of a few entries, for which the fixed overhead of hash maps
+	 * would dominate.
+	 */
+	protected static <R,C,V> Table<R,C,V> newCompactTable() {
+		return Tables.newCustomTable(new CompactMap<R,Map<C,V>>(), new Supplier<Map<C,V>>() {
+			public Map<C,V> get() {
+				return new CompactMap<C,V>();
+			}
+		});
+	}
+
+	/**
+	 * Creates a table whose rows are kept in a {@link HashMap} and are themselves backed by
+	 * {@link CompactMap}s. Used for the indices of a whole stripe, which have a row for each
+	 * of many keys and must support removing rows in constant time.
+	 */
+	protected static <R,C,V> Table<R,C,V> newStripeTable() {
+		return Tables.newCustomTable(new HashMap<R,Map<C,V>>(), new Supplier<Map<C,V>>() {
+			public Map<C,V> get() {
+				return new CompactMap<C,V>();
+			}
+		});
+	}
+
+	/**
+	 * The source values and functions of all jump functions to a given target node and target value.
+	 * Knows its key, so that the other indices can be built from the reverse lookups.
+	 */
+	protected interface ReverseLookup<N,D,L> extends Map<D,EdgeFunction<L>> {
+
+		N target();
+
+		D targetVal();
+	}
+
+	/**
+	 * A reverse lookup backed by a {@link CompactMap}.
+	 */
+	protected static class CompactReverseLookup<N,D,L> extends CompactMap<D,EdgeFunction<L>> implements ReverseLookup<N,D,L> {
+
+		private final N target;
+
+		private final D targetVal;
+
+		protected CompactReverseLookup(N target, D targetVal) {
+			this.target = target;
+			this.targetVal = targetVal;
+		}
+
+		public N target() {
+			return target;
+		}
+
+		public D targetVal() {
+			return targetVal;
+		}
+	}
+
+	/**
+	 * A stripe whose indices are keyed by the nodes and facts themselves.
+	 */
+	protected class HashStripe extends IndexedStripe {
+
+		//mapping from target node and value to a list of all source values and associated functions
+		//where the list is implemented as a mapping from the source value to the function
+		//we exclude empty default functions
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final Table<N,D,ReverseLookup<N,D,L>> nonEmptyReverseLookup = newStripeTable();
+		
+		//mapping from source value and target node to a list of all target values and associated functions
+		//where the list is implemented as a mapping from the source value to the function
+		//we exclude empty default functions 
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final Table<D,N,Map<D,EdgeFunction<L>>> nonEmptyForwardLookup = newStripeTable();
+
+		//a mapping from target node to a list of triples consisting of source value,
+		//target value and associated function; the triple is implemented by a table
+		//we exclude empty default functions 
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final Map<N,Table<D,D,EdgeFunction<L>>> nonEmptyLookupByTargetNode = new HashMap<N,Table<D,D,EdgeFunction<L>>>();
+
+		protected Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal) {
+			return nonEmptyReverseLookup.get(target, targetVal);
+		}
+
+		protected Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target) {
+			return nonEmptyForwardLookup.get(sourceVal, target);
+		}
+
+		protected Table<D,D,EdgeFunction<L>> lookupByTarget(N target) {
+			return nonEmptyLookupByTargetNode.get(target);
+		}
+
+		protected Iterable<ReverseLookup<N,D,L>> reverseLookups() {
+			return nonEmptyReverseLookup.values();
+		}
+
+		protected void putReverseLookup(N target, D targetVal, ReverseLookup<N,D,L> sourceValToFunc) {
+			nonEmptyReverseLookup.put(target, targetVal, sourceValToFunc);
+		}
+
+		protected void putForwardLookup(D sourceVal, N target, Map<D,EdgeFunction<L>> targetValToFunc) {
+			nonEmptyForwardLookup.put(sourceVal, target, targetValToFunc);
+		}
+
+		protected void putLookupByTarget(N target, Table<D,D,EdgeFunction<L>> table) {
+			nonEmptyLookupByTargetNode.put(target, table);
+		}
+
+		protected void removeReverseLookup(N target, D targetVal) {
+			nonEmptyReverseLookup.remove(target, targetVal);
+		}
+
+		protected void removeForwardLookup(D sourceVal, N target) {
+			nonEmptyForwardLookup.remove(sourceVal, target);
+		}
+
+		protected void removeLookupByTarget(N target) {
+			nonEmptyLookupByTargetNode.remove(target);
+		}
+
+		protected void clear() {
+			nonEmptyForwardLookup.clear();
+			nonEmptyLookupByTargetNode.clear();
+			nonEmptyReverseLookup.clear();
+		}
 	}
 
 }
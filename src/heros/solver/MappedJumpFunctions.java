@@ -0,0 +1,474 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import heros.DontSynchronize;
+import heros.EdgeFunction;
+import heros.SynchronizedBy;
+import heros.ThreadSafe;
+import heros.utilities.CompactMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import com.google.common.collect.Table;
+
+/**
+ * Jump functions that are kept in a memory-mapped file instead of on the heap, for exploded
+ * super graphs that do not fit into memory.
+ *
+ * All jump functions with the same target node form a row. Rows are stored in the file as
+ * sequences of (source fact, target fact, edge function) records, where facts and edge functions
+ * are encoded by dense integer ids. Each stripe keeps its most recently used rows decoded on the heap;
+ * modified rows are written back when they are evicted. Facts and edge functions themselves are
+ * kept on the heap, once per distinct object (by {@link Object#equals(Object)}), as are the locations
+ * of the rows within the file. These objects are kept until the store is closed, so problems whose
+ * edge functions do not compare equal by value should hash-cons them (see
+ * {@link heros.SolverConfiguration#hashConsEdgeFunctions()}); otherwise the heap holds every edge
+ * function ever stored.
+ *
+ * The backing file is deleted as soon as it is opened where the platform allows this, and on exit
+ * otherwise. Clients should call {@link #close()} once they no longer need the jump functions;
+ * {@link IDESolver#dispose()} does so for the solver's jump functions.
+ *
+ * @see JumpFunctions
+ */
+@ThreadSafe
+public class MappedJumpFunctions<N,D,L> extends JumpFunctions<N,D,L> {
+
+	//size of each mapped region of the file; regions are mapped as the file grows
+	private static final int REGION_BITS = 27;
+
+	private static final int REGION_SIZE = 1 << REGION_BITS;
+
+	//bytes per jump function record: source fact id, target fact id, edge function id
+	private static final int RECORD_SIZE = 12;
+
+	private static final int MIN_ROW_CAPACITY = 4;
+
+	@SynchronizedBy("thread safe data structure")
+	private final IdTable<D> facts = new IdTable<D>();
+
+	@SynchronizedBy("thread safe data structure")
+	private final IdTable<EdgeFunction<L>> functions = new IdTable<EdgeFunction<L>>();
+
+	@SynchronizedBy("thread safe data structure")
+	private final Storage storage;
+
+	@DontSynchronize("immutable")
+	private final int hotRowsPerStripe;
+
+	/**
+	 * Creates a new, empty set of jump functions backed by a temporary file.
+	 * @param allTop The all-top function, which is never stored.
+	 * @param directory The directory in which to create the backing file.
+	 * @param hotRows The number of rows that are kept on the heap, i.e., the number of target
+	 * 	nodes for which the jump functions can be accessed without reading them from the file.
+	 */
+	public MappedJumpFunctions(EdgeFunction<L> allTop, File directory, int hotRows) {
+		super(allTop);
+		this.hotRowsPerStripe = Math.max(1, hotRows / stripes.length);
+		try {
+			this.storage = new Storage(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create jump function store in " + directory, e);
+		}
+	}
+
+	@Override
+	protected Stripe createStripe() {
+		return new MappedStripe();
+	}
+
+	/**
+	 * Releases the backing file. The jump functions must not be accessed afterwards.
+	 */
+	@Override
+	public void close() {
+		clear();
+		storage.close();
+	}
+
+	/**
+	 * A stripe that keeps its rows in the backing file and caches the most recently used ones.
+	 * Each row holds all indices of its target node, so no index needs to be built on demand.
+	 */
+	protected class MappedStripe extends Stripe {
+
+		//the rows on the heap, in access order
+		@SynchronizedBy("consistent lock on this stripe")
+		private final LinkedHashMap<N,Row> hotRows = new LinkedHashMap<N,Row>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<N, Row> eldest) {
+				if(size() <= hotRowsPerStripe)
+					return false;
+				writeBack(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+		};
+
+		//the location of each row that has been written to the file
+		@SynchronizedBy("consistent lock on this stripe")
+		private final Map<N,RowLocation> rowLocations = new HashMap<N,RowLocation>();
+
+		/**
+		 * Returns the row of the given target node, reading it from the file if necessary.
+		 * Returns <code>null</code> if there are no jump functions for the node and create is false.
+		 */
+		private Row row(N target, boolean create) {
+			Row row = hotRows.get(target);
+			if(row!=null)
+				return row;
+			RowLocation location = rowLocations.get(target);
+			if(location==null) {
+				if(!create)
+					return null;
+				row = new Row();
+			} else {
+				row = read(location);
+			}
+			hotRows.put(target, row);
+			return row;
+		}
+
+		private Row read(RowLocation location) {
+			Row row = new Row();
+			long offset = location.offset;
+			for(int i=0; i<location.size; i++) {
+				D sourceVal = facts.get(storage.getInt(offset));
+				D targetVal = facts.get(storage.getInt(offset + 4));
+				EdgeFunction<L> function = functions.get(storage.getInt(offset + 8));
+				row.put(sourceVal, targetVal, function);
+				offset += RECORD_SIZE;
+			}
+			row.dirty = false;
+			return row;
+		}
+
+		private void writeBack(N target, Row row) {
+			if(!row.dirty)
+				return;
+			RowLocation location = rowLocations.get(target);
+			if(row.size==0) {
+				if(location!=null) {
+					storage.free(location.offset, location.capacity);
+					rowLocations.remove(target);
+				}
+				return;
+			}
+			if(location==null || location.capacity < row.size) {
+				if(location!=null)
+					storage.free(location.offset, location.capacity);
+				int capacity = Math.max(MIN_ROW_CAPACITY, Integer.highestOneBit(row.size - 1) << 1);
+				location = new RowLocation(storage.allocate(capacity), capacity);
+				rowLocations.put(target, location);
+			}
+			long offset = location.offset;
+			for(Entry<D, Map<D, EdgeFunction<L>>> bySource: row.forward.entrySet()) {
+				int sourceId = facts.idOf(bySource.getKey());
+				for(Entry<D, EdgeFunction<L>> byTarget: bySource.getValue().entrySet()) {
+					storage.putInt(offset, sourceId);
+					storage.putInt(offset + 4, facts.idOf(byTarget.getKey()));
+					storage.putInt(offset + 8, functions.idOf(byTarget.getValue()));
+					offset += RECORD_SIZE;
+				}
+			}
+			location.size = row.size;
+			row.dirty = false;
+		}
+
+		@Override
+		protected Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal) {
+			Row row = row(target, false);
+			return row==null ? null : row.reverse.get(targetVal);
+		}
+
+		@Override
+		protected Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target) {
+			Row row = row(target, false);
+			return row==null ? null : row.forward.get(sourceVal);
+		}
+
+		@Override
+		protected Table<D,D,EdgeFunction<L>> lookupByTarget(N target) {
+			Row row = row(target, false);
+			if(row==null || row.size==0)
+				return null;
+			Table<D,D,EdgeFunction<L>> table = newCompactTable();
+			for(Entry<D, Map<D, EdgeFunction<L>>> bySource: row.forward.entrySet())
+				for(Entry<D, EdgeFunction<L>> byTarget: bySource.getValue().entrySet())
+					table.put(bySource.getKey(), byTarget.getKey(), byTarget.getValue());
+			return table;
+		}
+
+		@Override
+		protected void addFunction(D sourceVal, N target, D targetVal, EdgeFunction<L> function) {
+			row(target, true).put(sourceVal, targetVal, function);
+		}
+
+		@Override
+		protected boolean removeFunction(D sourceVal, N target, D targetVal) {
+			Row row = row(target, false);
+			return row!=null && row.remove(sourceVal, targetVal);
+		}
+
+		@Override
+		protected int removeFunctionsAt(N target) {
+			Row row = row(target, false);
+			if(row==null)
+				return 0;
+			int size = row.size;
+			row.clear();
+			return size;
+		}
+
+		@Override
+		protected void clear() {
+			hotRows.clear();
+			for(RowLocation location: rowLocations.values())
+				storage.free(location.offset, location.capacity);
+			rowLocations.clear();
+		}
+	}
+
+	/**
+	 * The jump functions of a single target node, decoded on the heap.
+	 */
+	private class Row {
+		//source value -> target value -> function
+		private final Map<D,Map<D,EdgeFunction<L>>> forward = new CompactMap<D,Map<D,EdgeFunction<L>>>();
+		//target value -> source value -> function
+		private final Map<D,Map<D,EdgeFunction<L>>> reverse = new CompactMap<D,Map<D,EdgeFunction<L>>>();
+		private int size;
+		private boolean dirty;
+
+		private void put(D sourceVal, D targetVal, EdgeFunction<L> function) {
+			Map<D,EdgeFunction<L>> targetValToFunc = forward.get(sourceVal);
+			if(targetValToFunc==null) {
+				targetValToFunc = new CompactMap<D,EdgeFunction<L>>();
+				forward.put(sourceVal, targetValToFunc);
+			}
+			if(targetValToFunc.put(targetVal, function)==null)
+				size++;
+			Map<D,EdgeFunction<L>> sourceValToFunc = reverse.get(targetVal);
+			if(sourceValToFunc==null) {
+				sourceValToFunc = new CompactMap<D,EdgeFunction<L>>();
+				reverse.put(targetVal, sourceValToFunc);
+			}
+			sourceValToFunc.put(sourceVal, function);
+			dirty = true;
+		}
+
+		private boolean remove(D sourceVal, D targetVal) {
+			Map<D,EdgeFunction<L>> targetValToFunc = forward.get(sourceVal);
+			if(targetValToFunc==null || targetValToFunc.remove(targetVal)==null)
+				return false;
+			if(targetValToFunc.isEmpty())
+				forward.remove(sourceVal);
+			Map<D,EdgeFunction<L>> sourceValToFunc = reverse.get(targetVal);
+			sourceValToFunc.remove(sourceVal);
+			if(sourceValToFunc.isEmpty())
+				reverse.remove(targetVal);
+			size--;
+			dirty = true;
+			return true;
+		}
+
+		private void clear() {
+			forward.clear();
+			reverse.clear();
+			size = 0;
+			dirty = true;
+		}
+	}
+
+	/**
+	 * The position of a row within the backing file.
+	 */
+	private static class RowLocation {
+		private final long offset;
+		//number of records that fit into the space reserved at offset
+		private final int capacity;
+		private int size;
+
+		private RowLocation(long offset, int capacity) {
+			this.offset = offset;
+			this.capacity = capacity;
+		}
+	}
+
+	/**
+	 * Assigns dense ids to objects and maps them back. Ids are assigned without a global lock,
+	 * and objects are looked up by id without any locking. A table never forgets an object, so it
+	 * holds one entry per distinct fact or edge function that has ever been written to the file.
+	 */
+	private static class IdTable<T> {
+		private static final int CHUNK_BITS = 12;
+
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+		@SynchronizedBy("thread safe data structure")
+		private final ConcurrentMap<T,Integer> ids = new ConcurrentHashMap<T,Integer>();
+
+		@SynchronizedBy("thread safe data structure")
+		private final AtomicInteger nextId = new AtomicInteger();
+
+		//objects by id in chunks of fixed size; the array of chunks is replaced when it grows,
+		//so that it can be read without locking
+		@SynchronizedBy("copy on write, consistent lock on this table for writes")
+		private volatile AtomicReferenceArray<T>[] chunks = newChunks(1);
+
+		@SuppressWarnings("unchecked")
+		private static <T> AtomicReferenceArray<T>[] newChunks(int length) {
+			return new AtomicReferenceArray[length];
+		}
+
+		private int idOf(T object) {
+			Integer id = ids.get(object);
+			if(id!=null)
+				return id;
+			return ids.computeIfAbsent(object, new Function<T,Integer>() {
+				public Integer apply(T object) {
+					int id = nextId.getAndIncrement();
+					chunk(id >>> CHUNK_BITS).set(id & (CHUNK_SIZE - 1), object);
+					return id;
+				}
+			});
+		}
+
+		private AtomicReferenceArray<T> chunk(int index) {
+			AtomicReferenceArray<T>[] current = chunks;
+			if(index < current.length && current[index]!=null)
+				return current[index];
+			synchronized (this) {
+				current = chunks;
+				if(index >= current.length)
+					current = Arrays.copyOf(current, Math.max(index + 1, current.length << 1));
+				if(current[index]==null)
+					current[index] = new AtomicReferenceArray<T>(CHUNK_SIZE);
+				chunks = current;
+				return current[index];
+			}
+		}
+
+		//ids are only read from the file after the object has been stored under that id
+		private T get(int id) {
+			return chunks[id >>> CHUNK_BITS].get(id & (CHUNK_SIZE - 1));
+		}
+	}
+
+	/**
+	 * The backing file, which is mapped into memory in regions of fixed size. Space is allocated
+	 * in blocks of records whose size is a power of two; freed blocks are reused for rows of the
+	 * same capacity.
+	 */
+	private static class Storage {
+		@SynchronizedBy("consistent lock on this storage")
+		private final RandomAccessFile file;
+
+		@SynchronizedBy("consistent lock on this storage")
+		private final FileChannel channel;
+
+		//mapped regions; the array is replaced when the file grows, so that it can be read without locking
+		@SynchronizedBy("copy on write")
+		private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+		@SynchronizedBy("consistent lock on this storage")
+		private long end = 0;
+
+		//free blocks by the binary logarithm of their capacity
+		@SynchronizedBy("consistent lock on this storage")
+		private final Map<Integer,ArrayDeque<Long>> freeBlocks = new HashMap<Integer,ArrayDeque<Long>>();
+
+		private Storage(File directory) throws IOException {
+			File path = File.createTempFile("heros-jumpfunctions", ".bin", directory);
+			this.file = new RandomAccessFile(path, "rw");
+			this.channel = file.getChannel();
+			//the mapping remains valid after the file is unlinked
+			if(!path.delete())
+				path.deleteOnExit();
+		}
+
+		private synchronized long allocate(int capacity) {
+			ArrayDeque<Long> free = freeBlocks.get(Integer.numberOfTrailingZeros(capacity));
+			if(free!=null && !free.isEmpty())
+				return free.poll();
+			long offset = end;
+			end += (long) capacity * RECORD_SIZE;
+			while(((long) regions.length << REGION_BITS) < end)
+				mapRegion(regions.length);
+			return offset;
+		}
+
+		private synchronized void free(long offset, int capacity) {
+			int sizeClass = Integer.numberOfTrailingZeros(capacity);
+			ArrayDeque<Long> free = freeBlocks.get(sizeClass);
+			if(free==null) {
+				free = new ArrayDeque<Long>();
+				freeBlocks.put(sizeClass, free);
+			}
+			free.add(offset);
+		}
+
+		private void mapRegion(int index) {
+			try {
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, (long) index << REGION_BITS, REGION_SIZE);
+				region.order(ByteOrder.nativeOrder());
+				MappedByteBuffer[] newRegions = new MappedByteBuffer[index + 1];
+				System.arraycopy(regions, 0, newRegions, 0, index);
+				newRegions[index] = region;
+				regions = newRegions;
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot grow jump function store", e);
+			}
+		}
+
+		//records are aligned to four bytes, so an int never spans two regions;
+		//absolute accesses do not change the state of the shared buffers
+		private int getInt(long offset) {
+			return regions[(int) (offset >>> REGION_BITS)].getInt((int) (offset & (REGION_SIZE - 1)));
+		}
+
+		private void putInt(long offset, int value) {
+			regions[(int) (offset >>> REGION_BITS)].putInt((int) (offset & (REGION_SIZE - 1)), value);
+		}
+
+		private synchronized void close() {
+			regions = new MappedByteBuffer[0];
+			freeBlocks.clear();
+			end = 0;
+			try {
+				file.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot close jump function store", e);
+			}
+		}
+	}
+
+}
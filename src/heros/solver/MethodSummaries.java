@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import heros.DontSynchronize;
+import heros.EdgeFunction;
+import heros.EdgeFunctionCodec;
+import heros.SummaryCodec;
+import heros.solver.CalleeContext.EndSummary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+
+/**
+ * End summaries of methods, keyed by the fingerprints of the methods (see {@link SummaryCodec}),
+ * in a form that can be persisted and preloaded by later solver runs. The summaries of each method
+ * are kept encoded until the solver first reaches the method.
+ * 
+ * The persisted form starts with a magic number and a format version, followed by the number of
+ * methods and, for each method in the order of their fingerprints, the fingerprint and the
+ * length of the encoded summaries followed by the summaries themselves. Those consist of the
+ * number of contexts <sP,d1> and, for each context, the start point, the fact, the number of
+ * end summaries and, for each end summary, the exit statement, the fact at the exit statement
+ * and the edge function.
+ * 
+ * @see IDESolver#exportSummaries()
+ * @see heros.IFDSTabulationProblem#methodSummaries()
+ */
+public class MethodSummaries {
+
+	private static final int MAGIC = 0x48455253;
+
+	private static final int VERSION = 1;
+
+	//fingerprint -> encoded summaries of the method
+	@DontSynchronize("only modified before or after solving")
+	private final Map<String,byte[]> summaries = new TreeMap<String,byte[]>();
+
+	/**
+	 * Reads summaries that were written by {@link #write(OutputStream)}.
+	 */
+	public static MethodSummaries read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		if(data.readInt()!=MAGIC)
+			throw new IOException("Not a method summary file");
+		int version = data.readInt();
+		if(version!=VERSION)
+			throw new IOException("Unsupported method summary format version " + version);
+		MethodSummaries res = new MethodSummaries();
+		int numMethods = data.readInt();
+		for(int i=0; i<numMethods; i++) {
+			String fingerprint = data.readUTF();
+			byte[] encoded = new byte[data.readInt()];
+			data.readFully(encoded);
+			res.summaries.put(fingerprint, encoded);
+		}
+		return res;
+	}
+
+	/**
+	 * Writes these summaries to the given stream, which is flushed but not closed.
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(summaries.size());
+		for(Entry<String,byte[]> entry: summaries.entrySet()) {
+			data.writeUTF(entry.getKey());
+			data.writeInt(entry.getValue().length);
+			data.write(entry.getValue());
+		}
+		data.flush();
+	}
+
+	/**
+	 * Returns the fingerprints of all methods for which summaries are available.
+	 */
+	public Set<String> fingerprints() {
+		return Collections.unmodifiableSet(summaries.keySet());
+	}
+
+	/**
+	 * Adds the summaries of all methods of the given summaries for which this object holds none,
+	 * e.g., to retain the summaries of methods that a later run did not reach.
+	 */
+	public void addAll(MethodSummaries other) {
+		for(Entry<String,byte[]> entry: other.summaries.entrySet())
+			if(!summaries.containsKey(entry.getKey()))
+				summaries.put(entry.getKey(), entry.getValue());
+	}
+
+	/**
+	 * Encodes the end summaries of all contexts of the given method.
+	 * @param contexts Maps each start point of the method to its contexts.
+	 */
+	<N,D,M,V> void put(M method, Map<N,? extends Map<D,CalleeContext<N,D,V>>> contexts,
+			SummaryCodec<N,D,M> codec, EdgeFunctionCodec<V> edgeFunctionCodec) throws IOException {
+		String fingerprint = codec.fingerprint(method);
+		if(fingerprint==null)
+			return;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		int numContexts = 0;
+		for(Map<D,CalleeContext<N,D,V>> contextsAtStartPoint: contexts.values())
+			numContexts += contextsAtStartPoint.size();
+		out.writeInt(numContexts);
+		for(Entry<N,? extends Map<D,CalleeContext<N,D,V>>> startPointEntry: contexts.entrySet()) {
+			for(Entry<D,CalleeContext<N,D,V>> contextEntry: startPointEntry.getValue().entrySet()) {
+				codec.writeNode(startPointEntry.getKey(), out);
+				codec.writeFact(contextEntry.getKey(), out);
+				Map<N,? extends Map<D,EndSummary<V>>> endSummaries = contextEntry.getValue().endSummaries();
+				int numSummaries = 0;
+				for(Map<D,EndSummary<V>> summariesAtExit: endSummaries.values())
+					numSummaries += summariesAtExit.size();
+				out.writeInt(numSummaries);
+				for(Entry<N,? extends Map<D,EndSummary<V>>> exitEntry: endSummaries.entrySet()) {
+					for(Entry<D,EndSummary<V>> entry: exitEntry.getValue().entrySet()) {
+						codec.writeNode(exitEntry.getKey(), out);
+						codec.writeFact(entry.getKey(), out);
+						edgeFunctionCodec.write(entry.getValue().getFunction(), out);
+					}
+				}
+			}
+		}
+		out.flush();
+		summaries.put(fingerprint, bytes.toByteArray());
+	}
+
+	/**
+	 * Decodes the summaries of the given method.
+	 * @return A mapping from each context <sP,d1> of the method to the table of its end summaries,
+	 * keyed by exit statement and fact at the exit statement; empty if no summaries are available.
+	 */
+	<N,D,M,V> Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>> get(M method,
+			SummaryCodec<N,D,M> codec, EdgeFunctionCodec<V> edgeFunctionCodec) throws IOException {
+		String fingerprint = codec.fingerprint(method);
+		byte[] encoded = fingerprint==null ? null : summaries.get(fingerprint);
+		if(encoded==null)
+			return Collections.emptyMap();
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+		int numContexts = in.readInt();
+		Map<Pair<N,D>,Table<N,D,EdgeFunction<V>>> res = new HashMap<Pair<N,D>,Table<N,D,EdgeFunction<V>>>();
+		for(int i=0; i<numContexts; i++) {
+			N sP = codec.readNode(method, in);
+			D d1 = codec.readFact(method, in);
+			int numSummaries = in.readInt();
+			Table<N,D,EdgeFunction<V>> endSummaries = HashBasedTable.create();
+			for(int j=0; j<numSummaries; j++) {
+				N eP = codec.readNode(method, in);
+				D d2 = codec.readFact(method, in);
+				endSummaries.put(eP, d2, edgeFunctionCodec.read(in));
+			}
+			res.put(new Pair<N,D>(sP, d1), endSummaries);
+		}
+		return res;
+	}
+
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import static heros.utilities.LongObjectHashMap.pack;
+import heros.DontSynchronize;
+import heros.EdgeFunction;
+import heros.Numbering;
+import heros.SynchronizedBy;
+import heros.ThreadSafe;
+import heros.utilities.LongObjectHashMap;
+import heros.utilities.NumberedMap;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+
+/**
+ * Jump functions for problems with numbered nodes and facts. Instead of nested hash tables
+ * keyed by nodes and facts, each index is an open-addressing table keyed by the node and
+ * fact numbers packed into one <code>long</code>, whose rows are in turn keyed by fact
+ * numbers (see {@link NumberedMap}). Lookups thus never call {@link Object#hashCode()} or
+ * {@link Object#equals(Object)} on nodes and facts, and a jump function is found through
+ * a single table lookup and one row lookup. Target nodes are assigned to stripes by their
+ * number, too.
+ * 
+ * @see Numbering
+ */
+@ThreadSafe
+public class NumberedJumpFunctions<N,D,L> extends JumpFunctions<N,D,L> {
+
+	@DontSynchronize("stateless")
+	protected final Numbering<N> nodeNumbering;
+
+	@DontSynchronize("stateless")
+	protected final Numbering<D> factNumbering;
+
+	public NumberedJumpFunctions(EdgeFunction<L> allTop, Numbering<N> nodeNumbering, Numbering<D> factNumbering) {
+		super(allTop);
+		this.nodeNumbering = nodeNumbering;
+		this.factNumbering = factNumbering;
+	}
+
+	public NumberedJumpFunctions(EdgeFunction<L> allTop, int concurrencyLevel, Numbering<N> nodeNumbering, Numbering<D> factNumbering) {
+		super(allTop, concurrencyLevel);
+		this.nodeNumbering = nodeNumbering;
+		this.factNumbering = factNumbering;
+	}
+
+	public NumberedJumpFunctions(EdgeFunction<L> allTop, Numbering<N> nodeNumbering, Numbering<D> factNumbering, Set<Index> indices) {
+		super(allTop, indices);
+		this.nodeNumbering = nodeNumbering;
+		this.factNumbering = factNumbering;
+	}
+
+	@Override
+	protected Stripe stripeFor(N target) {
+		return stripes[nodeNumbering.numberOf(target) & (stripes.length - 1)];
+	}
+
+	@Override
+	protected Stripe createStripe() {
+		return new NumberedStripe();
+	}
+
+	/**
+	 * A stripe whose indices are keyed by packed node and fact numbers.
+	 */
+	protected class NumberedStripe extends IndexedStripe {
+
+		//(target node, target value) -> (source value -> function)
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final LongObjectHashMap<ReverseLookup<N,D,L>> nonEmptyReverseLookup = new LongObjectHashMap<ReverseLookup<N,D,L>>();
+
+		//(target node, source value) -> (target value -> function)
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final LongObjectHashMap<Map<D,EdgeFunction<L>>> nonEmptyForwardLookup = new LongObjectHashMap<Map<D,EdgeFunction<L>>>();
+
+		//target node -> (source value, target value, function)
+		@SynchronizedBy("consistent lock on this stripe")
+		protected final LongObjectHashMap<Table<D,D,EdgeFunction<L>>> nonEmptyLookupByTargetNode = new LongObjectHashMap<Table<D,D,EdgeFunction<L>>>();
+
+		@Override
+		protected ReverseLookup<N,D,L> newReverseLookup(N target, D targetVal) {
+			return new NumberedReverseLookup<N,D,L>(target, targetVal, factNumbering);
+		}
+
+		@Override
+		protected Map<D,EdgeFunction<L>> newForwardLookup() {
+			return new NumberedMap<D,EdgeFunction<L>>(factNumbering);
+		}
+
+		@Override
+		protected Table<D,D,EdgeFunction<L>> newLookupByTarget() {
+			return Tables.newCustomTable(new NumberedMap<D,Map<D,EdgeFunction<L>>>(factNumbering), new Supplier<Map<D,EdgeFunction<L>>>() {
+				public Map<D,EdgeFunction<L>> get() {
+					return new NumberedMap<D,EdgeFunction<L>>(factNumbering);
+				}
+			});
+		}
+
+		private long key(N n, D d) {
+			return pack(nodeNumbering.numberOf(n), factNumbering.numberOf(d));
+		}
+
+		protected Map<D,EdgeFunction<L>> reverseLookup(N target, D targetVal) {
+			return nonEmptyReverseLookup.get(key(target, targetVal));
+		}
+
+		protected Map<D,EdgeFunction<L>> forwardLookup(D sourceVal, N target) {
+			return nonEmptyForwardLookup.get(key(target, sourceVal));
+		}
+
+		protected Table<D,D,EdgeFunction<L>> lookupByTarget(N target) {
+			return nonEmptyLookupByTargetNode.get(nodeNumbering.numberOf(target));
+		}
+
+		protected Iterable<ReverseLookup<N,D,L>> reverseLookups() {
+			return nonEmptyReverseLookup;
+		}
+
+		protected void putReverseLookup(N target, D targetVal, ReverseLookup<N,D,L> sourceValToFunc) {
+			nonEmptyReverseLookup.put(key(target, targetVal), sourceValToFunc);
+		}
+
+		protected void putForwardLookup(D sourceVal, N target, Map<D,EdgeFunction<L>> targetValToFunc) {
+			nonEmptyForwardLookup.put(key(target, sourceVal), targetValToFunc);
+		}
+
+		protected void putLookupByTarget(N target, Table<D,D,EdgeFunction<L>> table) {
+			nonEmptyLookupByTargetNode.put(nodeNumbering.numberOf(target), table);
+		}
+
+		protected void removeReverseLookup(N target, D targetVal) {
+			nonEmptyReverseLookup.remove(key(target, targetVal));
+		}
+
+		protected void removeForwardLookup(D sourceVal, N target) {
+			nonEmptyForwardLookup.remove(key(target, sourceVal));
+		}
+
+		protected void removeLookupByTarget(N target) {
+			nonEmptyLookupByTargetNode.remove(nodeNumbering.numberOf(target));
+		}
+
+		protected void clear() {
+			nonEmptyForwardLookup.clear();
+			nonEmptyLookupByTargetNode.clear();
+			nonEmptyReverseLookup.clear();
+		}
+	}
+
+	/**
+	 * A reverse lookup keyed by fact numbers.
+	 */
+	protected static class NumberedReverseLookup<N,D,L> extends NumberedMap<D,EdgeFunction<L>> implements ReverseLookup<N,D,L> {
+
+		private final N target;
+
+		private final D targetVal;
+
+		protected NumberedReverseLookup(N target, D targetVal, Numbering<D> factNumbering) {
+			super(factNumbering);
+			this.target = target;
+			this.targetVal = targetVal;
+		}
+
+		public N target() {
+			return target;
+		}
+
+		public D targetVal() {
+			return targetVal;
+		}
+	}
+
+}
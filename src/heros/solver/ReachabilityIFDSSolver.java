@@ -0,0 +1,614 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.solver;
+
+import heros.DontSynchronize;
+import heros.FlowFunction;
+import heros.FlowFunctionCache;
+import heros.FlowFunctions;
+import heros.IFDSTabulationProblem;
+import heros.InterningFlowFunctions;
+import heros.InterproceduralCFG;
+import heros.MemoizingFlowFunctions;
+import heros.NumberedInterproceduralCFG;
+import heros.SynchronizedBy;
+import heros.ZeroedFlowFunctions;
+import heros.solver.CalleeContext.EndSummary;
+import heros.utilities.CompactSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Predicate;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Sets;
+
+/**
+ * A solver for an {@link IFDSTabulationProblem} that, unlike the {@link IFDSSolver}, does not
+ * solve the problem as an IDE problem. It implements the tabulation algorithm of the RHS95 paper
+ * directly: path edges and end summaries are plain reachability facts, so that no edge functions are
+ * constructed, composed or met, and there is no value computation phase. The results are the same as
+ * those of the {@link IFDSSolver}; to solve the problem, call {@link #solve()}, then query the results
+ * with {@link #ifdsResultsAt(Object)}.
+ *
+ * Of the options of the tabulation problem, this solver honors {@link IFDSTabulationProblem#numThreads()},
+ * {@link IFDSTabulationProblem#followReturnsPastSeeds()}, {@link IFDSTabulationProblem#autoAddZero()},
+ * {@link IFDSTabulationProblem#workStealing()}, {@link IFDSTabulationProblem#methodAffinity()},
+ * {@link IFDSTabulationProblem#internFacts()} and {@link IFDSTabulationProblem#flowFunctionResultCacheSize()}.
+ * Options that tune the IDE machinery, such as jump-function storage, worklist ordering, edge batching,
+ * summary persistence or edge recording, are ignored.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ * @param <I> The type of inter-procedural control-flow graph being used.
+ */
+public class ReachabilityIFDSSolver<N,D,M,I extends InterproceduralCFG<N, M>> {
+
+    protected static final Logger logger = LoggerFactory.getLogger(ReachabilityIFDSSolver.class);
+
+	//sets of sources up to this size are copied on modification
+	private static final int COPY_ON_WRITE_LIMIT = 8;
+
+	protected CountingExecutor executor;
+
+	@DontSynchronize("only used by single thread")
+	protected final int numThreads;
+
+	//target -> fact at target -> facts at the start point of the target's method from which it is reachable
+	@SynchronizedBy("thread safe data structure")
+	protected final ConcurrentMap<N,ConcurrentMap<D,Set<D>>> pathEdges = new ConcurrentHashMap<N,ConcurrentMap<D,Set<D>>>();
+
+	@SynchronizedBy("thread safe data structure, only modified internally")
+	protected final I icfg;
+
+	//stores, per exploded start node <sP,d>, the incoming call edges and the summaries
+	//that were queried before they were computed; end summaries carry no function
+	@SynchronizedBy("use of ConcurrentHashMap, CalleeContext is thread safe")
+	protected final ConcurrentMap<N,ConcurrentMap<D,CalleeContext<N,D,Void>>> calleeContexts = new ConcurrentHashMap<N,ConcurrentMap<D,CalleeContext<N,D,Void>>>();
+
+	@DontSynchronize("stateless")
+	protected final FlowFunctions<N, D, M> flowFunctions;
+
+	@DontSynchronize("only used by single thread")
+	protected final Map<N,Set<D>> initialSeeds;
+
+	@DontSynchronize("stateless")
+	protected final D zeroValue;
+
+	//canonical instances of all facts, or null if facts are not interned
+	@SynchronizedBy("thread safe data structure")
+	protected final Interner<D> interner;
+
+	@DontSynchronize("readOnly")
+	protected final FlowFunctionCache<N,D,M> ffCache;
+
+	@DontSynchronize("readOnly")
+	protected final boolean followReturnsPastSeeds;
+
+	@DontSynchronize("readOnly")
+	protected final boolean workStealing;
+
+	@DontSynchronize("readOnly")
+	protected final boolean methodAffinity;
+
+	@DontSynchronize("benign races")
+	public long flowFunctionConstructionCount;
+
+	@DontSynchronize("benign races")
+	public long propagationCount;
+
+	/**
+	 * Creates a solver for the given problem, which caches flow functions.
+	 * The solver must then be started by calling {@link #solve()}.
+	 */
+	public ReachabilityIFDSSolver(IFDSTabulationProblem<N,D,M,I> tabulationProblem) {
+		this(tabulationProblem, IDESolver.DEFAULT_CACHE_BUILDER);
+	}
+
+	/**
+	 * Creates a solver for the given problem, constructing the flow-function cache with the given {@link CacheBuilder}.
+	 * The solver must then be started by calling {@link #solve()}.
+	 * @param flowFunctionCacheBuilder A valid {@link CacheBuilder} or <code>null</code> if no caching is to be used for flow functions.
+	 *        If the ICFG is a {@link NumberedInterproceduralCFG} and this is the {@link IDESolver#DEFAULT_CACHE_BUILDER}, flow functions are kept
+	 *        in unbounded rows indexed by node number instead.
+	 */
+	@SuppressWarnings("unchecked")
+	public ReachabilityIFDSSolver(IFDSTabulationProblem<N,D,M,I> tabulationProblem, @SuppressWarnings("rawtypes") CacheBuilder flowFunctionCacheBuilder) {
+		if(logger.isDebugEnabled() && flowFunctionCacheBuilder != null)
+			flowFunctionCacheBuilder = flowFunctionCacheBuilder.recordStats();
+		this.interner = tabulationProblem.internFacts() ? Interners.<D>newWeakInterner() : null;
+		this.zeroValue = intern(tabulationProblem.zeroValue());
+		this.icfg = tabulationProblem.interproceduralCFG();
+		FlowFunctions<N, D, M> flowFunctions = tabulationProblem.autoAddZero() ?
+				new ZeroedFlowFunctions<N,D,M>(tabulationProblem.flowFunctions(), tabulationProblem.zeroValue()) : tabulationProblem.flowFunctions();
+		if(interner!=null)
+			flowFunctions = new InterningFlowFunctions<N,D,M>(flowFunctions, interner);
+		if(tabulationProblem.flowFunctionResultCacheSize() > 0)
+			flowFunctions = new MemoizingFlowFunctions<N,D,M>(flowFunctions, tabulationProblem.flowFunctionResultCacheSize());
+		if(flowFunctionCacheBuilder!=null) {
+			//numbered nodes allow for lookups that allocate no keys, but the rows holding the functions
+			//are not bounded, so a builder of the caller's own is always honored
+			if(icfg instanceof NumberedInterproceduralCFG && flowFunctionCacheBuilder==IDESolver.DEFAULT_CACHE_BUILDER)
+				ffCache = new FlowFunctionCache<N,D,M>(flowFunctions, (NumberedInterproceduralCFG<N,M>) icfg);
+			else
+				ffCache = new FlowFunctionCache<N,D,M>(flowFunctions, flowFunctionCacheBuilder);
+			flowFunctions = ffCache;
+		} else {
+			ffCache = null;
+		}
+		this.flowFunctions = flowFunctions;
+		this.initialSeeds = tabulationProblem.initialSeeds();
+		this.followReturnsPastSeeds = tabulationProblem.followReturnsPastSeeds();
+		this.numThreads = Math.max(1,tabulationProblem.numThreads());
+		this.workStealing = tabulationProblem.workStealing();
+		this.methodAffinity = tabulationProblem.methodAffinity();
+		this.executor = getExecutor();
+	}
+
+	/**
+	 * Runs the solver on the configured problem. This can take some time.
+	 */
+	public void solve() {
+		submitInitialSeeds();
+		try {
+			executor.awaitCompletion();
+		} catch (InterruptedException e) {
+			//a failing worker interrupts the waiting thread; its failure is rethrown below
+			if(executor.getException()==null) {
+				logger.error("Interrupted while awaiting the completion of the IFDS analysis", e);
+				executor.shutdown();
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("The IFDS analysis was interrupted. Exiting.",e);
+			}
+		}
+		executor.shutdown();
+		Throwable exception = executor.getException();
+		if(exception!=null) {
+			throw new RuntimeException("There were exceptions during IFDS analysis. Exiting.",exception);
+		}
+		if(logger.isDebugEnabled())
+			printStats();
+	}
+
+	/**
+	 * Schedules the processing of initial seeds, initiating the analysis.
+	 */
+	protected void submitInitialSeeds() {
+		for(Entry<N, Set<D>> seed: initialSeeds.entrySet()) {
+			N startPoint = seed.getKey();
+			for(D val: seed.getValue()) {
+				propagate(zeroValue, startPoint, intern(val), null, false);
+			}
+			addPathEdge(zeroValue, startPoint, zeroValue);
+		}
+	}
+
+	/**
+	 * Returns the canonical instance of the given fact if facts are interned, and the fact itself otherwise.
+	 */
+	protected D intern(D fact) {
+		return interner==null ? fact : interner.intern(fact);
+	}
+
+	/**
+	 * Returns the set of facts that hold at the given statement.
+	 */
+	public Set<D> ifdsResultsAt(N statement) {
+		Map<D,Set<D>> facts = pathEdges.get(statement);
+		if(facts==null)
+			return Collections.emptySet();
+		//filter out the artificial zero-value
+		return Sets.filter(facts.keySet(), new Predicate<D>() {
+			public boolean apply(D val) {
+				return val!=zeroValue;
+			}
+		});
+	}
+
+	/**
+	 * Lines 13-20 of the algorithm; processing a call site in the caller's context.
+	 *
+	 * For each possible callee, registers incoming call edges.
+	 * Also propagates call-to-return flows and summarized callee flows within the caller.
+	 *
+	 * @param edge an edge whose target node resembles a method call
+	 */
+	private void processCall(PathEdge<N,D> edge) {
+		final D d1 = edge.factAtSource();
+		final N n = edge.getTarget(); // a call node; line 14...
+		final D d2 = edge.factAtTarget();
+		Collection<N> returnSiteNs = icfg.getReturnSitesOfCallAt(n);
+
+		//for each possible callee
+		for(M sCalledProcN: icfg.getCalleesOfCallAt(n)) { //still line 14
+			//compute the call-flow function
+			FlowFunction<D> function = flowFunctions.getCallFlowFunction(n, sCalledProcN);
+			flowFunctionConstructionCount++;
+			Set<D> res = computeCallFlowFunction(function, d1, d2);
+			//for each callee's start point(s)
+			for(N sP: icfg.getStartPointsOf(sCalledProcN)) {
+				//for each result node of the call-flow function
+				for(D d3: res) {
+					//create initial self-loop
+					propagate(d3, sP, d3, n, false); //line 15
+
+					//register the fact that <sp,d3> has an incoming edge from <n,d2>
+					CalleeContext<N,D,Void> calleeContext = calleeContext(sP, d3);
+					long stamp = calleeContext.addIncoming(n, d2);
+
+					//for each exit value <eP,d4> reachable from <sP,d3> registered before our incoming edge,
+					//propagate to the return sites; later summaries are handled by processExit(..)
+					for(Entry<N, ? extends Map<D, EndSummary<Void>>> exitEntry: calleeContext.endSummaries().entrySet()) {
+						N eP = exitEntry.getKey();
+						for(Entry<D, EndSummary<Void>> entry: exitEntry.getValue().entrySet()) {
+							if(!entry.getValue().registeredBefore(stamp))
+								continue;
+							D d4 = entry.getKey();
+							//for each return site
+							for(N retSiteN: returnSiteNs) {
+								//compute return-flow function
+								FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(n, sCalledProcN, eP, retSiteN);
+								flowFunctionConstructionCount++;
+								Set<D> returnedFacts = computeReturnFlowFunction(retFunction, d3, d4, n, Collections.singleton(d2));
+								for(D d5: returnedFacts) {
+									D d5_restoredCtx = intern(restoreContextOnReturnedFact(n, d2, d5));
+									propagate(d1, retSiteN, d5_restoredCtx, n, false);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		//process intra-procedural flows along call-to-return flow functions
+		for (N returnSiteN : returnSiteNs) {
+			FlowFunction<D> callToReturnFlowFunction = flowFunctions.getCallToReturnFlowFunction(n, returnSiteN);
+			flowFunctionConstructionCount++;
+			for(D d3: computeCallToReturnFlowFunction(callToReturnFlowFunction, d1, d2))
+				propagate(d1, returnSiteN, d3, n, false);
+		}
+	}
+
+	/**
+	 * Computes the call flow function for the given call-site abstraction
+	 * @param callFlowFunction The call flow function to compute
+	 * @param d1 The abstraction at the current method's start node.
+	 * @param d2 The abstraction at the call site
+	 * @return The set of caller-side abstractions at the callee's start node
+	 */
+	protected Set<D> computeCallFlowFunction
+			(FlowFunction<D> callFlowFunction, D d1, D d2) {
+		return callFlowFunction.computeTargets(d2);
+	}
+
+	/**
+	 * Computes the call-to-return flow function for the given call-site
+	 * abstraction
+	 * @param callToReturnFlowFunction The call-to-return flow function to
+	 * compute
+	 * @param d1 The abstraction at the current method's start node.
+	 * @param d2 The abstraction at the call site
+	 * @return The set of caller-side abstractions at the return site
+	 */
+	protected Set<D> computeCallToReturnFlowFunction
+			(FlowFunction<D> callToReturnFlowFunction, D d1, D d2) {
+		return callToReturnFlowFunction.computeTargets(d2);
+	}
+
+	/**
+	 * Lines 21-32 of the algorithm.
+	 *
+	 * Stores callee-side summaries.
+	 * Also, at the side of the caller, propagates intra-procedural flows to return sites
+	 * using those newly computed summaries.
+	 *
+	 * @param edge an edge whose target node resembles a method exits
+	 */
+	protected void processExit(PathEdge<N,D> edge) {
+		final N n = edge.getTarget(); // an exit node; line 21...
+		M methodThatNeedsSummary = icfg.getMethodOf(n);
+
+		final D d1 = edge.factAtSource();
+		final D d2 = edge.factAtTarget();
+
+		//for each of the method's start points, determine incoming calls
+		boolean hasIncoming = false;
+		for(N sP: icfg.getStartPointsOf(methodThatNeedsSummary)) {
+			//register end-summary
+			CalleeContext<N,D,Void> calleeContext = calleeContext(sP, d1);
+			long stamp = calleeContext.addEndSummary(n, d2, null);
+
+			//for each incoming call edge already processed
+			//(see processCall(..)); call edges registered after our summary
+			//pick it up themselves
+			for(N c: calleeContext.incomingCallSites()) {
+				Set<D> callerSideDs = calleeContext.incomingFacts(c, stamp);
+				if(callerSideDs.isEmpty())
+					continue;
+				hasIncoming = true;
+				//line 22
+				//for each return site
+				for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
+					//compute return-flow function
+					FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
+					flowFunctionConstructionCount++;
+					//for each incoming-call value
+					for(D d4: callerSideDs) {
+						Set<D> targets = computeReturnFlowFunction(retFunction, d1, d2, c, callerSideDs);
+						//for each target value at the return site
+						//line 23
+						for(D d5: targets) {
+							//for each path edge coming into the call, propagate to return site
+							for(D d3: sourcesOf(c, d4)) {
+								D d5_restoredCtx = intern(restoreContextOnReturnedFact(c, d4, d5));
+								propagate(d3, retSiteC, d5_restoredCtx, c, false);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		//handling for unbalanced problems where we return out of a method with a fact for which we have no incoming flow
+		//note: we propagate that way only values that originate from ZERO, as conditionally generated values should only
+		//be propagated into callers that have an incoming edge for this condition
+		if(followReturnsPastSeeds && !hasIncoming && d1.equals(zeroValue)) {
+			Collection<N> callers = icfg.getCallersOf(methodThatNeedsSummary);
+			for(N c: callers) {
+				for(N retSiteC: icfg.getReturnSitesOfCallAt(c)) {
+					FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(c, methodThatNeedsSummary,n,retSiteC);
+					flowFunctionConstructionCount++;
+					Set<D> targets = computeReturnFlowFunction(retFunction, d1, d2, c, Collections.singleton(zeroValue));
+					for(D d5: targets)
+						propagate(zeroValue, retSiteC, intern(d5), c, true);
+				}
+			}
+			//in cases where there are no callers, the return statement would normally not be processed at all;
+			//this might be undesirable if the flow function has a side effect such as registering a taint;
+			//instead we thus call the return flow function will a null caller
+			if(callers.isEmpty()) {
+				FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(null, methodThatNeedsSummary,n,null);
+				flowFunctionConstructionCount++;
+				retFunction.computeTargets(d2);
+			}
+		}
+	}
+
+	/**
+	 * This method will be called for each incoming edge and can be used to
+	 * transfer knowledge from the calling edge to the returning edge, without
+	 * affecting the summary edges at the callee.
+	 * @see IDESolver#restoreContextOnReturnedFact(Object, Object, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	protected D restoreContextOnReturnedFact(N callSite, D d4, D d5) {
+		if (d5 instanceof LinkedNode) {
+			((LinkedNode<D>) d5).setCallingContext(d4);
+		}
+		if(d5 instanceof JoinHandlingNode) {
+			((JoinHandlingNode<D>) d5).setCallingContext(d4);
+		}
+		return d5;
+	}
+
+	/**
+	 * Computes the return flow function for the given set of caller-side
+	 * abstractions.
+	 * @param retFunction The return flow function to compute
+	 * @param d1 The abstraction at the beginning of the callee
+	 * @param d2 The abstraction at the exit node in the callee
+	 * @param callSite The call site
+	 * @param callerSideDs The abstractions at the call site
+	 * @return The set of caller-side abstractions at the return site
+	 */
+	protected Set<D> computeReturnFlowFunction
+			(FlowFunction<D> retFunction, D d1, D d2, N callSite, Set<D> callerSideDs) {
+		return retFunction.computeTargets(d2);
+	}
+
+	/**
+	 * Lines 33-37 of the algorithm.
+	 * Simply propagate normal, intra-procedural flows.
+	 * @param edge
+	 */
+	private void processNormalFlow(PathEdge<N,D> edge) {
+		final D d1 = edge.factAtSource();
+		final N n = edge.getTarget();
+		final D d2 = edge.factAtTarget();
+
+		for (N m : icfg.getSuccsOf(n)) {
+			FlowFunction<D> flowFunction = flowFunctions.getNormalFlowFunction(n,m);
+			flowFunctionConstructionCount++;
+			for (D d3 : computeNormalFlowFunction(flowFunction, d1, d2))
+				propagate(d1, m, d3, null, false);
+		}
+	}
+
+	/**
+	 * Computes the normal flow function for the given set of start and end
+	 * abstractions.
+	 * @param flowFunction The normal flow function to compute
+	 * @param d1 The abstraction at the method's start node
+	 * @param d2 The abstraction at the current node
+	 * @return The set of abstractions at the successor node
+	 */
+	protected Set<D> computeNormalFlowFunction
+			(FlowFunction<D> flowFunction, D d1, D d2) {
+		return flowFunction.computeTargets(d2);
+	}
+
+	/**
+	 * Propagates the flow further down the exploded super graph, unless the path edge
+	 * from (s0,sourceVal) to (target,targetVal) is known already.
+	 * @param sourceVal the source value of the propagated path edge
+	 * @param target the target statement
+	 * @param targetVal the target value at the target statement
+	 * @param relatedCallSite for call and return flows the related call statement, <code>null</code> otherwise
+	 *        (this value is not used within this implementation but may be useful for subclasses)
+	 * @param isUnbalancedReturn <code>true</code> if this edge is propagating an unbalanced return
+	 *        (this value is not used within this implementation but may be useful for subclasses)
+	 */
+	protected void propagate(D sourceVal, N target, D targetVal,
+		/* deliberately exposed to clients */ N relatedCallSite,
+		/* deliberately exposed to clients */ boolean isUnbalancedReturn) {
+		if(!addPathEdge(sourceVal, target, targetVal))
+			return;
+		scheduleEdgeProcessing(new PathEdge<N,D>(sourceVal, target, targetVal));
+		if(targetVal!=zeroValue) {
+			logger.trace("EDGE: <{},{}> -> <{},{}>", icfg.getMethodOf(target), sourceVal, target, targetVal);
+		}
+	}
+
+	/**
+	 * Records the given path edge.
+	 * @return <code>true</code> if the edge was not known before.
+	 */
+	private boolean addPathEdge(D sourceVal, N target, D targetVal) {
+		ConcurrentMap<D,Set<D>> factsAtTarget = pathEdges.get(target);
+		if(factsAtTarget==null) {
+			factsAtTarget = new ConcurrentHashMap<D,Set<D>>();
+			ConcurrentMap<D,Set<D>> existing = pathEdges.putIfAbsent(target, factsAtTarget);
+			if(existing!=null) factsAtTarget = existing;
+		}
+		//most facts are reached from very few sources; such small sets are immutable and replaced
+		//atomically on modification, larger ones are replaced by concurrent sets
+		while(true) {
+			Set<D> sources = factsAtTarget.get(targetVal);
+			if(sources==null) {
+				Set<D> newSources = new CompactSet<D>();
+				newSources.add(sourceVal);
+				if(factsAtTarget.putIfAbsent(targetVal, newSources)==null)
+					return true;
+				continue;
+			}
+			if(sources.contains(sourceVal))
+				return false;
+			if(!(sources instanceof CompactSet))
+				return sources.add(sourceVal);
+			Set<D> newSources;
+			if(sources.size() < COPY_ON_WRITE_LIMIT) {
+				newSources = new CompactSet<D>(sources);
+			} else {
+				newSources = Collections.newSetFromMap(new ConcurrentHashMap<D,Boolean>());
+				newSources.addAll(sources);
+			}
+			newSources.add(sourceVal);
+			if(factsAtTarget.replace(targetVal, sources, newSources))
+				return true;
+		}
+	}
+
+	/**
+	 * Returns the facts at the start point from which the given fact at the given statement is reachable.
+	 * The returned set is a weakly consistent view.
+	 */
+	private Set<D> sourcesOf(N target, D targetVal) {
+		Map<D,Set<D>> factsAtTarget = pathEdges.get(target);
+		if(factsAtTarget==null)
+			return Collections.emptySet();
+		Set<D> sources = factsAtTarget.get(targetVal);
+		return sources==null ? Collections.<D>emptySet() : sources;
+	}
+
+	protected CalleeContext<N,D,Void> calleeContext(N sP, D d) {
+		ConcurrentMap<D,CalleeContext<N,D,Void>> contextsAtStartPoint = calleeContexts.get(sP);
+		if(contextsAtStartPoint==null) {
+			contextsAtStartPoint = new ConcurrentHashMap<D,CalleeContext<N,D,Void>>();
+			ConcurrentMap<D,CalleeContext<N,D,Void>> existing = calleeContexts.putIfAbsent(sP, contextsAtStartPoint);
+			if(existing!=null) contextsAtStartPoint = existing;
+		}
+		CalleeContext<N,D,Void> context = contextsAtStartPoint.get(d);
+		if(context==null) {
+			context = new CalleeContext<N,D,Void>();
+			CalleeContext<N,D,Void> existing = contextsAtStartPoint.putIfAbsent(d, context);
+			if(existing!=null) context = existing;
+		}
+		return context;
+	}
+
+	/**
+	 * Dispatch the processing of a given edge. It may be executed in a different thread.
+	 * @param edge the edge to process
+	 */
+	protected void scheduleEdgeProcessing(PathEdge<N,D> edge) {
+		// If the executor has been killed, there is little point
+		// in submitting new tasks
+		if (executor.isTerminating())
+			return;
+		propagationCount++;
+		Runnable task = new PathEdgeProcessingTask(edge);
+		if(executor instanceof CountingAffinityExecutor)
+			((CountingAffinityExecutor) executor).execute(task, icfg.getMethodOf(edge.getTarget()));
+		else
+			executor.execute(task);
+	}
+
+	/**
+	 * Factory method for this solver's executor. Returns an executor routing path edges by method
+	 * if {@link IFDSTabulationProblem#methodAffinity()} is enabled, a work-stealing executor
+	 * if {@link IFDSTabulationProblem#workStealing()} is enabled, and a thread-pool
+	 * executor with a single shared work queue otherwise.
+	 */
+	protected CountingExecutor getExecutor() {
+		if(methodAffinity)
+			return new CountingAffinityExecutor(this.numThreads);
+		if(workStealing)
+			return new CountingForkJoinExecutor(this.numThreads);
+		return new CountingThreadPoolExecutor(this.numThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+	}
+
+	public void printStats() {
+		if(logger.isDebugEnabled()) {
+			logger.debug("{} path edges propagated", propagationCount);
+			if(ffCache!=null)
+				ffCache.printStats();
+		} else {
+			logger.info("No statistics were collected, as DEBUG is disabled.");
+		}
+	}
+
+	private class PathEdgeProcessingTask implements Runnable {
+		private final PathEdge<N,D> edge;
+
+		public PathEdgeProcessingTask(PathEdge<N,D> edge) {
+			this.edge = edge;
+		}
+
+		public void run() {
+			if(icfg.isCallStmt(edge.getTarget())) {
+				processCall(edge);
+			} else {
+				//note that some statements, such as "throw" may be
+				//both an exit statement and a "normal" statement
+				if(icfg.isExitStmt(edge.getTarget())) {
+					processExit(edge);
+				}
+				if(!icfg.getSuccsOf(edge.getTarget()).isEmpty()) {
+					processNormalFlow(edge);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map that iterates in insertion order, just as a {@link java.util.LinkedHashMap}, but that
+ * is laid out for the many small maps held by the solvers. Up to two entries are stored in
+ * fields of the map itself. Larger maps store their entries in a single array in insertion
+ * order, which is scanned linearly as long as the map is small, and is indexed by an
+ * open-addressing hash table of entry positions once it grows larger. No objects are
+ * allocated per entry.
+ *
+ * Removing an entry from the array leaves a hole, which lookups and iterators skip. Holes are
+ * reclaimed once the array is full, so removal takes amortized constant time.
+ *
+ * Keys must not be <code>null</code>. Iterators are not fail-fast.
+ *
+ * This class is not thread-safe.
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of values.
+ */
+public class CompactMap<K,V> extends AbstractMap<K,V> {
+
+	//maps up to this size are searched linearly
+	private static final int LINEAR_SCAN_LIMIT = 8;
+
+	private int size;
+
+	//the number of positions in use, including holes; equals size as long as entries is null
+	private int used;
+
+	//the entries of maps with up to two entries, as long as entries is null
+	private Object k0, v0, k1, v1;
+
+	//keys at even and values at odd positions, in insertion order;
+	//a null key marks the hole of a removed entry
+	private Object[] entries;
+
+	//open-addressing table of entry positions plus one, 0 marks a free slot;
+	//positions of holes remain in the table until it is rebuilt;
+	//only present if the map held more than LINEAR_SCAN_LIMIT entries
+	private int[] index;
+
+	public CompactMap() {
+	}
+
+	public CompactMap(Map<? extends K, ? extends V> map) {
+		if(map.size() > 2)
+			entries = new Object[2 * map.size()];
+		putAll(map);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size==0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public V get(Object key) {
+		int i = indexOf(key);
+		return i < 0 ? null : valueAt(i);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if(key==null)
+			throw new NullPointerException("Null keys are not supported");
+		int i = indexOf(key);
+		if(i >= 0) {
+			V old = valueAt(i);
+			setValueAt(i, value);
+			return old;
+		}
+		append(key, value);
+		return null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		int i = indexOf(key);
+		if(i < 0)
+			return null;
+		V old = valueAt(i);
+		removeAt(i);
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		k0 = v0 = k1 = v1 = null;
+		entries = null;
+		index = null;
+		size = used = 0;
+	}
+
+	private int indexOf(Object key) {
+		if(key==null)
+			return -1;
+		if(entries==null) {
+			if(size > 0 && k0.equals(key)) return 0;
+			if(size > 1 && k1.equals(key)) return 1;
+			return -1;
+		}
+		if(index==null) {
+			for(int i=0; i<used; i++)
+				if(key.equals(entries[2*i]))
+					return i;
+			return -1;
+		}
+		int mask = index.length - 1;
+		for(int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+			int entry = index[slot];
+			if(entry==0)
+				return -1;
+			if(key.equals(entries[2*(entry-1)]))
+				return entry - 1;
+		}
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private K keyAt(int i) {
+		if(entries==null)
+			return (K) (i==0 ? k0 : k1);
+		return (K) entries[2*i];
+	}
+
+	@SuppressWarnings("unchecked")
+	private V valueAt(int i) {
+		if(entries==null)
+			return (V) (i==0 ? v0 : v1);
+		return (V) entries[2*i+1];
+	}
+
+	private void setValueAt(int i, V value) {
+		if(entries!=null)
+			entries[2*i+1] = value;
+		else if(i==0)
+			v0 = value;
+		else
+			v1 = value;
+	}
+
+	private void append(K key, V value) {
+		if(entries==null) {
+			if(size==0) {
+				k0 = key;
+				v0 = value;
+				size = used = 1;
+				return;
+			}
+			if(size==1) {
+				k1 = key;
+				v1 = value;
+				size = used = 2;
+				return;
+			}
+			entries = new Object[8];
+			entries[0] = k0;
+			entries[1] = v0;
+			entries[2] = k1;
+			entries[3] = v1;
+			k0 = v0 = k1 = v1 = null;
+		} else if(2*used==entries.length) {
+			if(2*size <= used)
+				//at least half of the positions are holes
+				compact();
+			else
+				entries = Arrays.copyOf(entries, 2*entries.length);
+		}
+		entries[2*used] = key;
+		entries[2*used+1] = value;
+		used++;
+		size++;
+		if(index!=null && 2*used <= index.length)
+			addToIndex(used-1);
+		else if(size > LINEAR_SCAN_LIMIT)
+			rebuildIndex();
+		else
+			index = null;
+	}
+
+	private void removeAt(int i) {
+		if(size==1) {
+			clear();
+			return;
+		}
+		size--;
+		if(entries==null) {
+			if(i==0) {
+				k0 = k1;
+				v0 = v1;
+			}
+			k1 = v1 = null;
+			used--;
+			return;
+		}
+		//positions are not reused before the next compaction, so the index remains valid
+		entries[2*i] = entries[2*i+1] = null;
+	}
+
+	/**
+	 * Moves all entries to the front of the array, closing the holes left by removed entries.
+	 */
+	private void compact() {
+		int to = 0;
+		for(int from=0; from<used; from++) {
+			if(entries[2*from]!=null) {
+				entries[2*to] = entries[2*from];
+				entries[2*to+1] = entries[2*from+1];
+				to++;
+			}
+		}
+		Arrays.fill(entries, 2*to, 2*used, null);
+		used = to;
+		if(size > LINEAR_SCAN_LIMIT)
+			rebuildIndex();
+		else
+			index = null;
+	}
+
+	private void rebuildIndex() {
+		//keep the table at most half full
+		int capacity = Integer.highestOneBit(used) << 2;
+		index = new int[capacity];
+		for(int i=0; i<used; i++)
+			if(entries[2*i]!=null)
+				addToIndex(i);
+	}
+
+	private void addToIndex(int i) {
+		int mask = index.length - 1;
+		int slot = hash(entries[2*i]) & mask;
+		while(index[slot]!=0)
+			slot = (slot + 1) & mask;
+		index[slot] = i + 1;
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				return new PositionIterator<K>() {
+					@Override
+					protected K at(int i) {
+						return keyAt(i);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey(o);
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				int i = indexOf(o);
+				if(i < 0)
+					return false;
+				removeAt(i);
+				return true;
+			}
+		};
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new AbstractCollection<V>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new PositionIterator<V>() {
+					@Override
+					protected V at(int i) {
+						return valueAt(i);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Set<Entry<K,V>> entrySet() {
+		return new AbstractSet<Entry<K,V>>() {
+			@Override
+			public Iterator<Entry<K,V>> iterator() {
+				return new PositionIterator<Entry<K,V>>() {
+					@Override
+					protected Entry<K,V> at(int i) {
+						return new PositionEntry(i);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Iterates over the entries by position, skipping holes.
+	 */
+	private abstract class PositionIterator<T> implements Iterator<T> {
+
+		private int next = advance(0);
+
+		private int last = -1;
+
+		protected abstract T at(int i);
+
+		private int advance(int i) {
+			if(entries!=null)
+				while(i < used && entries[2*i]==null)
+					i++;
+			return i;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < used;
+		}
+
+		@Override
+		public T next() {
+			if(next >= used)
+				throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return at(last);
+		}
+
+		@Override
+		public void remove() {
+			if(last < 0)
+				throw new IllegalStateException();
+			boolean shifts = entries==null;
+			removeAt(last);
+			//removing from the fields moves the second entry to the first position
+			if(shifts)
+				next = last;
+			last = -1;
+		}
+	}
+
+	/**
+	 * An entry that reads and writes through to the map at a fixed position.
+	 */
+	private class PositionEntry extends SimpleEntry<K,V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int position;
+
+		private PositionEntry(int position) {
+			super(keyAt(position), valueAt(position));
+			this.position = position;
+		}
+
+		@Override
+		public V setValue(V value) {
+			setValueAt(position, value);
+			return super.setValue(value);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A set that iterates in insertion order and is backed by a {@link CompactMap}, which
+ * makes it a compact replacement for small {@link java.util.LinkedHashSet}s.
+ *
+ * Elements must not be <code>null</code>. This class is not thread-safe.
+ *
+ * @param <E> The type of elements.
+ */
+public class CompactSet<E> extends AbstractSet<E> {
+
+	private final CompactMap<E,Boolean> map;
+
+	public CompactSet() {
+		map = new CompactMap<E,Boolean>();
+	}
+
+	public CompactSet(Collection<? extends E> elements) {
+		map = new CompactMap<E,Boolean>();
+		addAll(elements);
+	}
+
+	@Override
+	public boolean add(E element) {
+		return map.put(element, Boolean.TRUE)==null;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return map.containsKey(o);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return map.remove(o)!=null;
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return map.keySet().iterator();
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from primitive <code>long</code> keys to non-null object values. The map uses open
+ * addressing with linear probing, so neither keys nor entries are boxed or allocated on insertion.
+ * This makes it a compact replacement for nested maps keyed by pairs of objects that have been
+ * mapped to dense integer numbers, see {@link #pack(int, int)}.
+ * 
+ * This class is not thread-safe.
+ *
+ * @param <V> The type of values.
+ */
+public class LongObjectHashMap<V> implements Iterable<V> {
+
+	private static final int DEFAULT_CAPACITY = 8;
+	
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	
+	//a null value marks a free slot
+	private Object[] values;
+	
+	private int size;
+	
+	private int resizeThreshold;
+
+	public LongObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongObjectHashMap(int expectedSize) {
+		int capacity = DEFAULT_CAPACITY;
+		while(capacity * LOAD_FACTOR < expectedSize)
+			capacity <<= 1;
+		allocate(capacity);
+	}
+
+	/**
+	 * Packs two integer numbers into a single <code>long</code> key.
+	 */
+	public static long pack(int high, int low) {
+		return ((long) high << 32) | (low & 0xffffffffL);
+	}
+
+	/**
+	 * Returns the first number packed into the given key by {@link #pack(int, int)}.
+	 */
+	public static int high(long key) {
+		return (int) (key >>> 32);
+	}
+
+	/**
+	 * Returns the second number packed into the given key by {@link #pack(int, int)}.
+	 */
+	public static int low(long key) {
+		return (int) key;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private int slot(long key) {
+		//murmur3 finalizer, spreads packed keys over all bits
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key & (keys.length - 1);
+	}
+
+	/**
+	 * Returns the value associated with the given key, or <code>null</code> if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int mask = keys.length - 1;
+		for(int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+			if(keys[i] == key)
+				return (V) values[i];
+		}
+		return null;
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Associates the given non-null value with the given key.
+	 * @return The value previously associated with the key, or <code>null</code> if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if(value == null)
+			throw new NullPointerException("null values are not supported");
+		int mask = keys.length - 1;
+		int i = slot(key);
+		for(; values[i] != null; i = (i + 1) & mask) {
+			if(keys[i] == key) {
+				V old = (V) values[i];
+				values[i] = value;
+				return old;
+			}
+		}
+		keys[i] = key;
+		values[i] = value;
+		if(++size > resizeThreshold)
+			rehash(keys.length << 1);
+		return null;
+	}
+
+	/**
+	 * Removes the mapping for the given key.
+	 * @return The value previously associated with the key, or <code>null</code> if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int mask = keys.length - 1;
+		int i = slot(key);
+		for(; values[i] != null; i = (i + 1) & mask) {
+			if(keys[i] == key)
+				break;
+		}
+		if(values[i] == null)
+			return null;
+		V old = (V) values[i];
+		//backward-shift deletion keeps probe sequences intact without tombstones
+		int free = i;
+		for(int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+			int home = slot(keys[j]);
+			if(((j - home) & mask) >= ((j - free) & mask)) {
+				keys[free] = keys[j];
+				values[free] = values[j];
+				free = j;
+			}
+		}
+		values[free] = null;
+		size--;
+		return old;
+	}
+
+	private void rehash(int newCapacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for(int j = 0; j < oldValues.length; j++) {
+			if(oldValues[j] != null) {
+				int i = slot(oldKeys[j]);
+				while(values[i] != null)
+					i = (i + 1) & mask;
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	/**
+	 * Passes all entries of this map to the given visitor, in no particular order.
+	 * The map must not be modified while it is visited.
+	 */
+	@SuppressWarnings("unchecked")
+	public void visitEntries(EntryVisitor<? super V> visitor) {
+		for(int i = 0; i < values.length; i++)
+			if(values[i] != null)
+				visitor.visit(keys[i], (V) values[i]);
+	}
+
+	/**
+	 * Receives the entries of a map, see {@link LongObjectHashMap#visitEntries(EntryVisitor)}.
+	 */
+	public interface EntryVisitor<V> {
+		void visit(long key, V value);
+	}
+
+	/**
+	 * Returns an iterator over all values in this map, in no particular order.
+	 */
+	@Override
+	public Iterator<V> iterator() {
+		return new Iterator<V>() {
+			int next = advance(0);
+
+			private int advance(int i) {
+				while(i < values.length && values[i] == null)
+					i++;
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next < values.length;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public V next() {
+				if(!hasNext())
+					throw new NoSuchElementException();
+				V value = (V) values[next];
+				next = advance(next + 1);
+				return value;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
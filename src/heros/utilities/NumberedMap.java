@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import heros.Numbering;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map keyed by objects that are mapped to dense integer numbers by a {@link Numbering}.
+ * The map uses open addressing with linear probing over the numbers of its keys, so lookups
+ * compare numbers only and never call {@link Object#hashCode()} or {@link Object#equals(Object)}
+ * on keys themselves. No objects are allocated per entry.
+ *
+ * Keys must not be <code>null</code>. The iteration order is unspecified. Iterators do not
+ * support removal and are not fail-fast.
+ *
+ * This class is not thread-safe.
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of values.
+ */
+public class NumberedMap<K,V> extends AbstractMap<K,V> {
+
+	private static final int DEFAULT_CAPACITY = 4;
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private final Numbering<K> numbering;
+
+	private int[] numbers;
+
+	//a null key marks a free slot
+	private Object[] keys;
+
+	private Object[] values;
+
+	private int size;
+
+	private int resizeThreshold;
+
+	public NumberedMap(Numbering<K> numbering) {
+		this.numbering = numbering;
+		allocate(DEFAULT_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		numbers = new int[capacity];
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private int slot(int number) {
+		int h = number * 0x9e3779b9;
+		return (h ^ (h >>> 16)) & (keys.length - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private int slotOf(Object key) {
+		if(key==null)
+			return -1;
+		int number = numbering.numberOf((K) key);
+		int mask = keys.length - 1;
+		for(int i = slot(number); keys[i] != null; i = (i + 1) & mask) {
+			if(numbers[i] == number)
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size==0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slotOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(Object key) {
+		int i = slotOf(key);
+		return i < 0 ? null : (V) values[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V value) {
+		if(key==null)
+			throw new NullPointerException("Null keys are not supported");
+		int number = numbering.numberOf(key);
+		int mask = keys.length - 1;
+		int i = slot(number);
+		for(; keys[i] != null; i = (i + 1) & mask) {
+			if(numbers[i] == number) {
+				V old = (V) values[i];
+				values[i] = value;
+				return old;
+			}
+		}
+		numbers[i] = number;
+		keys[i] = key;
+		values[i] = value;
+		if(++size > resizeThreshold)
+			rehash(keys.length << 1);
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V remove(Object key) {
+		int i = slotOf(key);
+		if(i < 0)
+			return null;
+		V old = (V) values[i];
+		//backward-shift deletion keeps probe sequences intact without tombstones
+		int mask = keys.length - 1;
+		int free = i;
+		for(int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int home = slot(numbers[j]);
+			if(((j - home) & mask) >= ((j - free) & mask)) {
+				numbers[free] = numbers[j];
+				keys[free] = keys[j];
+				values[free] = values[j];
+				free = j;
+			}
+		}
+		keys[free] = values[free] = null;
+		size--;
+		return old;
+	}
+
+	private void rehash(int newCapacity) {
+		int[] oldNumbers = numbers;
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(oldKeys[j] != null) {
+				int i = slot(oldNumbers[j]);
+				while(keys[i] != null)
+					i = (i + 1) & mask;
+				numbers[i] = oldNumbers[j];
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	@Override
+	public Set<Entry<K,V>> entrySet() {
+		return new AbstractSet<Entry<K,V>>() {
+			@Override
+			public Iterator<Entry<K,V>> iterator() {
+				return new Iterator<Entry<K,V>>() {
+					int next = advance(0);
+
+					private int advance(int i) {
+						while(i < keys.length && keys[i] == null)
+							i++;
+						return i;
+					}
+
+					@Override
+					public boolean hasNext() {
+						return next < keys.length;
+					}
+
+					@Override
+					public Entry<K,V> next() {
+						if(!hasNext())
+							throw new NoSuchElementException();
+						Entry<K,V> entry = new SlotEntry(next);
+						next = advance(next + 1);
+						return entry;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * An entry that writes through to the map at a fixed slot.
+	 */
+	private class SlotEntry extends SimpleEntry<K,V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int slot;
+
+		@SuppressWarnings("unchecked")
+		private SlotEntry(int slot) {
+			super((K) keys[slot], (V) values[slot]);
+			this.slot = slot;
+		}
+
+		@Override
+		public V setValue(V value) {
+			values[slot] = value;
+			return super.setValue(value);
+		}
+	}
+
+}
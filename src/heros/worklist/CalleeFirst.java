@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.worklist;
+
+import heros.InterproceduralCFG;
+import heros.WorklistOrdering;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Processes path edges in callees before path edges in their callers. Methods are ordered by
+ * their call depth, i.e., the length of the shortest call chain from one of the given entry
+ * points, and path edges in deeper methods are processed first. This way, end summaries tend
+ * to be complete before they are applied at call sites. Methods that are not reachable from
+ * the entry points, such as callers reached through unbalanced returns, are processed last.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ */
+public class CalleeFirst<N,D,M> implements WorklistOrdering<N,D> {
+
+	private final InterproceduralCFG<N,M> icfg;
+
+	private final Map<M,Integer> callDepth = new HashMap<M,Integer>();
+
+	/**
+	 * @param icfg The interprocedural control-flow graph.
+	 * @param entryPoints The nodes at which the analysis starts, typically the initial seeds.
+	 */
+	public CalleeFirst(InterproceduralCFG<N,M> icfg, Collection<N> entryPoints) {
+		this.icfg = icfg;
+		//breadth-first search over the call graph
+		Deque<M> worklist = new ArrayDeque<M>();
+		for(N entryPoint: entryPoints) {
+			M method = icfg.getMethodOf(entryPoint);
+			if(callDepth.put(method, 0)==null)
+				worklist.add(method);
+		}
+		while(!worklist.isEmpty()) {
+			M method = worklist.poll();
+			int depth = callDepth.get(method);
+			for(N callSite: icfg.getCallsFromWithin(method)) {
+				for(M callee: icfg.getCalleesOfCallAt(callSite)) {
+					if(!callDepth.containsKey(callee)) {
+						callDepth.put(callee, depth + 1);
+						worklist.add(callee);
+					}
+				}
+			}
+		}
+	}
+
+	public long priority(D sourceVal, N target, D targetVal) {
+		//callDepth is not modified after construction
+		Integer depth = callDepth.get(icfg.getMethodOf(target));
+		return depth==null ? 0 : -depth;
+	}
+
+}
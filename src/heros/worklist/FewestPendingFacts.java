@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.worklist;
+
+import heros.WorklistOrdering;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prefers path edges into nodes with few pending facts. The priority of a path edge is the
+ * number of path edges to the same node that have been scheduled but not yet processed.
+ * Nodes at which many facts accumulate are thus deferred, so that the facts arriving there
+ * later can be joined before they are propagated further.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ */
+public class FewestPendingFacts<N,D> implements WorklistOrdering<N,D> {
+
+	private final ConcurrentMap<N,AtomicInteger> pendingFacts = new ConcurrentHashMap<N,AtomicInteger>();
+
+	public long priority(D sourceVal, N target, D targetVal) {
+		return pending(target).getAndIncrement();
+	}
+
+	@Override
+	public void processed(D sourceVal, N target, D targetVal) {
+		pending(target).decrementAndGet();
+	}
+
+	private AtomicInteger pending(N target) {
+		AtomicInteger pending = pendingFacts.get(target);
+		if(pending==null) {
+			pending = new AtomicInteger();
+			AtomicInteger existing = pendingFacts.putIfAbsent(target, pending);
+			if(existing!=null) pending = existing;
+		}
+		return pending;
+	}
+
+}
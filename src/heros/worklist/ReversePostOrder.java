@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.worklist;
+
+import heros.InterproceduralCFG;
+import heros.WorklistOrdering;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Processes path edges in the intra-procedural reverse post-order of their target nodes,
+ * i.e., a node is processed before its successors unless they are connected by a back edge.
+ * The order is computed once per method, starting from the method's start points.
+ * Nodes that are not reachable from a start point are processed last.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph.
+ * @param <D> The type of data-flow facts to be computed by the tabulation problem.
+ * @param <M> The type of objects used to represent methods.
+ */
+public class ReversePostOrder<N,D,M> implements WorklistOrdering<N,D> {
+
+	private final InterproceduralCFG<N,M> icfg;
+
+	private final ConcurrentMap<M,Map<N,Integer>> orderOfMethod = new ConcurrentHashMap<M,Map<N,Integer>>();
+
+	public ReversePostOrder(InterproceduralCFG<N,M> icfg) {
+		this.icfg = icfg;
+	}
+
+	public long priority(D sourceVal, N target, D targetVal) {
+		M method = icfg.getMethodOf(target);
+		Map<N,Integer> order = orderOfMethod.get(method);
+		if(order==null) {
+			//computing the order twice in a race is harmless
+			order = computeOrder(method);
+			orderOfMethod.putIfAbsent(method, order);
+		}
+		Integer index = order.get(target);
+		return index==null ? Integer.MAX_VALUE : index;
+	}
+
+	private Map<N,Integer> computeOrder(M method) {
+		Map<N,Integer> postOrder = new HashMap<N,Integer>();
+		Map<N,Boolean> visited = new HashMap<N,Boolean>();
+		//iterative depth-first search; each stack entry holds a node and the iterator over its successors
+		Deque<N> nodes = new ArrayDeque<N>();
+		Deque<Iterator<N>> succs = new ArrayDeque<Iterator<N>>();
+		for(N sP: icfg.getStartPointsOf(method)) {
+			if(visited.put(sP, true)!=null)
+				continue;
+			nodes.push(sP);
+			succs.push(icfg.getSuccsOf(sP).iterator());
+			while(!nodes.isEmpty()) {
+				Iterator<N> it = succs.peek();
+				if(it.hasNext()) {
+					N succ = it.next();
+					if(visited.put(succ, true)==null) {
+						nodes.push(succ);
+						succs.push(icfg.getSuccsOf(succ).iterator());
+					}
+				} else {
+					postOrder.put(nodes.pop(), postOrder.size());
+					succs.pop();
+				}
+			}
+		}
+		Map<N,Integer> reversePostOrder = new HashMap<N,Integer>();
+		int size = postOrder.size();
+		for(Map.Entry<N,Integer> entry: postOrder.entrySet())
+			reversePostOrder.put(entry.getKey(), size - 1 - entry.getValue());
+		return reversePostOrder;
+	}
+
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static heros.utilities.TestHelper.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import heros.utilities.TestConfiguration;
+import heros.utilities.TestHelper;
+
+import org.junit.Test;
+
+/**
+ * Tests applying normal flow functions to all facts of a batch of path edges at once.
+ */
+public class BatchedNormalFlowTest {
+
+	private static void fanOutAndJoin(TestHelper helper) {
+		helper.method("foo",
+				startPoints("a"),
+				normalStmt("a", flow("0", "x", "y", "z")).succ("b"),
+				normalStmt("b", flow("x", "u"), flow("y", "v"), flow("z", "w")).succ("c"),
+				normalStmt("c", kill("u"), kill("v"), kill("w")).succ("d"));
+	}
+
+	@Test
+	public void appliesFlowFunctionToAllFactsOfBatch() {
+		TestHelper helper = new TestHelper(new TestConfiguration("batched").pathEdgeBatchSize(4));
+		fanOutAndJoin(helper);
+		helper.runSolver(false, "a");
+		assertTrue(helper.batchedEvaluationCount() > 0);
+	}
+
+	@Test
+	public void perEdgeHookDisablesBatching() {
+		TestHelper helper = new TestHelper(new TestConfiguration("perEdgeNormalFlowHook").pathEdgeBatchSize(4).perEdgeNormalFlowHook());
+		fanOutAndJoin(helper);
+		helper.runSolver(false, "a");
+		assertEquals(0, helper.batchedEvaluationCount());
+		assertEquals(helper.evaluatedFacts().size(), helper.perEdgeNormalFlowCount());
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import heros.flowfunc.Gen;
+import heros.flowfunc.Kill;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
+
+public class FlowFunctionTest {
+
+	private static final String ZERO = "0";
+
+	@Test
+	public void computeAllTargetsKeysTargetsBySource() {
+		SetMultimap<String,String> targets = new Gen<String>("g", ZERO).computeAllTargets(Arrays.asList(ZERO, "a", "b"));
+		assertEquals(ImmutableSet.of(ZERO, "g"), targets.get(ZERO));
+		assertEquals(ImmutableSet.of("a"), targets.get("a"));
+		assertEquals(ImmutableSet.of("b"), targets.get("b"));
+		assertEquals(4, targets.size());
+	}
+
+	@Test
+	public void computeAllTargetsOmitsKilledSources() {
+		SetMultimap<String,String> targets = new Kill<String>("a").computeAllTargets(Arrays.asList("a", "b"));
+		assertTrue(targets.get("a").isEmpty());
+		assertEquals(ImmutableSet.of("b"), targets.get("b"));
+		assertTrue(new Kill<String>("a").computeAllTargets(Collections.<String>emptySet()).isEmpty());
+	}
+
+	@Test
+	public void zeroedFunctionsKeepZeroInBatches() {
+		FlowFunctions<String,String,String> zeroed = new ZeroedFlowFunctions<String,String,String>(new FlowFunctions<String,String,String>() {
+			public FlowFunction<String> getNormalFlowFunction(String curr, String succ) {
+				return new Kill<String>("a");
+			}
+
+			public FlowFunction<String> getCallFlowFunction(String callStmt, String destinationMethod) {
+				throw new AssertionError();
+			}
+
+			public FlowFunction<String> getReturnFlowFunction(String callSite, String calleeMethod, String exitStmt, String returnSite) {
+				throw new AssertionError();
+			}
+
+			public FlowFunction<String> getCallToReturnFlowFunction(String callSite, String returnSite) {
+				throw new AssertionError();
+			}
+		}, ZERO);
+		FlowFunction<String> function = zeroed.getNormalFlowFunction("n", "m");
+		SetMultimap<String,String> targets = function.computeAllTargets(Arrays.asList(ZERO, "a", "b"));
+		for (String source : Arrays.asList(ZERO, "a", "b")) {
+			Set<String> expected = function.computeTargets(source);
+			assertEquals(source, expected, targets.get(source));
+		}
+		assertEquals(ImmutableSet.of(ZERO), targets.get(ZERO));
+	}
+}
@@ -10,20 +10,250 @@
  ******************************************************************************/
 package heros;
 
+import static heros.utilities.TestHelper.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import heros.solver.CountingAffinityExecutor;
+import heros.solver.CountingForkJoinExecutor;
+import heros.solver.IFDSSolver;
+import heros.utilities.JoinableFact;
+import heros.utilities.Statement;
+import heros.utilities.TestConfiguration;
+import heros.utilities.TestConfiguration.SolverKind;
+import heros.utilities.TestConfiguration.Verification;
 import heros.utilities.TestHelper;
+import heros.utilities.TestMethod;
+import heros.worklist.FewestPendingFacts;
+import heros.worklist.ReversePostOrder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 
-import static heros.utilities.TestHelper.*;
+import com.google.common.base.Function;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Sets;
 
+/**
+ * Runs each scenario with each of the solver configurations, each of which checks the effect
+ * of its options after each run.
+ */
+@RunWith(Parameterized.class)
 public class IFDSSolverTest {
 
+	private final TestConfiguration configuration;
 	private TestHelper helper;
 
+	public IFDSSolverTest(TestConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	@Parameters(name="{0}")
+	public static Collection<Object[]> parameters() throws IOException {
+		LinkedList<Object[]> result = Lists.newLinkedList();
+		result.add(new Object[] {new TestConfiguration("default")});
+		result.add(new Object[] {new TestConfiguration("batched").numThreads(2).pathEdgeBatchSize(2).verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				//edges discovered by the same task are handed off together
+				IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> solver = helper.solver();
+				assertTrue(((ThreadPoolExecutor) helper.executor()).getTaskCount() <= solver.propagationCount);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("workStealing").numThreads(4).workStealing().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertTrue(helper.executor() instanceof CountingForkJoinExecutor);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("methodAffinity").numThreads(4).methodAffinity().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertTrue(helper.executor() instanceof CountingAffinityExecutor);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("numbered").numbered().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				for (JoinableFact fact : helper.evaluatedFacts().values())
+					assertTrue(fact.toString(), helper.factNumbering().isNumbered(fact));
+			}
+		})});
+		final AtomicInteger priorities = new AtomicInteger();
+		result.add(new Object[] {new TestConfiguration("reversePostOrder").worklistOrdering(new Function<InterproceduralCFG<Statement, TestMethod>, WorklistOrdering<Statement, JoinableFact>>() {
+			@Override
+			public WorklistOrdering<Statement, JoinableFact> apply(InterproceduralCFG<Statement, TestMethod> icfg) {
+				final ReversePostOrder<Statement, JoinableFact, TestMethod> ordering = new ReversePostOrder<Statement, JoinableFact, TestMethod>(icfg);
+				return new WorklistOrdering<Statement, JoinableFact>() {
+					@Override
+					public long priority(JoinableFact sourceVal, Statement target, JoinableFact targetVal) {
+						priorities.incrementAndGet();
+						return ordering.priority(sourceVal, target, targetVal);
+					}
+				};
+			}
+		}).verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertTrue(priorities.getAndSet(0) > 0);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("jumpFunctionCollection").jumpFunctionCollectionInterval(1).verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				//jump functions are kept at start points, call sites and exit statements only
+				InterproceduralCFG<Statement, TestMethod> icfg = helper.buildIcfg();
+				boolean collectible = false;
+				for (Statement stmt : helper.evaluatedFacts().keySet())
+					collectible |= !icfg.isStartPoint(stmt) && !icfg.isCallStmt(stmt) && !icfg.isExitStmt(stmt) && !icfg.getPredsOf(stmt).isEmpty();
+				assertTrue(!collectible || helper.solver().collectedJumpFunctionCount > 0);
+			}
+		})});
+		final File jumpFunctionDirectory = Files.createTempDirectory("heros-jumpfunctions").toFile();
+		jumpFunctionDirectory.deleteOnExit();
+		Verification noFileLeft = new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				//the store's file is unlinked as soon as it is mapped
+				assertEquals(0, jumpFunctionDirectory.list().length);
+			}
+		};
+		result.add(new Object[] {new TestConfiguration("mappedJumpFunctions").jumpFunctionDirectory(jumpFunctionDirectory, 1).verifiedBy(noFileLeft)});
+		result.add(new Object[] {new TestConfiguration("mappedJumpFunctionCollection").jumpFunctionDirectory(jumpFunctionDirectory, 1).jumpFunctionCollectionInterval(1).verifiedBy(noFileLeft)});
+		result.add(new Object[] {new TestConfiguration("mappedJumpFunctionsUpdate").jumpFunctionDirectory(jumpFunctionDirectory, 1).updateAfterSolving().verifiedBy(noFileLeft)});
+		result.add(new Object[] {new TestConfiguration("methodSummaries").reuseSummaries().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertEquals(helper.hasCalls(), helper.solver().preloadedSummaryApplicationCount > 0);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("update").updateAfterSolving().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				//updating as if all methods had changed evaluates everything a second time
+				Multiset<Map.Entry<Statement, JoinableFact>> evaluations = HashMultiset.create(helper.evaluatedFacts().entries());
+				for (Multiset.Entry<Map.Entry<Statement, JoinableFact>> evaluation : evaluations.entrySet())
+					assertEquals(evaluation.getElement().toString(), 0, evaluation.getCount() % 2);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("reachability").solver(SolverKind.REACHABILITY).verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertResultsMatchEvaluatedFacts(helper);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("bitSet").solver(SolverKind.BIT_SET).verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				assertResultsMatchEvaluatedFacts(helper);
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("internFacts").internFacts().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				Map<JoinableFact, JoinableFact> canonical = Maps.newHashMap();
+				for (JoinableFact fact : helper.evaluatedFacts().values()) {
+					JoinableFact previous = canonical.put(fact, fact);
+					if (previous != null)
+						assertSame(previous, fact);
+				}
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("hashConsEdgeFunctions").hashConsEdgeFunctions()});
+		result.add(new Object[] {new TestConfiguration("flowFunctionResultCache").flowFunctionResultCacheSize(1000)});
+		result.add(new Object[] {new TestConfiguration("sparse").sparse().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				for (Map.Entry<Statement, JoinableFact> evaluation : helper.evaluatedFacts().entries())
+					assertNull(evaluation.toString(), helper.skippedFlowFunction(evaluation.getKey(), evaluation.getValue()));
+			}
+		})});
+		result.add(new Object[] {new TestConfiguration("collapseIdentityRuns").collapseIdentityRuns().verifiedBy(new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				for (Statement stmt : helper.identityStatements())
+					assertFalse(stmt.toString(), helper.evaluatedFacts().containsKey(stmt));
+			}
+		})});
+		final ConcurrentMap<Statement, AtomicInteger> pendingFacts = Maps.newConcurrentMap();
+		Verification noFactPending = new Verification() {
+			@Override
+			public void verify(TestHelper helper) {
+				//each edge that was given a priority must have been processed exactly once
+				for (Map.Entry<Statement, AtomicInteger> pending : pendingFacts.entrySet())
+					assertEquals(pending.getKey().toString(), 0, pending.getValue().get());
+				pendingFacts.clear();
+			}
+		};
+		result.add(new Object[] {new TestConfiguration("sparseFewestPendingFacts").sparse().worklistOrdering(fewestPendingFacts(pendingFacts)).verifiedBy(noFactPending)});
+		result.add(new Object[] {new TestConfiguration("collapseIdentityRunsFewestPendingFacts").collapseIdentityRuns().worklistOrdering(fewestPendingFacts(pendingFacts)).verifiedBy(noFactPending)});
+		return result;
+	}
+
+	/**
+	 * Orders the worklist by {@link FewestPendingFacts}, recording the number of pending facts per
+	 * statement in the given map.
+	 */
+	private static Function<InterproceduralCFG<Statement, TestMethod>, WorklistOrdering<Statement, JoinableFact>> fewestPendingFacts(
+			final ConcurrentMap<Statement, AtomicInteger> pendingFacts) {
+		return new Function<InterproceduralCFG<Statement, TestMethod>, WorklistOrdering<Statement, JoinableFact>>() {
+			@Override
+			public WorklistOrdering<Statement, JoinableFact> apply(InterproceduralCFG<Statement, TestMethod> icfg) {
+				return new FewestPendingFacts<Statement, JoinableFact>() {
+					@Override
+					public long priority(JoinableFact sourceVal, Statement target, JoinableFact targetVal) {
+						pending(target).incrementAndGet();
+						return super.priority(sourceVal, target, targetVal);
+					}
+
+					@Override
+					public void processed(JoinableFact sourceVal, Statement target, JoinableFact targetVal) {
+						assertTrue("processed an edge to " + target + " that was never scheduled", pending(target).decrementAndGet() >= 0);
+						super.processed(sourceVal, target, targetVal);
+					}
+
+					private AtomicInteger pending(Statement target) {
+						pendingFacts.putIfAbsent(target, new AtomicInteger());
+						return pendingFacts.get(target);
+					}
+				};
+			}
+		};
+	}
+
+	private static void assertResultsMatchEvaluatedFacts(TestHelper helper) {
+		JoinableFact zero = new JoinableFact("0");
+		for (Statement stmt : helper.evaluatedFacts().keySet()) {
+			Set<JoinableFact> expected = Sets.newHashSet(helper.evaluatedFacts().get(stmt));
+			expected.remove(zero);
+			Set<JoinableFact> actual = Sets.newHashSet(helper.resultsAt(stmt));
+			actual.remove(zero);
+			assertEquals(stmt.toString(), expected, actual);
+		}
+	}
+
 	@Before
 	public void before() {
-		helper = new TestHelper();
+		helper = new TestHelper(configuration);
 	}
 	
 	@Test
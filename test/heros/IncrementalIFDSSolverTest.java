@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static heros.utilities.TestHelper.*;
+import heros.utilities.TestConfiguration;
+import heros.utilities.TestHelper;
+
+import org.junit.Test;
+
+/**
+ * Tests updating the results for a subset of the methods. Updating as if all methods had
+ * changed is covered by the "update" configuration of {@link IFDSSolverTest}.
+ */
+public class IncrementalIFDSSolverTest {
+
+	@Test
+	public void updateReusesSummariesOfUnchangedCallee() {
+		TestHelper helper = new TestHelper(new TestConfiguration("update").updateAfterSolving("bar"));
+		helper.method("bar",
+				startPoints("a"),
+				normalStmt("a", flow("0", "x")).succ("b"),
+				callSite("b").calls("foo", flow("x", "y")).retSite("c", flow("x", "x")));
+
+		helper.method("foo",
+				startPoints("d"),
+				normalStmt("d", flow("y", "y", "z")).succ("e"),
+				exitStmt("e").returns(over("b"), to("c"), flow("z", "u"), flow("y")));
+
+		helper.runSolver(false, "a");
+		helper.assertFlowFunctionsUnusedOnlyAt("d");
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import heros.utilities.JoinableFact;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+public class MemoizingFlowFunctionsTest {
+
+	/**
+	 * Returns the same flow functions for all statements, each of which maps a fact to itself
+	 * and counts its evaluations.
+	 */
+	private static class CountingFlowFunctions implements FlowFunctions<String,JoinableFact,String> {
+		private final AtomicInteger evaluations = new AtomicInteger();
+
+		private final FlowFunction<JoinableFact> function = new FlowFunction<JoinableFact>() {
+			@Override
+			public Set<JoinableFact> computeTargets(JoinableFact source) {
+				evaluations.incrementAndGet();
+				if (source.name.equals("fail"))
+					throw new IllegalStateException("fail");
+				return Collections.singleton(new JoinableFact(source.name));
+			}
+		};
+
+		public FlowFunction<JoinableFact> getNormalFlowFunction(String curr, String succ) {
+			return function;
+		}
+
+		public FlowFunction<JoinableFact> getCallFlowFunction(String callStmt, String destinationMethod) {
+			return function;
+		}
+
+		public FlowFunction<JoinableFact> getReturnFlowFunction(String callSite, String calleeMethod, String exitStmt, String returnSite) {
+			return function;
+		}
+
+		public FlowFunction<JoinableFact> getCallToReturnFlowFunction(String callSite, String returnSite) {
+			return function;
+		}
+	}
+
+	@Test
+	public void secondEvaluationIsCacheHit() {
+		CountingFlowFunctions delegate = new CountingFlowFunctions();
+		MemoizingFlowFunctions<String,JoinableFact,String> sut = new MemoizingFlowFunctions<String,JoinableFact,String>(delegate, 100);
+		Set<JoinableFact> first = sut.getNormalFlowFunction("a", "b").computeTargets(new JoinableFact("x"));
+		Set<JoinableFact> second = sut.getNormalFlowFunction("a", "b").computeTargets(new JoinableFact("x"));
+		assertSame(first, second);
+		assertEquals(1, delegate.evaluations.get());
+	}
+
+	@Test
+	public void bulkEvaluationComputesMissesOnly() {
+		CountingFlowFunctions delegate = new CountingFlowFunctions();
+		MemoizingFlowFunctions<String,JoinableFact,String> sut = new MemoizingFlowFunctions<String,JoinableFact,String>(delegate, 100);
+		FlowFunction<JoinableFact> function = sut.getNormalFlowFunction("a", "b");
+		function.computeTargets(new JoinableFact("x"));
+		assertEquals(ImmutableSet.of(new JoinableFact("x"), new JoinableFact("y")),
+				function.computeAllTargets(Arrays.asList(new JoinableFact("x"), new JoinableFact("y"))).keySet());
+		assertEquals(2, delegate.evaluations.get());
+		function.computeTargets(new JoinableFact("y"));
+		assertEquals(2, delegate.evaluations.get());
+	}
+
+	@Test
+	public void returnedFactsWithCallingContextAreNotShared() {
+		CountingFlowFunctions delegate = new CountingFlowFunctions();
+		MemoizingFlowFunctions<String,JoinableFact,String> sut = new MemoizingFlowFunctions<String,JoinableFact,String>(delegate, 100);
+		FlowFunction<JoinableFact> function = sut.getReturnFlowFunction("c", "m", "e", "r");
+		Set<JoinableFact> first = function.computeTargets(new JoinableFact("x"));
+		Set<JoinableFact> second = function.computeTargets(new JoinableFact("x"));
+		assertNotSame(first.iterator().next(), second.iterator().next());
+		assertEquals(2, delegate.evaluations.get());
+	}
+
+	@Test
+	public void rethrowsExceptionOfDelegate() {
+		MemoizingFlowFunctions<String,JoinableFact,String> sut = new MemoizingFlowFunctions<String,JoinableFact,String>(new CountingFlowFunctions(), 100);
+		try {
+			sut.getNormalFlowFunction("a", "b").computeTargets(new JoinableFact("fail"));
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("fail", e.getMessage());
+		}
+	}
+}
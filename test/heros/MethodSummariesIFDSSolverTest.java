@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static heros.utilities.TestHelper.*;
+import static org.junit.Assert.assertEquals;
+import heros.utilities.TestConfiguration;
+import heros.utilities.TestHelper;
+
+import org.junit.Test;
+
+/**
+ * Tests solving with preloaded end summaries. Preloading the summaries of each scenario is
+ * covered by the "methodSummaries" configuration of {@link IFDSSolverTest}.
+ */
+public class MethodSummariesIFDSSolverTest {
+
+	@Test
+	public void preloadedSummaryReplacesCallee() {
+		TestHelper helper = new TestHelper(new TestConfiguration("methodSummaries").reuseSummaries());
+		helper.method("bar",
+				startPoints("a"),
+				normalStmt("a", flow("0", "x")).succ("b"),
+				callSite("b").calls("foo", flow("x", "y")).retSite("c", flow("x", "x")));
+
+		helper.method("foo",
+				startPoints("d"),
+				normalStmt("d", flow("y", "y", "z")).succ("e"),
+				exitStmt("e").returns(over("b"), to("c"), flow("z", "u"), flow("y")));
+
+		helper.runSolver(false, "a");
+		helper.assertFlowFunctionsUnusedOnlyAt("d");
+		assertEquals(1, helper.solver().preloadedSummaryApplicationCount);
+	}
+}
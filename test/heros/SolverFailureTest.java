@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros;
+
+import static heros.utilities.TestHelper.*;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import heros.utilities.TestConfiguration;
+import heros.utilities.TestConfiguration.SolverKind;
+import heros.utilities.TestHelper;
+
+import org.junit.Test;
+
+/**
+ * Tests that the failure of a worker thread is propagated out of the solvers.
+ */
+public class SolverFailureTest {
+
+	private static void assertWorkerFailurePropagated(TestConfiguration configuration) {
+		TestHelper helper = new TestHelper(configuration);
+		//no flow function is expected for fact x at b, so the worker applying it fails
+		helper.method("foo",
+				startPoints("a"),
+				normalStmt("a", flow("0", "x")).succ("b"),
+				normalStmt("b", flow("0", "0")).succ("c"));
+		try {
+			helper.runSolver(false, "a");
+			fail("the solver must propagate the failure of a worker");
+		} catch(RuntimeException e) {
+			assertTrue(e.getCause() instanceof AssertionError);
+		}
+	}
+
+	@Test
+	public void reachabilitySolverPropagatesWorkerFailure() {
+		assertWorkerFailurePropagated(new TestConfiguration("reachability").solver(SolverKind.REACHABILITY));
+		assertWorkerFailurePropagated(new TestConfiguration("reachability, 4 threads").solver(SolverKind.REACHABILITY).numThreads(4));
+	}
+
+	@Test
+	public void bitSetSolverPropagatesWorkerFailure() {
+		assertWorkerFailurePropagated(new TestConfiguration("bitSet").solver(SolverKind.BIT_SET));
+		assertWorkerFailurePropagated(new TestConfiguration("bitSet, 4 threads").solver(SolverKind.BIT_SET).numThreads(4));
+	}
+}
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.edgefunc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import heros.EdgeFunction;
+import heros.EdgeFunctions;
+import heros.FlowFunction;
+import heros.FlowFunctions;
+import heros.InterproceduralCFG;
+import heros.MeetLattice;
+import heros.solver.IDESolver;
+import heros.template.DefaultIDETabulationProblem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Tests hash-consing edge functions, both in isolation and within a linear constant propagation.
+ */
+public class EdgeFunctionInternerTest {
+
+	private static final Long TOP = Long.MAX_VALUE;
+
+	private static final Long BOTTOM = Long.MIN_VALUE;
+
+	private static final String ZERO = "0";
+
+	private static int compositionCount;
+
+	@Before
+	public void resetCompositionCount() {
+		compositionCount = 0;
+	}
+
+	/**
+	 * The function <code>v -> a*v + b</code>, or the constant <code>b</code> if <code>a</code> is 0.
+	 */
+	private static class Linear implements EdgeFunction<Long> {
+		private final long a, b;
+
+		private Linear(long a, long b) {
+			this.a = a;
+			this.b = b;
+		}
+
+		public Long computeTarget(Long source) {
+			if (a == 0)
+				return b;
+			if (source.equals(TOP) || source.equals(BOTTOM))
+				return source;
+			return a * source + b;
+		}
+
+		public EdgeFunction<Long> composeWith(EdgeFunction<Long> secondFunction) {
+			compositionCount++;
+			if (secondFunction instanceof EdgeIdentity)
+				return this;
+			if (secondFunction instanceof Linear) {
+				Linear second = (Linear) secondFunction;
+				return new Linear(second.a * a, second.a * b + second.b);
+			}
+			return secondFunction;
+		}
+
+		public EdgeFunction<Long> meetWith(EdgeFunction<Long> otherFunction) {
+			if (otherFunction instanceof AllTop || otherFunction.equalTo(this))
+				return this;
+			if (otherFunction instanceof EdgeIdentity && a == 1 && b == 0)
+				return this;
+			return NonConstant.INSTANCE;
+		}
+
+		public boolean equalTo(EdgeFunction<Long> other) {
+			return equals(other);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Linear))
+				return false;
+			Linear other = (Linear) obj;
+			return a == other.a && b == other.b;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(a) + Long.hashCode(b);
+		}
+
+		@Override
+		public String toString() {
+			return a + "*v+" + b;
+		}
+	}
+
+	/**
+	 * Maps every value to the bottom element, i.e. to a value that is not constant.
+	 */
+	private static class NonConstant implements EdgeFunction<Long> {
+		private static final NonConstant INSTANCE = new NonConstant();
+
+		public Long computeTarget(Long source) {
+			return BOTTOM;
+		}
+
+		public EdgeFunction<Long> composeWith(EdgeFunction<Long> secondFunction) {
+			if (secondFunction instanceof Linear && ((Linear) secondFunction).a == 0)
+				return secondFunction;
+			return this;
+		}
+
+		public EdgeFunction<Long> meetWith(EdgeFunction<Long> otherFunction) {
+			return this;
+		}
+
+		public boolean equalTo(EdgeFunction<Long> other) {
+			return other == this;
+		}
+
+		@Override
+		public String toString() {
+			return "nonconstant";
+		}
+	}
+
+	/**
+	 * A single method:
+	 * <pre>
+	 * a: x = 1; y = 3; z = 3
+	 * b: x = 2*x + 1
+	 * c: if (...) goto b
+	 * d: y = y + 1; z = z + 1
+	 * e: return
+	 * </pre>
+	 */
+	private static class LinearConstants extends DefaultIDETabulationProblem<String, String, String, Long, InterproceduralCFG<String, String>> {
+
+		private static final ImmutableListMultimap<String, String> SUCCS = ImmutableListMultimap.<String, String>builder()
+				.put("a", "b").put("b", "c").put("c", "b").put("c", "d").put("d", "e").build();
+
+		private final boolean hashConsEdgeFunctions;
+
+		private LinearConstants(boolean hashConsEdgeFunctions) {
+			super(new InterproceduralCFG<String, String>() {
+				public String getMethodOf(String n) {
+					return "main";
+				}
+
+				public List<String> getPredsOf(String u) {
+					return SUCCS.inverse().get(u);
+				}
+
+				public List<String> getSuccsOf(String n) {
+					return SUCCS.get(n);
+				}
+
+				public Collection<String> getCalleesOfCallAt(String n) {
+					return Collections.emptySet();
+				}
+
+				public Collection<String> getCallersOf(String m) {
+					return Collections.emptySet();
+				}
+
+				public Set<String> getCallsFromWithin(String m) {
+					return Collections.emptySet();
+				}
+
+				public Collection<String> getStartPointsOf(String m) {
+					return Collections.singleton("a");
+				}
+
+				public Collection<String> getReturnSitesOfCallAt(String n) {
+					return Collections.emptySet();
+				}
+
+				public boolean isCallStmt(String stmt) {
+					return false;
+				}
+
+				public boolean isExitStmt(String stmt) {
+					return stmt.equals("e");
+				}
+
+				public boolean isStartPoint(String stmt) {
+					return stmt.equals("a");
+				}
+
+				public Set<String> allNonCallStartNodes() {
+					return ImmutableSet.of("b", "c", "d", "e");
+				}
+
+				public boolean isFallThroughSuccessor(String stmt, String succ) {
+					throw new UnsupportedOperationException();
+				}
+
+				public boolean isBranchTarget(String stmt, String succ) {
+					throw new UnsupportedOperationException();
+				}
+			});
+			this.hashConsEdgeFunctions = hashConsEdgeFunctions;
+		}
+
+		@Override
+		public Map<String, Set<String>> initialSeeds() {
+			return ImmutableMap.<String, Set<String>>of("a", Collections.singleton(zeroValue()));
+		}
+
+		@Override
+		protected String createZeroValue() {
+			return ZERO;
+		}
+
+		@Override
+		public int numThreads() {
+			return 1;
+		}
+
+		@Override
+		public boolean hashConsEdgeFunctions() {
+			return hashConsEdgeFunctions;
+		}
+
+		@Override
+		protected FlowFunctions<String, String, String> createFlowFunctionsFactory() {
+			return new FlowFunctions<String, String, String>() {
+				public FlowFunction<String> getNormalFlowFunction(final String curr, String succ) {
+					return new FlowFunction<String>() {
+						public Set<String> computeTargets(String source) {
+							if (curr.equals("a") && source.equals(ZERO))
+								return ImmutableSet.of(ZERO, "x", "y", "z");
+							return Collections.singleton(source);
+						}
+					};
+				}
+
+				public FlowFunction<String> getCallFlowFunction(String callStmt, String destinationMethod) {
+					throw new UnsupportedOperationException();
+				}
+
+				public FlowFunction<String> getReturnFlowFunction(String callSite, String calleeMethod, String exitStmt, String returnSite) {
+					throw new UnsupportedOperationException();
+				}
+
+				public FlowFunction<String> getCallToReturnFlowFunction(String callSite, String returnSite) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		protected EdgeFunctions<String, String, String, Long> createEdgeFunctionsFactory() {
+			return new EdgeFunctions<String, String, String, Long>() {
+				public EdgeFunction<Long> getNormalEdgeFunction(String curr, String currNode, String succ, String succNode) {
+					if (curr.equals("a") && currNode.equals(ZERO) && !succNode.equals(ZERO))
+						return new Linear(0, succNode.equals("x") ? 1 : 3);
+					if (curr.equals("b") && currNode.equals("x"))
+						return new Linear(2, 1);
+					if (curr.equals("d") && !currNode.equals(ZERO) && !currNode.equals("x"))
+						return new Linear(1, 1);
+					return EdgeIdentity.v();
+				}
+
+				public EdgeFunction<Long> getCallEdgeFunction(String callStmt, String srcNode, String destinationMethod, String destNode) {
+					throw new UnsupportedOperationException();
+				}
+
+				public EdgeFunction<Long> getReturnEdgeFunction(String callSite, String calleeMethod, String exitStmt, String exitNode, String returnSite, String retNode) {
+					throw new UnsupportedOperationException();
+				}
+
+				public EdgeFunction<Long> getCallToReturnEdgeFunction(String callStmt, String callNode, String returnSite, String returnSideNode) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		protected MeetLattice<Long> createMeetLattice() {
+			return new MeetLattice<Long>() {
+				public Long topElement() {
+					return TOP;
+				}
+
+				public Long bottomElement() {
+					return BOTTOM;
+				}
+
+				public Long meet(Long left, Long right) {
+					if (left.equals(TOP))
+						return right;
+					if (right.equals(TOP) || left.equals(right))
+						return left;
+					return BOTTOM;
+				}
+			};
+		}
+
+		@Override
+		protected EdgeFunction<Long> createAllTopFunction() {
+			return new AllTop<Long>(TOP);
+		}
+	}
+
+	@Test
+	public void composeIsMemoized() {
+		EdgeFunctionInterner<Long> sut = new EdgeFunctionInterner<Long>(16);
+		EdgeFunction<Long> first = sut.compose(new Linear(2, 1), new Linear(1, 3));
+		EdgeFunction<Long> second = sut.compose(new Linear(2, 1), new Linear(1, 3));
+		assertSame(first, second);
+		assertEquals(new Linear(2, 4), first);
+		assertEquals(1, compositionCount);
+	}
+
+	@Test
+	public void meetIsMemoized() {
+		EdgeFunctionInterner<Long> sut = new EdgeFunctionInterner<Long>(16);
+		EdgeFunction<Long> first = sut.meet(new Linear(0, 1), new Linear(0, 2));
+		assertSame(first, sut.meet(new Linear(0, 1), new Linear(0, 2)));
+		assertSame(NonConstant.INSTANCE, first);
+		assertSame(sut.intern(new Linear(0, 1)), sut.meet(new Linear(0, 1), new Linear(0, 1)));
+	}
+
+	@Test
+	public void resultsMatchSolverWithoutHashConsing() {
+		IDESolver<String, String, String, Long, InterproceduralCFG<String, String>> plain =
+				new IDESolver<String, String, String, Long, InterproceduralCFG<String, String>>(new LinearConstants(false));
+		plain.solve();
+		int plainCompositionCount = compositionCount;
+		compositionCount = 0;
+		IDESolver<String, String, String, Long, InterproceduralCFG<String, String>> hashConsed =
+				new IDESolver<String, String, String, Long, InterproceduralCFG<String, String>>(new LinearConstants(true));
+		hashConsed.solve();
+
+		assertEquals(ImmutableMap.of("x", BOTTOM, "y", 4L, "z", 4L), hashConsed.resultsAt("e"));
+		for (String stmt : ImmutableList.of("a", "b", "c", "d", "e"))
+			assertEquals(stmt, plain.resultsAt(stmt), hashConsed.resultsAt(stmt));
+		//y and z are composed with the same functions along the same statements
+		assertTrue(compositionCount + " < " + plainCompositionCount, compositionCount < plainCompositionCount);
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.flowfunc;
+
+import static heros.flowfunc.Compose.compose;
+import static heros.flowfunc.Union.union;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import heros.FlowFunction;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+public class FlowFunctionCombinatorsTest {
+
+	private static final String ZERO = "0";
+
+	private final FlowFunction<String> genA = new Gen<String>("a", ZERO);
+	private final FlowFunction<String> genB = new Gen<String>("b", ZERO);
+	private final FlowFunction<String> killA = new Kill<String>("a");
+	private final FlowFunction<String> transferBA = new Transfer<String>("b", "a");
+
+	@Test
+	public void emptyCombinators() {
+		assertSame(Identity.v(), compose());
+		assertSame(Identity.v(), union());
+		assertEquals(ImmutableSet.of("x"), compose().computeTargets("x"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void emptyCompositionIsIdentity() throws Exception {
+		Constructor<Compose> constructor = Compose.class.getDeclaredConstructor(FlowFunction[].class);
+		constructor.setAccessible(true);
+		Compose<String> empty = constructor.newInstance((Object) new FlowFunction[0]);
+		assertEquals(ImmutableSet.of("x"), empty.computeTargets("x"));
+	}
+
+	@Test
+	public void identityOperandsAreDropped() {
+		assertSame(genA, compose(Identity.<String>v(), genA, Identity.<String>v()));
+		assertSame(genA, union(Identity.<String>v(), genA));
+		assertSame(Identity.v(), compose(Identity.<String>v(), Identity.<String>v()));
+	}
+
+	@Test
+	public void killAllShortCircuitsComposition() {
+		assertSame(KillAll.v(), compose(genA, KillAll.<String>v(), genB));
+		assertSame(KillAll.v(), compose(compose(genA, genB), KillAll.<String>v()));
+	}
+
+	@Test
+	public void killAllOperandsOfUnions() {
+		assertSame(genA, union(KillAll.<String>v(), genA));
+		assertSame(KillAll.v(), union(KillAll.<String>v(), KillAll.<String>v()));
+		assertSame(KillAll.v(), union(KillAll.<String>v(), Identity.<String>v()));
+	}
+
+	@Test
+	public void nestedCombinatorsAreFlattened() throws Exception {
+		FlowFunction<String> composition = compose(compose(genA, killA), compose(transferBA, genB));
+		assertEquals(4, operands(composition).length);
+		assertEquals(ImmutableSet.of(ZERO, "b"), composition.computeTargets(ZERO));
+		assertTrue(composition.computeTargets("b").isEmpty());
+		assertEquals(ImmutableSet.of("c"), composition.computeTargets("c"));
+
+		FlowFunction<String> union = union(union(genA, killA), union(transferBA, genB));
+		assertEquals(4, operands(union).length);
+		assertEquals(ImmutableSet.of(ZERO, "a", "b"), union.computeTargets(ZERO));
+		assertEquals(ImmutableSet.of("a", "b"), union.computeTargets("a"));
+	}
+
+	@Test
+	public void duplicateUnionOperandsAreDropped() throws Exception {
+		FlowFunction<String> union = union(genA, killA, union(genA, killA), killA);
+		assertEquals(2, operands(union).length);
+		assertSame(union(genA, killA).getClass(), union.getClass());
+	}
+
+	@Test
+	public void singleContributorResultIsShared() {
+		Set<String> zeroTargets = genA.computeTargets(ZERO);
+		//killA contributes nothing for "a" and only the same fact as genA otherwise
+		assertSame(zeroTargets, union(genA, killA).computeTargets(ZERO));
+		assertSame(zeroTargets, union(KillAll.<String>v(), genA, new Kill<String>(ZERO)).computeTargets(ZERO));
+		//the composition passes the single fact of killA straight on to genA
+		assertSame(zeroTargets, compose(killA, genA).computeTargets(ZERO));
+	}
+
+	@Test
+	public void resultsAreImmutable() {
+		Set<String> shared = union(genA, killA).computeTargets(ZERO);
+		assertUnmodifiable(shared);
+		assertUnmodifiable(compose(killA, genA).computeTargets(ZERO));
+		assertUnmodifiable(union(killA, Identity.<String>v()).computeTargets("a"));
+		assertUnmodifiable(compose(genA, killA).computeTargets("a"));
+
+		//a result that merges the targets of several functions leaves their results untouched
+		Set<String> merged = union(genA, genB).computeTargets(ZERO);
+		assertEquals(ImmutableSet.of(ZERO, "a", "b"), merged);
+		assertEquals(ImmutableSet.of(ZERO, "a"), genA.computeTargets(ZERO));
+		assertEquals(ImmutableSet.of(ZERO, "b"), genB.computeTargets(ZERO));
+		assertSame(shared, genA.computeTargets(ZERO));
+	}
+
+	private static void assertUnmodifiable(Set<String> targets) {
+		try {
+			targets.add("z");
+			fail("the result must not be modifiable: " + targets);
+		} catch(UnsupportedOperationException e) {
+			assertTrue(!targets.contains("z"));
+		}
+	}
+
+	private static FlowFunction<?>[] operands(FlowFunction<?> function) throws Exception {
+		Field funcs = function.getClass().getDeclaredField("funcs");
+		funcs.setAccessible(true);
+		return (FlowFunction<?>[]) funcs.get(function);
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class CompactMapTest {
+
+	//sizes around the inline entries (2) and the linear scan limit (8)
+	private static final int[] SIZES = {0, 1, 2, 3, 8, 9, 10, 17, 100};
+
+	@Test
+	public void putGetAndOverwrite() {
+		for(int size: SIZES) {
+			CompactMap<Integer,String> sut = new CompactMap<Integer,String>();
+			for(int i=0; i<size; i++)
+				assertNull(sut.put(i, "a" + i));
+			for(int i=0; i<size; i++)
+				assertEquals("a" + i, sut.put(i, "b" + i));
+			assertEquals(size, sut.size());
+			for(int i=0; i<size; i++)
+				assertEquals("b" + i, sut.get(i));
+			assertNull(sut.get(size));
+			assertFalse(sut.containsKey(size));
+		}
+	}
+
+	@Test
+	public void iteratesInInsertionOrder() {
+		for(int size: SIZES) {
+			CompactMap<Integer,Integer> sut = new CompactMap<Integer,Integer>();
+			for(int i=size-1; i>=0; i--)
+				sut.put(i, i);
+			assertEquals(expectedKeys(size), Lists.newArrayList(sut.keySet()));
+		}
+	}
+
+	@Test
+	public void removePreservesOrderOfRemainingEntries() {
+		for(int size: SIZES) {
+			CompactMap<Integer,Integer> sut = new CompactMap<Integer,Integer>();
+			LinkedHashMap<Integer,Integer> expected = new LinkedHashMap<Integer,Integer>();
+			for(int i=0; i<size; i++) {
+				sut.put(i, i);
+				expected.put(i, i);
+			}
+			for(int i=0; i<size; i+=2)
+				assertEquals(expected.remove(i), sut.remove(i));
+			assertNull(sut.remove(0));
+			assertEquals(Lists.newArrayList(expected.entrySet()), Lists.newArrayList(sut.entrySet()));
+			//re-added keys go to the end
+			for(int i=0; i<size; i+=2) {
+				sut.put(i, -i);
+				expected.put(i, -i);
+			}
+			assertEquals(Lists.newArrayList(expected.entrySet()), Lists.newArrayList(sut.entrySet()));
+			for(int i=0; i<size; i++)
+				assertEquals(expected.get(i), sut.get(i));
+		}
+	}
+
+	@Test
+	public void iteratorRemove() {
+		for(int size: SIZES) {
+			CompactMap<Integer,Integer> sut = new CompactMap<Integer,Integer>();
+			for(int i=0; i<size; i++)
+				sut.put(i, i);
+			for(Iterator<Integer> iter = sut.keySet().iterator(); iter.hasNext(); )
+				if(iter.next() % 3 != 1)
+					iter.remove();
+			for(int i=0; i<size; i++)
+				assertEquals(i % 3 == 1, sut.containsKey(i));
+			for(Iterator<Integer> iter = sut.values().iterator(); iter.hasNext(); ) {
+				iter.next();
+				iter.remove();
+			}
+			assertTrue(sut.isEmpty());
+			assertFalse(sut.keySet().iterator().hasNext());
+		}
+	}
+
+	@Test
+	public void entriesWriteThrough() {
+		for(int size: SIZES) {
+			CompactMap<Integer,Integer> sut = new CompactMap<Integer,Integer>();
+			for(int i=0; i<size; i++)
+				sut.put(i, i);
+			for(Map.Entry<Integer,Integer> entry: sut.entrySet())
+				entry.setValue(-entry.getKey());
+			for(int i=0; i<size; i++)
+				assertEquals(Integer.valueOf(-i), sut.get(i));
+			assertEquals(sut, new CompactMap<Integer,Integer>(sut));
+		}
+	}
+
+	@Test
+	public void behavesLikeLinkedHashMap() {
+		Random random = new Random(42);
+		for(int range: new int[] {3, 8, 12, 64}) {
+			CompactMap<Integer,Integer> sut = new CompactMap<Integer,Integer>();
+			LinkedHashMap<Integer,Integer> expected = new LinkedHashMap<Integer,Integer>();
+			for(int i=0; i<10000; i++) {
+				int key = random.nextInt(range);
+				if(random.nextInt(3)==0)
+					assertEquals(expected.remove(key), sut.remove(key));
+				else
+					assertEquals(expected.put(key, i), sut.put(key, i));
+				assertEquals(expected.size(), sut.size());
+				if(i % 100 == 0)
+					assertEquals(Lists.newArrayList(expected.entrySet()), Lists.newArrayList(sut.entrySet()));
+			}
+			for(int key=0; key<range; key++)
+				assertEquals(expected.get(key), sut.get(key));
+		}
+	}
+
+	private static List<Integer> expectedKeys(int size) {
+		List<Integer> result = Lists.newArrayList();
+		for(int i=size-1; i>=0; i--)
+			result.add(i);
+		return result;
+	}
+}
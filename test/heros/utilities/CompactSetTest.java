@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class CompactSetTest {
+
+	//sizes around the inline entries (2) and the linear scan limit (8) of the backing map
+	private static final int[] SIZES = {0, 1, 2, 3, 8, 9, 10, 17, 100};
+
+	@Test
+	public void addContainsAndRemove() {
+		for(int size: SIZES) {
+			CompactSet<Integer> sut = new CompactSet<Integer>();
+			for(int i=0; i<size; i++)
+				assertTrue(sut.add(i));
+			for(int i=0; i<size; i++)
+				assertFalse(sut.add(i));
+			assertEquals(size, sut.size());
+			for(int i=0; i<size; i+=2)
+				assertTrue(sut.remove(i));
+			assertFalse(sut.remove(0));
+			for(int i=0; i<size; i++)
+				assertEquals(i % 2 == 1, sut.contains(i));
+			assertFalse(sut.contains(size));
+		}
+	}
+
+	@Test
+	public void iteratesInInsertionOrderAcrossRemovals() {
+		for(int size: SIZES) {
+			CompactSet<Integer> sut = new CompactSet<Integer>();
+			LinkedHashSet<Integer> expected = new LinkedHashSet<Integer>();
+			for(int i=size-1; i>=0; i--) {
+				sut.add(i);
+				expected.add(i);
+			}
+			assertEquals(Lists.newArrayList(expected), Lists.newArrayList(sut));
+			for(int i=0; i<size; i+=3) {
+				sut.remove(i);
+				expected.remove(i);
+			}
+			for(int i=0; i<size; i+=6) {
+				sut.add(i);
+				expected.add(i);
+			}
+			assertEquals(Lists.newArrayList(expected), Lists.newArrayList(sut));
+			assertEquals(expected, new CompactSet<Integer>(expected));
+		}
+	}
+
+	@Test
+	public void iteratorRemove() {
+		for(int size: SIZES) {
+			CompactSet<Integer> sut = new CompactSet<Integer>();
+			for(int i=0; i<size; i++)
+				sut.add(i);
+			for(Iterator<Integer> iter = sut.iterator(); iter.hasNext(); )
+				if(iter.next() % 2 == 0)
+					iter.remove();
+			for(int i=0; i<size; i++)
+				assertEquals(i % 2 == 1, sut.contains(i));
+			assertEquals(size / 2, sut.size());
+		}
+	}
+
+	@Test
+	public void behavesLikeLinkedHashSet() {
+		Random random = new Random(42);
+		for(int range: new int[] {3, 8, 12, 64}) {
+			CompactSet<Integer> sut = new CompactSet<Integer>();
+			LinkedHashSet<Integer> expected = new LinkedHashSet<Integer>();
+			for(int i=0; i<10000; i++) {
+				int element = random.nextInt(range);
+				if(random.nextInt(3)==0)
+					assertEquals(expected.remove(element), sut.remove(element));
+				else
+					assertEquals(expected.add(element), sut.add(element));
+				assertEquals(expected.size(), sut.size());
+			}
+			assertEquals(Lists.newArrayList(expected), Lists.newArrayList(sut));
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ * 
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import heros.FactDomain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Numbers objects in the order in which they are first queried.
+ */
+public class DenseNumbering<T> implements FactDomain<T> {
+
+	private final ConcurrentMap<T, Integer> numbers = new ConcurrentHashMap<T, Integer>();
+	private final ConcurrentMap<Integer, T> objects = new ConcurrentHashMap<Integer, T>();
+	private final AtomicInteger nextNumber = new AtomicInteger();
+
+	@Override
+	public int numberOf(T object) {
+		Integer number = numbers.get(object);
+		if(number == null) {
+			Integer newNumber = nextNumber.getAndIncrement();
+			number = numbers.putIfAbsent(object, newNumber);
+			if(number == null) {
+				number = newNumber;
+				objects.put(number, object);
+			}
+		}
+		return number;
+	}
+
+	/**
+	 * Returns whether the given object has been numbered.
+	 */
+	public boolean isNumbered(T object) {
+		return numbers.containsKey(object);
+	}
+
+	@Override
+	public T factOf(int number) {
+		return objects.get(number);
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import heros.Numbering;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NumberedMapTest {
+
+	/**
+	 * A key that can only be compared through its number.
+	 */
+	private static class Key {
+		private final int number;
+
+		private Key(int number) {
+			this.number = number;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			throw new AssertionError("keys must be compared by number");
+		}
+
+		@Override
+		public int hashCode() {
+			throw new AssertionError("keys must be compared by number");
+		}
+	}
+
+	private static final Numbering<Key> NUMBERING = new Numbering<Key>() {
+		@Override
+		public int numberOf(Key key) {
+			return key.number;
+		}
+	};
+
+	@Test
+	public void putGetAndOverwrite() {
+		NumberedMap<Key,String> sut = new NumberedMap<Key,String>(NUMBERING);
+		assertNull(sut.put(new Key(1), "a"));
+		assertNull(sut.put(new Key(2), "b"));
+		assertEquals("a", sut.put(new Key(1), "c"));
+		assertEquals(2, sut.size());
+		assertEquals("c", sut.get(new Key(1)));
+		assertEquals("b", sut.get(new Key(2)));
+		assertNull(sut.get(new Key(3)));
+		assertFalse(sut.containsKey(new Key(3)));
+	}
+
+	@Test
+	public void removeAcrossRehashes() {
+		NumberedMap<Key,Integer> sut = new NumberedMap<Key,Integer>(NUMBERING);
+		for(int i=0; i<100; i++)
+			sut.put(new Key(i * 16), i);
+		for(int i=0; i<100; i+=2)
+			assertEquals(Integer.valueOf(i), sut.remove(new Key(i * 16)));
+		assertNull(sut.remove(new Key(0)));
+		assertEquals(50, sut.size());
+		for(int i=0; i<100; i++)
+			assertEquals(i % 2 == 1, sut.containsKey(new Key(i * 16)));
+	}
+
+	@Test
+	public void iterationVisitsAllEntries() {
+		NumberedMap<Key,Integer> sut = new NumberedMap<Key,Integer>(NUMBERING);
+		for(int i=0; i<20; i++)
+			sut.put(new Key(i), i);
+		int sum = 0;
+		for(Map.Entry<Key,Integer> entry: sut.entrySet()) {
+			assertEquals(entry.getKey().number, entry.getValue().intValue());
+			entry.setValue(-entry.getValue());
+			sum += entry.getKey().number;
+		}
+		assertEquals(190, sum);
+		assertEquals(Integer.valueOf(-7), sut.get(new Key(7)));
+		sut.clear();
+		assertTrue(sut.isEmpty());
+		assertFalse(sut.entrySet().iterator().hasNext());
+	}
+
+	@Test
+	public void behavesLikeHashMap() {
+		Random random = new Random(42);
+		NumberedMap<Key,Integer> sut = new NumberedMap<Key,Integer>(NUMBERING);
+		Map<Integer,Integer> expected = new HashMap<Integer,Integer>();
+		for(int i=0; i<10000; i++) {
+			int number = random.nextInt(64);
+			if(random.nextInt(3)==0)
+				assertEquals(expected.remove(number), sut.remove(new Key(number)));
+			else
+				assertEquals(expected.put(number, i), sut.put(new Key(number), i));
+			assertEquals(expected.size(), sut.size());
+		}
+		for(int number=0; number<64; number++)
+			assertEquals(expected.get(number), sut.get(new Key(number)));
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Heros contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v2.1
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.html
+ *
+ * Contributors:
+ *     Heros contributors - initial API and implementation
+ ******************************************************************************/
+package heros.utilities;
+
+import heros.InterproceduralCFG;
+import heros.WorklistOrdering;
+import heros.solver.BitSetIFDSSolver;
+import heros.solver.IFDSSolver;
+import heros.solver.ReachabilityIFDSSolver;
+
+import java.io.File;
+
+import com.google.common.base.Function;
+
+/**
+ * The solver and solver options with which a {@link TestHelper} runs its tabulation problem.
+ */
+public class TestConfiguration {
+
+	public static enum SolverKind {
+		/** The {@link IFDSSolver}. */
+		IFDS,
+		/** The {@link ReachabilityIFDSSolver}. */
+		REACHABILITY,
+		/**
+		 * The {@link BitSetIFDSSolver}, with bit-vector flow functions that apply the expected
+		 * flow functions to each fact of a set.
+		 */
+		BIT_SET
+	}
+
+	/**
+	 * Checks the effect of a configuration's options after a {@link TestHelper} ran the solver.
+	 */
+	public static interface Verification {
+		void verify(TestHelper helper);
+	}
+
+	private final String name;
+	private Verification verification = null;
+	SolverKind solverKind = SolverKind.IFDS;
+	int numThreads = 1;
+	boolean workStealing = false;
+	int pathEdgeBatchSize = 1;
+	boolean methodAffinity = false;
+	int jumpFunctionCollectionInterval = 0;
+	File jumpFunctionDirectory = null;
+	int hotJumpFunctionRows = 100000;
+	Function<InterproceduralCFG<Statement, TestMethod>, WorklistOrdering<Statement, JoinableFact>> worklistOrdering = null;
+	boolean numbered = false;
+	boolean internFacts = false;
+	boolean hashConsEdgeFunctions = false;
+	long flowFunctionResultCacheSize = 0;
+	boolean sparse = false;
+	boolean collapseIdentityRuns = false;
+	boolean perEdgeNormalFlowHook = false;
+	boolean reuseSummaries = false;
+	String[] changedMethods = null;
+
+	public TestConfiguration(String name) {
+		this.name = name;
+	}
+
+	public TestConfiguration solver(SolverKind solverKind) {
+		this.solverKind = solverKind;
+		return this;
+	}
+
+	public TestConfiguration numThreads(int numThreads) {
+		this.numThreads = numThreads;
+		return this;
+	}
+
+	public TestConfiguration workStealing() {
+		this.workStealing = true;
+		return this;
+	}
+
+	public TestConfiguration pathEdgeBatchSize(int pathEdgeBatchSize) {
+		this.pathEdgeBatchSize = pathEdgeBatchSize;
+		return this;
+	}
+
+	public TestConfiguration methodAffinity() {
+		this.methodAffinity = true;
+		return this;
+	}
+
+	public TestConfiguration jumpFunctionCollectionInterval(int jumpFunctionCollectionInterval) {
+		this.jumpFunctionCollectionInterval = jumpFunctionCollectionInterval;
+		return this;
+	}
+
+	public TestConfiguration jumpFunctionDirectory(File jumpFunctionDirectory, int hotJumpFunctionRows) {
+		this.jumpFunctionDirectory = jumpFunctionDirectory;
+		this.hotJumpFunctionRows = hotJumpFunctionRows;
+		return this;
+	}
+
+	public TestConfiguration worklistOrdering(Function<InterproceduralCFG<Statement, TestMethod>, WorklistOrdering<Statement, JoinableFact>> worklistOrdering) {
+		this.worklistOrdering = worklistOrdering;
+		return this;
+	}
+
+	public TestConfiguration numbered() {
+		this.numbered = true;
+		return this;
+	}
+
+	public TestConfiguration internFacts() {
+		this.internFacts = true;
+		return this;
+	}
+
+	public TestConfiguration hashConsEdgeFunctions() {
+		this.hashConsEdgeFunctions = true;
+		return this;
+	}
+
+	public TestConfiguration flowFunctionResultCacheSize(long flowFunctionResultCacheSize) {
+		this.flowFunctionResultCacheSize = flowFunctionResultCacheSize;
+		return this;
+	}
+
+	public TestConfiguration sparse() {
+		this.sparse = true;
+		return this;
+	}
+
+	public TestConfiguration collapseIdentityRuns() {
+		this.collapseIdentityRuns = true;
+		return this;
+	}
+
+	/**
+	 * Runs a solver that overrides the per-edge hook for normal flow functions.
+	 */
+	public TestConfiguration perEdgeNormalFlowHook() {
+		this.perEdgeNormalFlowHook = true;
+		return this;
+	}
+
+	/**
+	 * Solves once more with the persisted end summaries of a first run preloaded.
+	 */
+	public TestConfiguration reuseSummaries() {
+		this.reuseSummaries = true;
+		return this;
+	}
+
+	/**
+	 * Updates the solver's results after solving, as if the given methods had changed, or all
+	 * methods if none are given.
+	 */
+	public TestConfiguration updateAfterSolving(String... changedMethods) {
+		this.changedMethods = changedMethods;
+		return this;
+	}
+
+	public TestConfiguration verifiedBy(Verification verification) {
+		this.verification = verification;
+		return this;
+	}
+
+	void verify(TestHelper helper) {
+		if (verification != null)
+			verification.verify(helper);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
@@ -10,15 +10,29 @@
  ******************************************************************************/
 package heros.utilities;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import heros.BitSetFlowFunction;
+import heros.BitSetFlowFunctions;
+import heros.BitSetTabulationProblem;
+import heros.FactDomain;
 import heros.FlowFunction;
 import heros.FlowFunctions;
 import heros.IFDSTabulationProblem;
 import heros.InterproceduralCFG;
+import heros.NumberedInterproceduralCFG;
+import heros.Numbering;
+import heros.RelevanceOracle;
+import heros.SummaryCodec;
+import heros.WorklistOrdering;
 import heros.fieldsens.AccessPathHandler;
 import heros.fieldsens.FlowFunction.ConstrainedFact;
 import heros.solver.BiDiIFDSSolver;
+import heros.solver.BitSetIFDSSolver;
+import heros.solver.CountingExecutor;
 import heros.solver.IFDSSolver;
+import heros.solver.MethodSummaries;
+import heros.solver.ReachabilityIFDSSolver;
 import heros.utilities.Edge.Call2ReturnEdge;
 import heros.utilities.Edge.CallEdge;
 import heros.utilities.Edge.EdgeVisitor;
@@ -26,21 +40,33 @@ import heros.utilities.Edge.NormalEdge;
 import heros.utilities.Edge.ReturnEdge;
 import heros.utilities.EdgeBuilder.NormalStmtBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Multiset;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 
 public class TestHelper {
@@ -51,7 +77,97 @@ public class TestHelper {
 	private List<Call2ReturnEdge> call2retEdges = Lists.newLinkedList();
 	private List<ReturnEdge> returnEdges = Lists.newLinkedList();
 	private Map<Statement, TestMethod> stmt2method = Maps.newHashMap();
-	private Multiset<ExpectedFlowFunction<JoinableFact>> remainingFlowFunctions = HashMultiset.create();
+	private Multiset<ExpectedFlowFunction<JoinableFact>> remainingFlowFunctions = ConcurrentHashMultiset.create();
+	private final TestConfiguration configuration;
+	private MethodSummaries methodSummaries = null;
+	private Set<Statement> identityStmts = Sets.newConcurrentHashSet();
+	private Multimap<Statement, JoinableFact> evaluatedFacts = Multimaps.synchronizedListMultimap(ArrayListMultimap.<Statement, JoinableFact>create());
+	private AtomicInteger batchedEvaluationCount = new AtomicInteger();
+	private AtomicInteger perEdgeNormalFlowCount = new AtomicInteger();
+	private DenseNumbering<JoinableFact> factNumbering = null;
+	private CountingExecutor executor = null;
+	private IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> solver = null;
+	private ReachabilityIFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> reachabilitySolver = null;
+	private BitSetIFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> bitSetSolver = null;
+
+	public TestHelper() {
+		this(new TestConfiguration("default"));
+	}
+
+	public TestHelper(TestConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Returns the {@link IFDSSolver} last run by {@link #runSolver(boolean, String...)}, or <code>null</code>
+	 * if the configuration selects another solver.
+	 */
+	public IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> solver() {
+		return solver;
+	}
+
+	/**
+	 * Returns the executor last created by the {@link IFDSSolver}.
+	 */
+	public CountingExecutor executor() {
+		return executor;
+	}
+
+	/**
+	 * Returns the fact numbering passed to the solver, or <code>null</code> if facts are not numbered.
+	 */
+	public DenseNumbering<JoinableFact> factNumbering() {
+		return factNumbering;
+	}
+
+	/**
+	 * Returns the facts that hold at the given statement according to the solver last run. The
+	 * {@link IFDSSolver} does not compute values in these tests, so only the other solvers report facts.
+	 */
+	public Set<JoinableFact> resultsAt(Statement stmt) {
+		if(reachabilitySolver!=null)
+			return reachabilitySolver.ifdsResultsAt(stmt);
+		if(bitSetSolver!=null)
+			return bitSetSolver.ifdsResultsAt(stmt);
+		return solver.ifdsResultsAt(stmt);
+	}
+
+	/**
+	 * Returns, by statement, the facts to which the solver applied a flow function of an edge leaving
+	 * that statement, one element per application.
+	 */
+	public Multimap<Statement, JoinableFact> evaluatedFacts() {
+		return evaluatedFacts;
+	}
+
+	/**
+	 * Returns how often the solver applied a flow function to more than one fact in a single call.
+	 */
+	public int batchedEvaluationCount() {
+		return batchedEvaluationCount.get();
+	}
+
+	/**
+	 * Returns how often the solver called its per-edge normal flow hook, if the configuration
+	 * overrides that hook.
+	 */
+	public int perEdgeNormalFlowCount() {
+		return perEdgeNormalFlowCount.get();
+	}
+
+	/**
+	 * Returns whether any method of the test calls another method.
+	 */
+	public boolean hasCalls() {
+		return !callEdges.isEmpty();
+	}
+
+	/**
+	 * Returns the statements the solver asked about that are identity statements.
+	 */
+	public Set<Statement> identityStatements() {
+		return identityStmts;
+	}
 
 	public MethodHelper method(String methodName, Statement[] startingPoints, EdgeBuilder... edgeBuilders) {
 		MethodHelper methodHelper = new MethodHelper(new TestMethod(methodName));
@@ -139,7 +255,13 @@ public class TestHelper {
 	}
 
 	public InterproceduralCFG<Statement, TestMethod> buildIcfg() {
-		return new InterproceduralCFG<Statement, TestMethod>() {
+		final Numbering<Statement> stmtNumbering = new DenseNumbering<Statement>();
+		return new NumberedInterproceduralCFG<Statement, TestMethod>() {
+
+			@Override
+			public int numberOf(Statement stmt) {
+				return stmtNumbering.numberOf(stmt);
+			}
 
 			@Override
 			public boolean isStartPoint(Statement stmt) {
@@ -260,10 +382,29 @@ public class TestHelper {
 	}
 
 	public void assertAllFlowFunctionsUsed() {
+		if (configuration.collapseIdentityRuns) {
+			//the solver passes facts across identity statements without using their flow functions
+			for (ExpectedFlowFunction<JoinableFact> ff : Sets.newHashSet(remainingFlowFunctions.elementSet())) {
+				if (ff.edge instanceof NormalEdge && identityStmts.contains(((NormalEdge) ff.edge).unit))
+					remainingFlowFunctions.setCount(ff, 0);
+			}
+		}
 		assertTrue("These Flow Functions were expected, but never used: \n" + Joiner.on(",\n").join(remainingFlowFunctions),
 				remainingFlowFunctions.isEmpty());
 	}
 
+	public void assertFlowFunctionsUnusedOnlyAt(String... stmts) {
+		Set<Statement> expected = Sets.newHashSet();
+		for (String stmt : stmts)
+			expected.add(new Statement(stmt));
+		Set<Statement> unused = Sets.newHashSet();
+		for (ExpectedFlowFunction<JoinableFact> ff : remainingFlowFunctions) {
+			assertTrue("Flow Function was expected to be used: " + ff, ff.edge instanceof NormalEdge);
+			unused.add(((NormalEdge) ff.edge).unit);
+		}
+		assertEquals(expected, unused);
+	}
+
 	private void addOrVerifyStmt2Method(Statement stmt, TestMethod m) {
 		if (stmt2method.containsKey(stmt) && !stmt2method.get(stmt).equals(m)) {
 			throw new IllegalArgumentException("Statement " + stmt + " is used in multiple TestMethods: " + m + " and " + stmt2method.get(stmt));
@@ -378,10 +519,34 @@ public class TestHelper {
 				throw new AssertionError(String.format("No Flow Function expected for call %s -> %s", callStmt, destinationMethod));
 			}
 
+			@Override
+			public boolean isIdentity(Statement stmt) {
+				if (!configuration.collapseIdentityRuns)
+					return false;
+				//a statement is an identity if its only normal flow function passes each fact on unchanged
+				NormalEdge normalEdge = null;
+				for (NormalEdge edge : normalEdges) {
+					if (edge.unit.equals(stmt)) {
+						if (normalEdge != null)
+							return false;
+						normalEdge = edge;
+					}
+				}
+				if (normalEdge == null)
+					return false;
+				for (ExpectedFlowFunction<JoinableFact> ff : normalEdge.flowFunctions) {
+					if (ff.targets.length != 1 || !ff.targets[0].equals(ff.source))
+						return false;
+				}
+				identityStmts.add(stmt);
+				return true;
+			}
+
 			private FlowFunction<JoinableFact> createFlowFunction(final Edge edge) {
 				return new FlowFunction<JoinableFact>() {
 					@Override
 					public Set<JoinableFact> computeTargets(JoinableFact source) {
+						evaluatedFacts.put(sourceStmtOf(edge), source);
 						for (ExpectedFlowFunction<JoinableFact> ff : edge.flowFunctions) {
 							if (ff.source.equals(source)) {
 								if (remainingFlowFunctions.remove(ff)) {
@@ -393,19 +558,196 @@ public class TestHelper {
 						}
 						throw new AssertionError(String.format("Fact '%s' was not expected at edge '%s'", source, edge));
 					}
+
+					@Override
+					public SetMultimap<JoinableFact, JoinableFact> computeAllTargets(Collection<JoinableFact> sources) {
+						if (sources.size() > 1)
+							batchedEvaluationCount.incrementAndGet();
+						return FlowFunction.super.computeAllTargets(sources);
+					}
 				};
 			}
 		};
 	}
 
+	private static Statement sourceStmtOf(Edge edge) {
+		final Statement[] result = new Statement[1];
+		edge.accept(new EdgeVisitor() {
+			@Override
+			public void visit(NormalEdge edge) {
+				result[0] = edge.unit;
+			}
+
+			@Override
+			public void visit(CallEdge edge) {
+				result[0] = edge.callSite;
+			}
+
+			@Override
+			public void visit(Call2ReturnEdge edge) {
+				result[0] = edge.callSite;
+			}
+
+			@Override
+			public void visit(ReturnEdge edge) {
+				result[0] = edge.exitStmt;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the flow function that the relevance oracle of a sparse configuration lets the solver
+	 * skip for the given fact at the given statement, i.e. the only normal flow function of the statement
+	 * if it passes the fact on unchanged, or <code>null</code> if the statement is relevant for the fact.
+	 */
+	public ExpectedFlowFunction<JoinableFact> skippedFlowFunction(Statement stmt, JoinableFact fact) {
+		NormalEdge normalEdge = null;
+		for (NormalEdge edge : normalEdges) {
+			if (edge.unit.equals(stmt)) {
+				if (normalEdge != null)
+					return null;
+				normalEdge = edge;
+			}
+		}
+		if (normalEdge == null)
+			return null;
+		for (ExpectedFlowFunction<JoinableFact> ff : normalEdge.flowFunctions) {
+			if (ff.source.equals(fact))
+				return ff.targets.length == 1 && ff.targets[0].equals(fact) ? ff : null;
+		}
+		return null;
+	}
+
+	private void expectSkippedFlowFunctionsUnused() {
+		for (NormalEdge edge : normalEdges)
+			for (ExpectedFlowFunction<JoinableFact> ff : edge.flowFunctions)
+				if (skippedFlowFunction(edge.unit, ff.source) == ff)
+					remainingFlowFunctions.setCount(ff, 0);
+	}
+
 	public void runSolver(final boolean followReturnsPastSeeds, final String...initialSeeds) {
-		IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> solver =
-				new IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>(
-				createTabulationProblem(followReturnsPastSeeds, initialSeeds));
+		if (configuration.sparse)
+			expectSkippedFlowFunctionsUnused();
+		switch (configuration.solverKind) {
+		case BIT_SET:
+			bitSetSolver = new BitSetIFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>(
+					createBitSetTabulationProblem(followReturnsPastSeeds, initialSeeds));
+			bitSetSolver.solve();
+			assertAllFlowFunctionsUsed();
+			break;
+		case REACHABILITY:
+			reachabilitySolver = new ReachabilityIFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>(
+					createTabulationProblem(followReturnsPastSeeds, initialSeeds));
+			reachabilitySolver.solve();
+			assertAllFlowFunctionsUsed();
+			break;
+		default:
+			runIFDSSolver(followReturnsPastSeeds, initialSeeds);
+		}
+		configuration.verify(this);
+	}
+
+	private void runIFDSSolver(final boolean followReturnsPastSeeds, final String...initialSeeds) {
+		solver = createSolver(followReturnsPastSeeds, initialSeeds);
+
+		if (configuration.reuseSummaries) {
+			Multiset<ExpectedFlowFunction<JoinableFact>> expectedFlowFunctions = HashMultiset.create(remainingFlowFunctions);
+			solver.solve();
+			assertAllFlowFunctionsUsed();
+
+			//solve once more with the persisted summaries; flow functions within summarized callees are not used then
+			methodSummaries = persistAndReload(solver.exportSummaries());
+			solver.dispose();
+			remainingFlowFunctions.addAll(expectedFlowFunctions);
+			solver = createSolver(followReturnsPastSeeds, initialSeeds);
+			solver.solve();
+			solver.dispose();
+			return;
+		}
+
+		if (configuration.changedMethods != null) {
+			Multiset<ExpectedFlowFunction<JoinableFact>> expectedFlowFunctions = HashMultiset.create(remainingFlowFunctions);
+			solver.solve();
+			assertAllFlowFunctionsUsed();
+
+			//flow functions of unaffected methods are not used again
+			remainingFlowFunctions.addAll(expectedFlowFunctions);
+			Set<TestMethod> changed = Sets.newHashSet();
+			for (String changedMethod : configuration.changedMethods)
+				changed.add(new TestMethod(changedMethod));
+			if (changed.isEmpty())
+				changed.addAll(stmt2method.values());
+			solver.update(changed);
+			solver.dispose();
+			if (configuration.changedMethods.length == 0)
+				assertAllFlowFunctionsUsed();
+			return;
+		}
 
 		solver.solve();
+		solver.dispose();
 		assertAllFlowFunctionsUsed();
 	}
+
+	private IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> createSolver(final boolean followReturnsPastSeeds, final String[] initialSeeds) {
+		if (configuration.perEdgeNormalFlowHook) {
+			return new IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>(
+					createTabulationProblem(followReturnsPastSeeds, initialSeeds)) {
+				@Override
+				protected Set<JoinableFact> computeNormalFlowFunction(FlowFunction<JoinableFact> flowFunction, JoinableFact d1, JoinableFact d2) {
+					perEdgeNormalFlowCount.incrementAndGet();
+					return super.computeNormalFlowFunction(flowFunction, d1, d2);
+				}
+			};
+		}
+		return new IFDSSolver<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>(
+				createTabulationProblem(followReturnsPastSeeds, initialSeeds)) {
+			@Override
+			protected CountingExecutor getExecutor() {
+				TestHelper.this.executor = super.getExecutor();
+				return TestHelper.this.executor;
+			}
+		};
+	}
+
+	private static MethodSummaries persistAndReload(MethodSummaries summaries) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			summaries.write(out);
+			return MethodSummaries.read(new ByteArrayInputStream(out.toByteArray()));
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static final SummaryCodec<Statement, JoinableFact, TestMethod> SUMMARY_CODEC = new SummaryCodec<Statement, JoinableFact, TestMethod>() {
+
+		@Override
+		public String fingerprint(TestMethod method) {
+			return method.name;
+		}
+
+		@Override
+		public void writeNode(Statement node, DataOutput out) throws IOException {
+			out.writeUTF(node.identifier);
+		}
+
+		@Override
+		public Statement readNode(TestMethod method, DataInput in) throws IOException {
+			return new Statement(in.readUTF());
+		}
+
+		@Override
+		public void writeFact(JoinableFact fact, DataOutput out) throws IOException {
+			out.writeUTF(fact.name);
+		}
+
+		@Override
+		public JoinableFact readFact(TestMethod method, DataInput in) throws IOException {
+			return new JoinableFact(in.readUTF());
+		}
+	};
 	
 	
 	public static enum TabulationProblemExchange {AsSpecified, ExchangeForwardAndBackward};
@@ -425,6 +767,8 @@ public class TestHelper {
 	private IFDSTabulationProblem<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> createTabulationProblem(final boolean followReturnsPastSeeds, final String[] initialSeeds) {
 		final InterproceduralCFG<Statement, TestMethod> icfg = buildIcfg();
 		final FlowFunctions<Statement, JoinableFact, TestMethod> flowFunctions = flowFunctions();
+		factNumbering = configuration.numbered ? new DenseNumbering<JoinableFact>() : null;
+		final WorklistOrdering<Statement, JoinableFact> ordering = configuration.worklistOrdering == null ? null : configuration.worklistOrdering.apply(icfg);
 		
 		return new IFDSTabulationProblem<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>() {
 
@@ -440,7 +784,7 @@ public class TestHelper {
 
 			@Override
 			public int numThreads() {
-				return 1;
+				return configuration.numThreads;
 			}
 
 			@Override
@@ -476,6 +820,197 @@ public class TestHelper {
 			public boolean recordEdges() {
 				return false;
 			}
+
+			@Override
+			public boolean workStealing() {
+				return configuration.workStealing;
+			}
+
+			@Override
+			public int pathEdgeBatchSize() {
+				return configuration.pathEdgeBatchSize;
+			}
+
+			@Override
+			public boolean methodAffinity() {
+				return configuration.methodAffinity;
+			}
+
+			@Override
+			public boolean internFacts() {
+				return configuration.internFacts;
+			}
+
+			@Override
+			public boolean hashConsEdgeFunctions() {
+				return configuration.hashConsEdgeFunctions;
+			}
+
+			@Override
+			public long flowFunctionResultCacheSize() {
+				return configuration.flowFunctionResultCacheSize;
+			}
+
+			@Override
+			public boolean collapseIdentityRuns() {
+				return configuration.collapseIdentityRuns;
+			}
+
+			@Override
+			public int jumpFunctionCollectionInterval() {
+				return configuration.jumpFunctionCollectionInterval;
+			}
+
+			@Override
+			public File jumpFunctionDirectory() {
+				return configuration.jumpFunctionDirectory;
+			}
+
+			@Override
+			public int hotJumpFunctionRows() {
+				return configuration.hotJumpFunctionRows;
+			}
+
+			@Override
+			public Numbering<JoinableFact> factNumbering() {
+				return factNumbering;
+			}
+
+			@Override
+			public WorklistOrdering<Statement, JoinableFact> worklistOrdering() {
+				return ordering;
+			}
+
+			@Override
+			public RelevanceOracle<Statement, JoinableFact> relevanceOracle() {
+				if(!configuration.sparse)
+					return null;
+				return new RelevanceOracle<Statement, JoinableFact>() {
+					@Override
+					public boolean isRelevant(Statement stmt, JoinableFact fact) {
+						return skippedFlowFunction(stmt, fact) == null;
+					}
+				};
+			}
+
+			@Override
+			public SummaryCodec<Statement, JoinableFact, TestMethod> summaryCodec() {
+				return configuration.reuseSummaries ? SUMMARY_CODEC : null;
+			}
+
+			@Override
+			public MethodSummaries methodSummaries() {
+				return methodSummaries;
+			}
+		};
+	}
+
+	private BitSetTabulationProblem<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> createBitSetTabulationProblem(final boolean followReturnsPastSeeds, final String[] initialSeeds) {
+		final IFDSTabulationProblem<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>> problem = createTabulationProblem(followReturnsPastSeeds, initialSeeds);
+		final DenseNumbering<JoinableFact> domain = new DenseNumbering<JoinableFact>();
+		final FlowFunctions<Statement, JoinableFact, TestMethod> flowFunctions = problem.flowFunctions();
+
+		return new BitSetTabulationProblem<Statement, JoinableFact, TestMethod, InterproceduralCFG<Statement, TestMethod>>() {
+
+			@Override
+			public boolean followReturnsPastSeeds() {
+				return followReturnsPastSeeds;
+			}
+
+			@Override
+			public boolean autoAddZero() {
+				return false;
+			}
+
+			@Override
+			public int numThreads() {
+				return configuration.numThreads;
+			}
+
+			@Override
+			public boolean computeValues() {
+				return false;
+			}
+
+			@Override
+			public boolean recordEdges() {
+				return false;
+			}
+
+			@Override
+			public boolean workStealing() {
+				return configuration.workStealing;
+			}
+
+			@Override
+			public boolean methodAffinity() {
+				return configuration.methodAffinity;
+			}
+
+			@Override
+			public FlowFunctions<Statement, JoinableFact, TestMethod> flowFunctions() {
+				return flowFunctions;
+			}
+
+			@Override
+			public BitSetFlowFunctions<Statement, TestMethod> bitSetFlowFunctions() {
+				return new BitSetFlowFunctions<Statement, TestMethod>() {
+
+					@Override
+					public BitSetFlowFunction getNormalFlowFunction(Statement curr, Statement succ) {
+						return toBitSetFlowFunction(flowFunctions.getNormalFlowFunction(curr, succ), domain);
+					}
+
+					@Override
+					public BitSetFlowFunction getCallFlowFunction(Statement callStmt, TestMethod destinationMethod) {
+						return toBitSetFlowFunction(flowFunctions.getCallFlowFunction(callStmt, destinationMethod), domain);
+					}
+
+					@Override
+					public BitSetFlowFunction getReturnFlowFunction(Statement callSite, TestMethod calleeMethod, Statement exitStmt, Statement returnSite) {
+						return toBitSetFlowFunction(flowFunctions.getReturnFlowFunction(callSite, calleeMethod, exitStmt, returnSite), domain);
+					}
+
+					@Override
+					public BitSetFlowFunction getCallToReturnFlowFunction(Statement callSite, Statement returnSite) {
+						return toBitSetFlowFunction(flowFunctions.getCallToReturnFlowFunction(callSite, returnSite), domain);
+					}
+				};
+			}
+
+			@Override
+			public FactDomain<JoinableFact> factNumbering() {
+				return domain;
+			}
+
+			@Override
+			public InterproceduralCFG<Statement, TestMethod> interproceduralCFG() {
+				return problem.interproceduralCFG();
+			}
+
+			@Override
+			public Map<Statement, Set<JoinableFact>> initialSeeds() {
+				return problem.initialSeeds();
+			}
+
+			@Override
+			public JoinableFact zeroValue() {
+				return problem.zeroValue();
+			}
+		};
+	}
+
+	private static BitSetFlowFunction toBitSetFlowFunction(final FlowFunction<JoinableFact> flowFunction, final FactDomain<JoinableFact> domain) {
+		return new BitSetFlowFunction() {
+			@Override
+			public BitSet computeTargets(BitSet sources) {
+				BitSet targets = new BitSet();
+				for (int source = sources.nextSetBit(0); source >= 0; source = sources.nextSetBit(source + 1)) {
+					for (JoinableFact target : flowFunction.computeTargets(domain.factOf(source)))
+						targets.set(domain.numberOf(target));
+				}
+				return targets;
+			}
 		};
 	}
 }